@@ -2,11 +2,17 @@ package danogl;
 
 import danogl.collisions.GameObjectCollection;
 import danogl.components.CoordinateSpace;
+import danogl.components.TransformHierarchy;
 import danogl.gui.mouse.MouseActionParams;
 import danogl.gui.rendering.Camera;
+import danogl.gui.rendering.RenderCommandBuffer;
 import danogl.util.*;
 import danogl.gui.*;
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
 
 /**
  * The principle class of the game.
@@ -23,12 +29,29 @@ import java.awt.*;
  */
 public class GameManager {
     private static final String DEFAULT_WINDOW_TITLE = "DanoGameLab";
+    private static final float DEFAULT_LOD_MARGIN = 100;
+    private static final int DEFAULT_LOD_THROTTLE_INTERVAL = 4;
+    //fewer parallel-updatable objects than this are updated serially
+    private static final int MIN_OBJECTS_TO_UPDATE_IN_PARALLEL = 16;
+    private static final int PARALLEL_UPDATE_CHUNK_SIZE = 8;
     private final String windowTitle;
     private final Vector2 windowDimensions;
     private GameObjectCollection gameObjects;
     private GameGUIComponent gameGUIComponent;
     private Camera camera;
     private NotifyOfMouseActions mouseActionNotifier;
+    private GameObjectPools gameObjectPools;
+    private TimerWheel timerWheel;
+    private GameClock gameClock;
+    private TransformHierarchy transformHierarchy;
+    private GameRandom gameRandom;
+    //the seed of the next game's randomness, or null for an arbitrary one
+    private Long nextRandomSeed;
+    private FrameBudgetExecutor idleExecutor;
+    private UpdateLod updateLod;
+    private GameServices services;
+    private final List<GameObject> parallelUpdatables = new ArrayList<>();
+    private final FrameProfiler frameProfiler = new FrameProfiler();
 
     /**
      * Creates a new full-screen window with a default title.
@@ -97,9 +120,21 @@ public class GameManager {
             SoundReader soundReader, UserInputListener inputListener,
             WindowController windowController) {
         gameObjects = new GameObjectCollection();
+        gameObjectPools = new GameObjectPools();
+        timerWheel = new TimerWheel();
+        gameClock = new GameClock();
+        transformHierarchy = new TransformHierarchy();
+        gameRandom = new GameRandom(nextRandomSeed != null ? nextRandomSeed : System.nanoTime());
+        idleExecutor = new FrameBudgetExecutor();
+        updateLod = new UpdateLod(DEFAULT_LOD_MARGIN, DEFAULT_LOD_THROTTLE_INTERVAL);
+        services = new GameServices(gameClock, timerWheel, transformHierarchy, gameRandom, updateLod);
+        services.makeCurrent();
         mouseActionNotifier = new NotifyOfMouseActions(this, inputListener);
-        gameGUIComponent.addMouseListener(mouseActionNotifier);
-        gameGUIComponent.addMouseWheelListener(mouseActionNotifier);
+        //no window when run by a HeadlessGameRunner
+        if(gameGUIComponent != null) {
+            gameGUIComponent.addMouseListener(mouseActionNotifier);
+            gameGUIComponent.addMouseWheelListener(mouseActionNotifier);
+        }
         setCamera(null);
     }
 
@@ -115,13 +150,94 @@ public class GameManager {
      *                  by the velocity to get an estimate of the difference in position).
      */
     public void update(float deltaTime) {
-        //update all objects and look for collisions.
-        for(GameObject obj : gameObjects)
-            obj.update(deltaTime);
+        makeServicesCurrent();
+        long phaseStart = frameProfiler.start();
+        //objects far from the camera may be updated less often, see GameObject.setOffscreenUpdatePolicy.
+        //Decided before the timers, which don't run tasks of frozen objects
+        updateLod.beginFrame(camera);
+        gameClock.advance(deltaTime);
+        timerWheel.advance(deltaTime);
+        phaseStart = frameProfiler.lap(FrameProfiler.Phase.TIMERS, phaseStart);
+        //update all objects that have anything to update, and look for collisions
+        gameObjects.flushActivations();
+        //objects marked ParallelUpdatable are updated afterwards, in parallel
+        var activeObjects = gameObjects.activeObjects();
+        for(int i = 0; i < activeObjects.size(); i++) {
+            var obj = activeObjects.get(i);
+            if(obj instanceof ParallelUpdatable) {
+                parallelUpdatables.add(obj);
+                continue;
+            }
+            updateObject(obj, deltaTime);
+        }
+        updateInParallel(deltaTime);
+        phaseStart = frameProfiler.lap(FrameProfiler.Phase.OBJECT_UPDATES, phaseStart);
+        //then all the components of the objects, a component class at a time
+        gameObjects.componentRegistry().update(deltaTime, updateLod);
+        phaseStart = frameProfiler.lap(FrameProfiler.Phase.COMPONENT_UPDATES, phaseStart);
         if(camera != null)
             camera.update(deltaTime);
+        phaseStart = frameProfiler.lap(FrameProfiler.Phase.CAMERA_UPDATE, phaseStart);
+        //objects attached to others (including a camera following an object) move with them
+        transformHierarchy.resolve();
+        phaseStart = frameProfiler.lap(FrameProfiler.Phase.TRANSFORMS, phaseStart);
         gameObjects.update(deltaTime);
+        phaseStart = frameProfiler.lap(FrameProfiler.Phase.COLLECTION_FLUSH, phaseStart);
         gameObjects.handleCollisions();
+        frameProfiler.lap(FrameProfiler.Phase.COLLISIONS, phaseStart);
+    }
+
+    private void updateObject(GameObject obj, float deltaTime) {
+        float objDeltaTime = updateLod.deltaTimeFor(obj, deltaTime);
+        if(objDeltaTime != UpdateLod.SKIP)
+            obj.update(objDeltaTime);
+    }
+
+    private void updateInParallel(float deltaTime) {
+        if(parallelUpdatables.size() < MIN_OBJECTS_TO_UPDATE_IN_PARALLEL) {
+            for(int i = 0; i < parallelUpdatables.size(); i++)
+                updateObject(parallelUpdatables.get(i), deltaTime);
+        }
+        else {
+            ForkJoinPool.commonPool().invoke(new ParallelUpdate(
+                    Thread.currentThread(), deltaTime, 0, parallelUpdatables.size()));
+        }
+        parallelUpdatables.clear();
+    }
+
+    //updates a range of parallelUpdatables, splitting it in halves down to a chunk
+    private class ParallelUpdate extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        //the thread updating the game, which may run chunks itself while it waits
+        private final transient Thread updatingThread;
+        private final float deltaTime;
+        private final int start, end;
+
+        ParallelUpdate(Thread updatingThread, float deltaTime, int start, int end) {
+            this.updatingThread = updatingThread;
+            this.deltaTime = deltaTime;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if(end - start <= PARALLEL_UPDATE_CHUNK_SIZE) {
+                //updates may reach the game's services (by scheduling a task, for instance),
+                //and the pool's threads may have run another game last
+                boolean isPoolThread = Thread.currentThread() != updatingThread;
+                if(isPoolThread)
+                    makeServicesCurrent();
+                for(int i = start; i < end; i++)
+                    updateObject(parallelUpdatables.get(i), deltaTime);
+                if(isPoolThread)
+                    GameServices.clearCurrent();
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new ParallelUpdate(updatingThread, deltaTime, start, middle),
+                    new ParallelUpdate(updatingThread, deltaTime, middle, end));
+        }
     }
 
     /**
@@ -134,6 +250,33 @@ public class GameManager {
             obj.render(g, camera);
     }
 
+    /**
+     * Called automatically every frame instead of render when rendering is pipelined
+     * (see {@link WindowController#setPipelinedRendering(boolean)}): records what render
+     * would draw, to be rasterized on the render thread while the next frame is updated.
+     * Games that override render to draw directly should not pipeline their rendering.
+     * @param buffer An empty buffer for the frame's render commands.
+     */
+    public void record(RenderCommandBuffer buffer) {
+        buffer.setView(camera);
+        for (GameObject obj : gameObjects)
+            obj.record(buffer, camera);
+    }
+
+    /**
+     * Called automatically before render. When the game is simulated in fixed steps
+     * (see {@link WindowController#setFixedTimestep(float)}), objects are drawn in between
+     * their positions in the last two steps.
+     * @param isInterpolating whether the game is simulated in fixed steps
+     * @param interpolation the fraction of a step that passed since the last update
+     */
+    public void setRenderInterpolation(boolean isInterpolating, float interpolation) {
+        if(gameClock == null)
+            return;
+        makeServicesCurrent();
+        gameClock.setInterpolation(isInterpolating, interpolation);
+    }
+
     /**
      * Returns the current camera.
      * @see danogl.gui.rendering.Camera
@@ -158,6 +301,9 @@ public class GameManager {
      * @see danogl.gui.rendering.Camera
      */
     public void setCamera(Camera camera) {
+        //the camera in use joins the game when it's updated (see Camera.update)
+        if(this.camera != null && this.camera != camera)
+            this.camera.transform().leaveGame();
         this.camera = camera;
         mouseActionNotifier.setScreenToWorldPos(camera == null?null:camera::screenToWorldCoords);
     }
@@ -191,6 +337,135 @@ public class GameManager {
         return gameObjects;
     }
 
+    /**
+     * Pools of reusable GameObjects, keyed by type. Objects that are created and
+     * removed often (for example, content of a world that is streamed in and out)
+     * can be acquired from here and released back once removed from the collection.
+     * The pools are recreated whenever the game is initialized.
+     * @see GameObjectPools
+     */
+    protected GameObjectPools gameObjectPools() {
+        return gameObjectPools;
+    }
+
+    /**
+     * The timer service of the game, advanced at the start of every update.
+     * It is recreated whenever the game is initialized, dropping any pending tasks.
+     * @see danogl.components.ScheduledTask
+     */
+    protected TimerWheel timerWheel() {
+        return timerWheel;
+    }
+
+    /**
+     * The game-time of the game, advanced at the start of every update and reset
+     * whenever the game is initialized.
+     * @see danogl.gui.rendering.AnimationRenderable
+     */
+    protected GameClock gameClock() {
+        return gameClock;
+    }
+
+    /**
+     * The attachments of objects to other objects, resolved every update after the objects
+     * and the camera are updated. It is recreated whenever the game is initialized.
+     * @see danogl.components.Transform#setParent
+     */
+    protected TransformHierarchy transformHierarchy() {
+        return transformHierarchy;
+    }
+
+    /**
+     * The game's source of randomness, seeded whenever the game is initialized.
+     * All of the game's random decisions should be drawn from it (or from its forks),
+     * so that the game can be replayed.
+     * @see #setRandomSeed(long)
+     */
+    protected GameRandom gameRandom() {
+        return gameRandom;
+    }
+
+    /**
+     * Set the seed of the source of randomness of the games initialized from now on.
+     * By default, every game is given an arbitrary seed.
+     * @see #gameRandom()
+     */
+    public void setRandomSeed(long seed) {
+        nextRandomSeed = seed;
+    }
+
+    /**
+     * The seed the current game's source of randomness was created with
+     */
+    public long randomSeed() {
+        return gameRandom.seed();
+    }
+
+    /**
+     * Measures the phases of the game's frames. Unlike the game's other services, it is kept
+     * when the game is initialized again, so it covers the whole session.
+     * @see ProfilerOverlay
+     */
+    public FrameProfiler frameProfiler() {
+        return frameProfiler;
+    }
+
+    /**
+     * Decides how often objects far from the camera are updated. Its margin and frequency
+     * can be configured; which objects it applies to is set per object
+     * (see {@link GameObject#setOffscreenUpdatePolicy}).
+     */
+    protected UpdateLod updateLod() {
+        return updateLod;
+    }
+
+    /**
+     * Work to be done in the spare time at the end of frames rather than within an update,
+     * for example generating content ahead of time. It is recreated whenever the game
+     * is initialized, dropping any pending work.
+     * @see #runIdleWork(long)
+     */
+    protected FrameBudgetExecutor idleExecutor() {
+        return idleExecutor;
+    }
+
+    /**
+     * Called automatically at the end of every frame, with the time left until the next
+     * frame should start. Runs the work queued in {@link #idleExecutor()}.
+     * @param budgetNanos the time available, in nanoseconds
+     * @return the number of slices of work run
+     */
+    public int runIdleWork(long budgetNanos) {
+        if(idleExecutor == null)
+            return 0;
+        makeServicesCurrent();
+        long start = frameProfiler.start();
+        int slices = idleExecutor.runFor(budgetNanos);
+        frameProfiler.lap(FrameProfiler.Phase.IDLE_WORK, start);
+        return slices;
+    }
+
+    /**
+     * Run exactly the given number of slices of the work queued in {@link #idleExecutor()},
+     * or fewer if it runs out, regardless of the time they take. Used when replaying a
+     * recorded game, to reproduce the idle work of every recorded frame.
+     * @see #runIdleWork(long)
+     */
+    public void runIdleSlices(int slices) {
+        if(idleExecutor == null)
+            return;
+        makeServicesCurrent();
+        long start = frameProfiler.start();
+        idleExecutor.runSlices(slices);
+        frameProfiler.lap(FrameProfiler.Phase.IDLE_WORK, start);
+    }
+
+    //the game's services are per-thread, so that games can run side by side
+    //(see danogl.gui.MultiWorldRunner); every entry point makes this game's current
+    private void makeServicesCurrent() {
+        services.makeCurrent();
+    }
+
     /**
      * For advanced users who wish to alter the implementation of the game-object collection.
      */
@@ -1,18 +1,23 @@
 package danogl;
 
-import danogl.collisions.AABB.AABBCollider;
 import danogl.collisions.Collider;
+import danogl.collisions.GameObjectHandles;
 import danogl.components.*;
 import danogl.collisions.Collision;
 import danogl.components.Component;
 import danogl.gui.mouse.MouseActionParams;
 import danogl.gui.rendering.Camera;
+import danogl.gui.rendering.RenderCommandBuffer;
 import danogl.gui.rendering.Renderable;
 import danogl.util.ModifiableList;
 import danogl.util.MutableVector2;
+import danogl.util.UpdateLod;
 import danogl.util.Vector2;
 
 import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Represents an object in the game. For example, an object has dimensions, a certain
@@ -27,12 +32,39 @@ public class GameObject {
     private CoordinateSpace coordinateSpace = CoordinateSpace.WORLD_COORDINATES;
     private String tag = "";
     private ModifiableList<Component> components;
+    //when set, the components are updated by the registry rather than by update()
+    private ComponentRegistry componentRegistry;
+    //the registrations of the components in the registry, if there is one
+    private List<ComponentRegistry.Entry> componentEntries;
+    //null for the default policy, UpdateLod.Policy.ALWAYS
+    private UpdateLod.State updateLodState;
+    private long handle = GameObjectHandles.NO_HANDLE;
+    private Consumer<GameObject> updateRequestListener;
+    private int incarnation = 0;
 
     /**
      * Use with care. this a general-purpose container vector for calculations where
      * it's undesirable to create a new vector. use only in the main thread.
+     * The vector is allocated on first use, so it is null until {@link #freeCalculationsVector()}
+     * is first called; subclasses should go through that method.
      */
-    protected MutableVector2 freeCalculationsVector = new MutableVector2();
+    protected MutableVector2 freeCalculationsVector;
+
+    //whether a class overrides update(float); instances of such classes are always updated
+    private static final ClassValue<Boolean> overridesUpdate = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("update", float.class).getDeclaringClass() != GameObject.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
+
+    //holds the on-screen dimensions during a render call; shared by all objects of a thread
+    private static final ThreadLocal<MutableVector2> screenDimensions =
+            ThreadLocal.withInitial(MutableVector2::new);
 
     /**
      * Construct a new GameObject instance.
@@ -43,10 +75,9 @@ public class GameObject {
      *              the GameObject will not be rendered.
      */
     public GameObject(Vector2 topLeftCorner, Vector2 dimensions, Renderable renderable) {
-        this.transform = new Transform(topLeftCorner, dimensions);
+        this.transform = new Transform(this, topLeftCorner, dimensions);
         this.renderer = new RendererComponent(this, renderable);
         this.physics = new GameObjectPhysics();
-        this.physics.setCollider(new AABBCollider(0, 0, 1, 1));
     }
 
     /**
@@ -62,7 +93,7 @@ public class GameObject {
         transform.update(deltaTime);
         transform.setAccelerationEnabled(true); //might be cancelled when resolving collisions
         renderer.update(deltaTime);
-        if(components != null) {
+        if(components != null && componentRegistry == null) {
             for (var component : components)
                 component.update(deltaTime);
             components.flushChanges();
@@ -73,7 +104,7 @@ public class GameObject {
      * An overload of {@link #render(Graphics2D, Camera)} for the default camera.
      */
     public void render(Graphics2D g) {
-        renderer.render(g, transform.getTopLeftCorner(), transform.getDimensions());
+        renderer.render(g, transform.getRenderTopLeftCorner(), transform.getDimensions());
     }
 
     /**
@@ -94,8 +125,24 @@ public class GameObject {
         //then coords are in world space, translate to screen space
         float dimFactorX = camera.windowDimensions().x()/camera.getDimensions().x();
         float dimFactorY = camera.windowDimensions().y()/camera.getDimensions().y();
-        freeCalculationsVector.setXY(getDimensions().x()*dimFactorX,getDimensions().y()*dimFactorY);
-        renderer.render(g, camera.worldToScreenCoords(getTopLeftCorner()), freeCalculationsVector);
+        var screenDimensions = GameObject.screenDimensions.get();
+        screenDimensions.setXY(getDimensions().x()*dimFactorX,getDimensions().y()*dimFactorY);
+        renderer.render(g, camera.worldToScreenCoords(transform.getRenderTopLeftCorner()),
+                screenDimensions);
+    }
+
+    /**
+     * Records the rendering of the game object into a buffer, to be rasterized later,
+     * possibly on another thread. This is the counterpart of {@link #render(Graphics2D, Camera)}
+     * used when rendering is pipelined (see
+     * {@link danogl.gui.WindowController#setPipelinedRendering(boolean)}); objects that
+     * override render should override this method as well.
+     * @param buffer The frame's render commands, whose view was set to the active camera.
+     * @param camera The active camera
+     */
+    public void record(RenderCommandBuffer buffer, Camera camera) {
+        var space = camera == null ? CoordinateSpace.CAMERA_COORDINATES : coordinateSpace;
+        renderer.record(buffer, transform.getRenderTopLeftCorner(), transform.getDimensions(), space);
     }
 
     /**
@@ -166,7 +213,7 @@ public class GameObject {
     }
 
     /**
-     * Returns the current velocity.
+     * Returns the current velocity. The vector is read-only, see {@link Transform#getVelocity()}.
      */
     public Vector2 getVelocity() {
         return transform.getVelocity();
@@ -214,14 +261,131 @@ public class GameObject {
         this.tag = tag;
     }
 
+    /**
+     * The object's handle in the GameObjectCollection it was added to, or
+     * GameObjectHandles.NO_HANDLE if it isn't in one.
+     * Unlike the object reference, a handle becomes stale once the object is removed,
+     * so it is safe to keep for objects that are recycled.
+     * @see GameObjectHandles
+     */
+    public long getHandle() {
+        return handle;
+    }
+
+    /**
+     * For engine use: set by the GameObjectCollection the object is added to.
+     * An object should belong to a single collection at a time.
+     */
+    public void setHandle(long handle) {
+        this.handle = handle;
+    }
+
+    /**
+     * Does the object need its update method called this frame: is its class overriding
+     * update, or does it have components (which aren't updated by a {@link ComponentRegistry}),
+     * a velocity or acceleration, or an animated Renderable.
+     * Objects for which this is false are skipped by the GameManager's update loop.
+     */
+    public boolean needsUpdate() {
+        return overridesUpdate.get(getClass())
+                || (components != null && componentRegistry == null && !components.isEmpty())
+                || transform.isMoving()
+                || renderer.isAnimated();
+    }
+
+    /**
+     * Notify the collection holding the object that it should be updated from now on.
+     * Called automatically when a component is added, when the object starts moving
+     * and when an animated Renderable is set, so that there is
+     * normally no need to call it directly.
+     * @see #needsUpdate()
+     */
+    public void requestUpdates() {
+        if(updateRequestListener != null)
+            updateRequestListener.accept(this);
+    }
+
+    /**
+     * For engine use: set by the GameObjectCollection the object is added to,
+     * which is then notified by {@link #requestUpdates()}.
+     */
+    public void setUpdateRequestListener(Consumer<GameObject> updateRequestListener) {
+        this.updateRequestListener = updateRequestListener;
+    }
+
+    /**
+     * Set how the object is updated while it is far from the camera's view:
+     * every frame (the default), every few frames, or not at all. The object's components
+     * follow the same policy. A throttled object is updated once with the time of the frames
+     * it missed, which only approximates updating it every frame (a long time can make it
+     * overshoot, and collisions are only detected in the frames it is updated), so only
+     * objects nobody sees and whose details don't matter then should be throttled.
+     * @see UpdateLod
+     */
+    public void setOffscreenUpdatePolicy(UpdateLod.Policy policy) {
+        updateLodState = policy == UpdateLod.Policy.ALWAYS ? null : new UpdateLod.State(policy);
+    }
+
+    /**
+     * How the object is updated while it is far from the camera's view
+     */
+    public UpdateLod.Policy getOffscreenUpdatePolicy() {
+        return updateLodState == null ? UpdateLod.Policy.ALWAYS : updateLodState.policy();
+    }
+
+    /**
+     * The top-left corner of the area the object draws in, by which {@link UpdateLod} decides
+     * whether the object is in the camera's view. By default the object's own rectangle;
+     * objects that draw outside it (such as a {@link danogl.particles.ParticleSystem})
+     * override this and {@link #getVisibleDimensions()}.
+     */
+    public Vector2 getVisibleTopLeftCorner() {
+        return getTopLeftCorner();
+    }
+
+    /**
+     * The dimensions of the area the object draws in.
+     * @see #getVisibleTopLeftCorner()
+     */
+    public Vector2 getVisibleDimensions() {
+        return getDimensions();
+    }
+
+    /**
+     * For engine use: the object's bookkeeping for {@link UpdateLod}, or null if its
+     * policy is {@link UpdateLod.Policy#ALWAYS}.
+     */
+    public UpdateLod.State getUpdateLodState() {
+        return updateLodState;
+    }
+
+    /**
+     * Counts the times the object was released to a pool. Anything done on behalf of
+     * the object after a delay (such as a ScheduledTask) should be dropped if
+     * the incarnation changed in the meantime, since the object was recycled.
+     */
+    public int getIncarnation() {
+        return incarnation;
+    }
+
     /**
      * Add a component to the GameObject. A component includes a method that should be executed
-     * on every update.
+     * on every update. While the object is in a game's collection, its components are updated
+     * by the collection's {@link ComponentRegistry} after all the objects' updates, rather
+     * than within the object's own update.
      */
     public void addComponent(Component component) {
         if(components == null)
             components = new ModifiableList<>(false);
-        components.add(component);
+        if(!components.add(component))
+            return;
+        if(componentRegistry == null) {
+            requestUpdates();
+            return;
+        }
+        //the list isn't iterated while in a registry
+        components.flushChanges();
+        register(component);
     }
 
     /**
@@ -229,7 +393,56 @@ public class GameObject {
      * on every update.
      */
     public void removeComponent(Component component) {
-        components.remove(component);
+        if(components == null || !components.remove(component))
+            return;
+        if(componentRegistry != null) {
+            components.flushChanges();
+            unregister(component);
+        }
+    }
+
+    /**
+     * For engine use: set by the GameObjectCollection the object is added to, whose
+     * registry then updates the object's components, or cleared (null) when
+     * the object is removed, in which case the object's update does so again.
+     * Moves the existing components from the previous registry to the new one.
+     */
+    public void setComponentRegistry(ComponentRegistry componentRegistry) {
+        if(componentRegistry == this.componentRegistry)
+            return;
+        if(components != null) {
+            components.flushChanges();
+            unregisterAll();
+        }
+        this.componentRegistry = componentRegistry;
+        if(components != null && componentRegistry != null) {
+            for(int i = 0; i < components.size(); i++)
+                register(components.get(i));
+        }
+    }
+
+    private void register(Component component) {
+        if(componentEntries == null)
+            componentEntries = new ArrayList<>();
+        componentEntries.add(componentRegistry.add(this, component));
+    }
+
+    //a component may have been added more than once; removes one of its registrations
+    private void unregister(Component component) {
+        for(int i = 0; i < componentEntries.size(); i++) {
+            if(componentEntries.get(i).component() == component) {
+                componentRegistry.remove(componentEntries.remove(i));
+                return;
+            }
+        }
+    }
+
+    private void unregisterAll() {
+        if(componentEntries == null)
+            return;
+        for(int i = 0; i < componentEntries.size(); i++)
+            componentRegistry.remove(componentEntries.get(i));
+        componentEntries.clear();
     }
 
     /**
@@ -272,6 +485,7 @@ public class GameObject {
      * @return a point in object coordinates
      */
     public Vector2 worldToObjectCoords(Vector2 worldCoords) {
+        var freeCalculationsVector = freeCalculationsVector();
         freeCalculationsVector.setXY(worldCoords);
         freeCalculationsVector.selfSubtract(getTopLeftCorner());
         freeCalculationsVector.selfMultX(1f/getDimensions().x()).selfMultY(1f/getDimensions().y());
@@ -285,6 +499,7 @@ public class GameObject {
      * @return a point in world coordinates
      */
     public Vector2 objectToWorldCoords(Vector2 objectCoords) {
+        var freeCalculationsVector = freeCalculationsVector();
         freeCalculationsVector.setXY(objectCoords);
         freeCalculationsVector.selfMultX(getDimensions().x()).selfMultY(getDimensions().y())
                 .selfAdd(getTopLeftCorner());
@@ -307,6 +522,49 @@ public class GameObject {
      */
     public void onMouseAction(MouseActionParams params) { }
 
+    /**
+     * Returns {@link #freeCalculationsVector}, allocating it on first use
+     */
+    protected MutableVector2 freeCalculationsVector() {
+        if(freeCalculationsVector == null)
+            freeCalculationsVector = new MutableVector2();
+        return freeCalculationsVector;
+    }
+
+    /**
+     * Called by a {@link danogl.util.GameObjectPool} when a previously released object
+     * is handed out again. Classes whose constructor sets up state that
+     * {@link #onRelease()} resets (components, tags etc.) should restore it here.
+     * Note that objects newly created by a pool's factory are handed out without this call.
+     * The object is not interpolated from where it was before (see
+     * {@link danogl.components.Transform#skipInterpolation()}).
+     * Overriding classes should call super.onAcquire().
+     */
+    public void onAcquire() {
+        transform.skipInterpolation();
+    }
+
+    /**
+     * Called by a {@link danogl.util.GameObjectPool} when the object is returned to it.
+     * Resets the object's motion, the rendering attributes (angle, flips, opaqueness;
+     * the Renderable itself is kept), removes all components and clears the tag.
+     * Tasks scheduled through the object will no longer run (see {@link #getIncarnation()}).
+     * Overriding classes should call super.onRelease().
+     */
+    public void onRelease() {
+        incarnation++;
+        transform.resetMotion();
+        transform.setParent(null, 0, 0);
+        if(updateLodState != null)
+            updateLodState.reset();
+        renderer.resetState();
+        if(components != null) {
+            unregisterAll();
+            components.clear();
+        }
+        tag = "";
+    }
+
     /**
      * access physics-related attributes of the GameObject
      */
@@ -0,0 +1,85 @@
+package danogl;
+
+import danogl.components.TransformHierarchy;
+import danogl.util.GameClock;
+import danogl.util.GameRandom;
+import danogl.util.TimerWheel;
+import danogl.util.UpdateLod;
+
+/**
+ * The services of a running game that the engine's classes reach without a reference to
+ * the GameManager: its clock, timers, transform hierarchy, randomness and update LOD.
+ * A GameManager creates them whenever the game is initialized, and makes them the
+ * {@link #current()} services of every thread that runs the game, so that games can run
+ * side by side (see {@link danogl.gui.MultiWorldRunner}).
+ */
+public final class GameServices {
+    private static final ThreadLocal<GameServices> current = new ThreadLocal<>();
+
+    private final GameClock clock;
+    private final TimerWheel timerWheel;
+    private final TransformHierarchy transformHierarchy;
+    private final GameRandom random;
+    private final UpdateLod updateLod;
+
+    GameServices(GameClock clock, TimerWheel timerWheel, TransformHierarchy transformHierarchy,
+                 GameRandom random, UpdateLod updateLod) {
+        this.clock = clock;
+        this.timerWheel = timerWheel;
+        this.transformHierarchy = transformHierarchy;
+        this.random = random;
+        this.updateLod = updateLod;
+    }
+
+    /**
+     * The services of the game run by this thread, or null if there isn't one.
+     */
+    public static GameServices current() {
+        return current.get();
+    }
+
+    //called by the GameManager whenever the game is entered
+    void makeCurrent() {
+        current.set(this);
+    }
+
+    //so that a pooled thread that helped update a game doesn't keep it from being collected
+    static void clearCurrent() {
+        current.remove();
+    }
+
+    /**
+     * The game-time of the game
+     */
+    public GameClock clock() {
+        return clock;
+    }
+
+    /**
+     * The timer service of the game
+     */
+    public TimerWheel timerWheel() {
+        return timerWheel;
+    }
+
+    /**
+     * The attachments of the game's objects to other objects
+     */
+    public TransformHierarchy transformHierarchy() {
+        return transformHierarchy;
+    }
+
+    /**
+     * The game's source of randomness
+     */
+    public GameRandom random() {
+        return random;
+    }
+
+    /**
+     * Decides how often the game's objects far from the camera are updated
+     */
+    public UpdateLod updateLod() {
+        return updateLod;
+    }
+}
@@ -0,0 +1,14 @@
+package danogl;
+
+/**
+ * A marker for GameObjects whose update may run in parallel with the updates of other
+ * such objects. The GameManager updates these objects on a thread pool, in chunks,
+ * and the rest of the objects serially.
+ * <p>A class should only be marked if its update touches nothing but the object's own
+ * state (its transform, renderer and fields) and reads shared state that doesn't change
+ * during the update phase. In particular, its update must not add or remove components or
+ * GameObjects, schedule tasks, or modify other objects. Components of the object are not
+ * affected: they are always updated serially.</p>
+ */
+public interface ParallelUpdatable {
+}
@@ -12,6 +12,7 @@ import java.awt.geom.Rectangle2D;
 public class AABBCollider implements Collider {
     public static final String AABB_COLLIDER_TYPE = "AABB";
     private Rectangle2D.Float rectangle;
+    private final boolean isMutable;
 
     /**
      * Create a new AABB collider. the top-left corner coordinates
@@ -19,8 +20,24 @@ public class AABBCollider implements Collider {
      */
     public AABBCollider(float objectSpaceX, float objectSpaceY,
                         float objectSpaceWidth, float objectSpaceHeight) {
+        this(objectSpaceX, objectSpaceY, objectSpaceWidth, objectSpaceHeight, true);
+    }
+
+    private AABBCollider(float objectSpaceX, float objectSpaceY,
+                         float objectSpaceWidth, float objectSpaceHeight, boolean isMutable) {
         this.rectangle = new Rectangle2D.Float(
                 objectSpaceX, objectSpaceY, objectSpaceWidth, objectSpaceHeight);
+        this.isMutable = isMutable;
+    }
+
+    /**
+     * Create an AABB collider that cannot be altered, and can therefore be shared
+     * by many objects: its {@link #getRectangle()} returns a copy of its rectangle.
+     * The coordinates are as in {@link #AABBCollider(float, float, float, float)}.
+     */
+    public static AABBCollider immutable(float objectSpaceX, float objectSpaceY,
+                                         float objectSpaceWidth, float objectSpaceHeight) {
+        return new AABBCollider(objectSpaceX, objectSpaceY, objectSpaceWidth, objectSpaceHeight, false);
     }
 
     @Override
@@ -35,9 +52,23 @@ public class AABBCollider implements Collider {
 
     /**
      * Returns the rectangle represented by this collider,
-     * in object-coordinates (not world).
+     * in object-coordinates (not world). Altering the rectangle alters the collider,
+     * unless the collider is immutable (see {@link #isMutable()}), in which case the
+     * returned rectangle is a copy.
      */
     public Rectangle2D.Float getRectangle() {
+        return isMutable ? rectangle : (Rectangle2D.Float)rectangle.clone();
+    }
+
+    /**
+     * Can the collider be altered through {@link #getRectangle()}
+     */
+    public boolean isMutable() {
+        return isMutable;
+    }
+
+    //the rectangle itself, without copying; for the collision engine, which only reads it
+    Rectangle2D.Float rectangle() {
         return rectangle;
     }
 }
@@ -13,7 +13,9 @@ import java.awt.geom.Rectangle2D;
 class AABBPairCollisionData extends PairCollisionData {
     private int lastCalcedHash;
     private Rectangle2D.Float rect1World, rect2World;
+    //the intersection, or null if there is none; computed into a container kept across frames
     private Rectangle2D.Float intersectionRect;
+    private Rectangle2D.Float intersection;
     private boolean alreadyComputedIntersectionRectThisFrame = false;
 
     public AABBPairCollisionData(GameObject go1,GameObject go2) {
@@ -36,11 +38,12 @@ class AABBPairCollisionData extends PairCollisionData {
         if(rect1World == null) {
             rect1World = new Rectangle2D.Float();
             rect2World = new Rectangle2D.Float();
+            intersection = new Rectangle2D.Float();
         }
 
         intersectionRect =
             AABBPairCollisionHandler.calcIntersectionRect(
-                    go1(), go2(), rect1World, rect2World);
+                    go1(), go2(), rect1World, rect2World, intersection);
 
         alreadyComputedIntersectionRectThisFrame = true;
     }
@@ -67,8 +70,8 @@ class AABBPairCollisionData extends PairCollisionData {
                         + 31*go2().getTopLeftCorner().hashCode()
                         + go1().getDimensions().hashCode()
                         + go2().getDimensions().hashCode()
-                        + ((AABBCollider)go1().physics().collider()).getRectangle().hashCode()
-                        + ((AABBCollider)go2().physics().collider()).getRectangle().hashCode();
+                        + ((AABBCollider)go1().physics().collider()).rectangle().hashCode()
+                        + ((AABBCollider)go2().physics().collider()).rectangle().hashCode();
         if(newHash == lastCalcedHash)
             return false;
         lastCalcedHash = newHash;
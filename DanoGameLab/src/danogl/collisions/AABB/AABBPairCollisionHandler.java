@@ -14,13 +14,14 @@ import java.awt.geom.Rectangle2D;
 public class AABBPairCollisionHandler implements PairCollisionHandler {
     private Rectangle2D.Float rect1World = new Rectangle2D.Float();
     private Rectangle2D.Float rect2World = new Rectangle2D.Float();
+    private Rectangle2D.Float intersection = new Rectangle2D.Float();
 
     @Override
     public PairCollisionData computeCollisionData(GameObject go1, GameObject go2) {
         if(!supportsPair(go1, go2))
             return null;
 
-        if(calcIntersectionRect(go1, go2, rect1World, rect2World) == null)
+        if(calcIntersectionRect(go1, go2, rect1World, rect2World, intersection) == null)
             return null;
 
         return new AABBPairCollisionData(go1, go2);
@@ -45,14 +46,27 @@ public class AABBPairCollisionHandler implements PairCollisionHandler {
     public static Rectangle2D.Float calcIntersectionRect(
             GameObject go1, GameObject go2,
             Rectangle2D.Float rect1World, Rectangle2D.Float rect2World) {
+        return calcIntersectionRect(go1, go2, rect1World, rect2World, new Rectangle2D.Float());
+    }
+
+    /**
+     * Calculates the intersection rect of two game objects into the given container.
+     * @param intersection a container for the intersection rectangle. Not null.
+     * @return the intersection container, or null if no intersection occurs.
+     * @see #calcIntersectionRect(GameObject, GameObject, Rectangle2D.Float, Rectangle2D.Float)
+     */
+    public static Rectangle2D.Float calcIntersectionRect(
+            GameObject go1, GameObject go2,
+            Rectangle2D.Float rect1World, Rectangle2D.Float rect2World,
+            Rectangle2D.Float intersection) {
 
         if(rect1World == null) {
             rect1World = new Rectangle2D.Float();
             rect2World = new Rectangle2D.Float();
         }
 
-        var rect1 = ((AABBCollider)go1.physics().collider()).getRectangle();
-        var rect2 = ((AABBCollider)go2.physics().collider()).getRectangle();
+        var rect1 = ((AABBCollider)go1.physics().collider()).rectangle();
+        var rect2 = ((AABBCollider)go2.physics().collider()).rectangle();
 
         var go1Corner = go1.getTopLeftCorner();
         rect1World.setRect(
@@ -70,6 +84,7 @@ public class AABBPairCollisionHandler implements PairCollisionHandler {
 
         if(!rect1World.intersects(rect2World))
             return null;
-        return (Rectangle2D.Float) rect1World.createIntersection(rect2World);
+        Rectangle2D.intersect(rect1World, rect2World, intersection);
+        return intersection;
     }
 }
@@ -0,0 +1,30 @@
+package danogl.collisions;
+
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event for a pass of {@link GameObjectCollection#handleCollisions()}:
+ * how many pairs of objects it tested, and how many collisions began, ended and went on.
+ * By default only passes longer than the threshold are recorded.
+ */
+@Name("danogl.CollisionSummary")
+@Label("Collision Summary")
+@Category({"DanoGameLab", "Collisions"})
+@Description("A pass of collision handling over the game's objects")
+@StackTrace(false)
+@Threshold("1 ms")
+class CollisionSummaryEvent extends Event {
+    @Label("Objects")
+    @Description("The number of objects in the collection")
+    int objects;
+    @Label("Pairs Tested")
+    @Description("The number of pairs of objects in colliding layers that were tested")
+    int pairsTested;
+    @Label("Collisions Started")
+    int collisionsStarted;
+    @Label("Collisions Ended")
+    int collisionsEnded;
+    @Label("Ongoing Collisions")
+    @Description("The number of pairs colliding after the pass")
+    int ongoingCollisions;
+}
@@ -1,8 +1,13 @@
 package danogl.collisions;
 
 import danogl.GameObject;
+import danogl.components.ComponentRegistry;
+import danogl.util.LongHashMap;
+
 import java.util.*;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 /**
  * A container for accumulating/removing instances of GameObject and
@@ -15,9 +20,29 @@ public class GameObjectCollection implements Iterable<GameObject> {
     protected CollisionResolver resolver = new CollisionResolver();
     protected LayerManager layerManager = new LayerManager(this::handlePair);
     private PairCollisionManager pairCollisionManager = new PairCollisionManager();
-    private Map<GameObjectPair, PairCollisionData> alreadyInCollision
-            = new HashMap<>();
+    private final GameObjectHandles handles = new GameObjectHandles();
+    private final ComponentRegistry componentRegistry = new ComponentRegistry();
+    //objects whose last reference was removed; their handles are freed on the next flush
+    private final List<GameObject> objectsToFree = new ArrayList<>();
+    //keyed by the slots of the two objects, see pairKey
+    private final LongHashMap<PairCollisionData> alreadyInCollision = new LongHashMap<>();
+    //number of cached contacts per slot, so that removing a non-colliding object needs no scan
+    private int[] contactsPerSlot = new int[0];
     private GameObjectPair pair = new GameObjectPair();
+    //counted for CollisionSummaryEvent, per pass of handleCollisions
+    private int pairsTested, collisionsStarted, collisionsEnded;
+
+    //objects that need to be updated every frame, see GameObject.needsUpdate()
+    private final List<GameObject> activeObjects = new ArrayList<>();
+    private final List<GameObject> activeObjectsView = Collections.unmodifiableList(activeObjects);
+    //woken up since the last flush of activations
+    private final List<GameObject> objectsToActivate = new ArrayList<>();
+    //added since the last flush; these are only updated once they are in the layers
+    private final List<GameObject> addedObjectsToActivate = new ArrayList<>();
+    //per slot: is the object in one of the lists above
+    private boolean[] isActive = new boolean[0];
+    private final Consumer<GameObject> updateRequestListener = this::activate;
+    private final Predicate<GameObject> noLongerActive = this::isNoLongerActive;
 
     /**
      * Iterator for all the objects in all layers, in drawing order.
@@ -28,6 +53,29 @@ public class GameObjectCollection implements Iterable<GameObject> {
         return layerManager.iterator();
     }
 
+    /**
+     * The objects that need to be updated this frame: those whose
+     * {@link GameObject#needsUpdate()} returned true at some point before the last flush
+     * (see {@link #update(float)} and {@link #flushActivations()}). Objects are added
+     * automatically when they start needing updates, and dropped on update once they no
+     * longer do. Most of a typical world is static, so this is usually much shorter than
+     * the collection. Unlike the collection, it is not in drawing order.
+     */
+    public List<GameObject> activeObjects() {
+        return activeObjectsView;
+    }
+
+    /**
+     * Add the objects that started needing updates since the last flush to
+     * {@link #activeObjects()}. Also done by {@link #update(float)}; the GameManager
+     * additionally calls this right before updating the objects, so that objects woken since
+     * the last flush (during the previous frame's collisions, or by this frame's timers)
+     * are updated in this frame.
+     */
+    public void flushActivations() {
+        activatePending(objectsToActivate);
+    }
+
     /**
      * Returns an Iterable of the GameObjects in this collection, in reverse order
      * of the drawing order. Includes objects of all layers.
@@ -47,7 +95,17 @@ public class GameObjectCollection implements Iterable<GameObject> {
      * @param layerId The id of the layer to which obj should be added.
      */
     public void addGameObject(GameObject obj, int layerId) {
-        layerManager.addGameObject(obj, layerId);
+        if(!layerManager.addGameObject(obj, layerId))
+            return;
+        handles.acquire(obj);
+        obj.transform().joinGame();
+        obj.setUpdateRequestListener(updateRequestListener);
+        obj.setComponentRegistry(componentRegistry);
+        int slot = GameObjectHandles.slotOf(obj.getHandle());
+        if(!isActive(slot) && obj.needsUpdate()) {
+            isActive[slot] = true;
+            addedObjectsToActivate.add(obj);
+        }
     }
 
     /**
@@ -71,14 +129,18 @@ public class GameObjectCollection implements Iterable<GameObject> {
      */
     public boolean removeGameObject(GameObject obj, int layerId) {
         boolean wasAnObjRemoved = layerManager.removeGameObject(obj, layerId);
-        if(wasAnObjRemoved) {
-            List<GameObjectPair> keysToRemove = new ArrayList<>();
-            for(var pair : alreadyInCollision.keySet()) {
-                if(pair.getGameObject(0) == obj
-                        || pair.getGameObject(1) == obj)
-                    keysToRemove.add(pair);
+        if(wasAnObjRemoved && handles.dereference(obj)) {
+            objectsToFree.add(obj);
+            int slot = GameObjectHandles.slotOf(obj.getHandle());
+            if(slot < contactsPerSlot.length && contactsPerSlot[slot] > 0) {
+                alreadyInCollision.removeKeysIf(key -> {
+                    if((int)(key >>> 32) != slot && (int)key != slot)
+                        return false;
+                    contactsPerSlot[(int)(key >>> 32)]--;
+                    contactsPerSlot[(int)key]--;
+                    return true;
+                });
             }
-            keysToRemove.forEach(alreadyInCollision::remove);
         }
         return wasAnObjRemoved;
     }
@@ -107,6 +169,31 @@ public class GameObjectCollection implements Iterable<GameObject> {
      */
     public void update(float deltaTime) {
         layerManager.flushChanges();
+        for(int i = 0; i < objectsToFree.size(); i++) {
+            var obj = objectsToFree.get(i);
+            int slot = GameObjectHandles.slotOf(obj.getHandle());
+            if(handles.free(obj)) {
+                obj.transform().leaveGame();
+                obj.setUpdateRequestListener(null);
+                obj.setComponentRegistry(null);
+                if(slot < isActive.length)
+                    isActive[slot] = false;
+            }
+        }
+        objectsToFree.clear();
+        activatePending(addedObjectsToActivate);
+        activatePending(objectsToActivate);
+        //drop objects that were removed or have nothing left to update
+        activeObjects.removeIf(noLongerActive);
+    }
+
+    private boolean isNoLongerActive(GameObject obj) {
+        if(handles.resolve(obj.getHandle()) != obj)
+            return true;
+        if(obj.needsUpdate())
+            return false;
+        isActive[GameObjectHandles.slotOf(obj.getHandle())] = false;
+        return true;
     }
 
     /**
@@ -125,7 +212,19 @@ public class GameObjectCollection implements Iterable<GameObject> {
      * handlePair.
      */
     public void handleCollisions() {
+        var event = new CollisionSummaryEvent();
+        event.begin();
+        pairsTested = collisionsStarted = collisionsEnded = 0;
         layerManager.handleCollisions();
+        event.end();
+        if(event.shouldCommit()) {
+            event.objects = handles.size();
+            event.pairsTested = pairsTested;
+            event.collisionsStarted = collisionsStarted;
+            event.collisionsEnded = collisionsEnded;
+            event.ongoingCollisions = alreadyInCollision.size();
+            event.commit();
+        }
     }
 
     /**
@@ -147,12 +246,36 @@ public class GameObjectCollection implements Iterable<GameObject> {
      */
     public LayerManager layers() { return layerManager; }
 
+    /**
+     * The components of the objects in this collection, which are updated by it
+     * rather than by the objects' own update.
+     */
+    public ComponentRegistry componentRegistry() {
+        return componentRegistry;
+    }
+
+    /**
+     * The handles of the objects in this collection. An object is given a handle when it
+     * is added, and its handle becomes stale once it is removed from all layers.
+     * @see GameObject#getHandle()
+     */
+    public GameObjectHandles handles() { return handles; }
+
+    /**
+     * A safe reference to the given object, or null if it is not in this collection.
+     */
+    public GameObjectHandle handleOf(GameObject obj) {
+        long handle = obj.getHandle();
+        return handles.resolve(handle) == obj ? new GameObjectHandle(handles, handle) : null;
+    }
+
     /**
      * Calls any callbacks required on the objects (if any),
      * and resolves collisions if needed using {@link #resolver}.
      * @return whether the pair collided or not.
      */
     protected boolean handlePair(GameObject obj1, GameObject obj2) {
+        pairsTested++;
         pair.setGameObject(0, obj1);
         pair.setGameObject(1, obj2);
         if(!pair.go1().shouldCollideWith(pair.go2()) ||
@@ -161,7 +284,8 @@ public class GameObjectCollection implements Iterable<GameObject> {
             return false;
         }
         //do they already intersect?
-        var cachedCollisionData = alreadyInCollision.getOrDefault(pair, null);
+        long pairKey = pairKey(obj1, obj2);
+        var cachedCollisionData = alreadyInCollision.get(pairKey);
         if(cachedCollisionData != null) {
             //then this is not the first time
             cachedCollisionData.onFrameStart();
@@ -169,7 +293,9 @@ public class GameObjectCollection implements Iterable<GameObject> {
                 //then they did intersect but no longer
                 pair.go1().onCollisionExit(pair.go2());
                 pair.go2().onCollisionExit(pair.go1());
-                alreadyInCollision.remove(pair);
+                alreadyInCollision.remove(pairKey);
+                countContact(pairKey, -1);
+                collisionsEnded++;
                 return false;
             }
             //then they still intersect
@@ -185,11 +311,54 @@ public class GameObjectCollection implements Iterable<GameObject> {
         if(null == collisionData)
             return false; //then no collision
         //then colliding for first time
-        alreadyInCollision.put(collisionData, collisionData);
+        alreadyInCollision.put(pairKey, collisionData);
+        countContact(pairKey, 1);
+        collisionsStarted++;
         pair.go1().onCollisionEnter(pair.go2(), collisionData.getCollision(0));
         pair.go1().onCollisionStay(pair.go2(), collisionData.getCollision(0));
         pair.go2().onCollisionEnter(pair.go1(), collisionData.getCollision(1));
         pair.go2().onCollisionStay(pair.go1(), collisionData.getCollision(1));
         return true;
     }
+
+    private void activate(GameObject obj) {
+        if(handles.resolve(obj.getHandle()) != obj)
+            return;
+        int slot = GameObjectHandles.slotOf(obj.getHandle());
+        if(isActive(slot))
+            return;
+        isActive[slot] = true;
+        objectsToActivate.add(obj);
+    }
+
+    //also makes sure the flags can be indexed by the slot
+    private boolean isActive(int slot) {
+        if(slot >= isActive.length)
+            isActive = Arrays.copyOf(isActive, Math.max(handles.capacity(), 64));
+        return isActive[slot];
+    }
+
+    private void activatePending(List<GameObject> pending) {
+        //addAll copies its argument even when it's empty
+        if(pending.isEmpty())
+            return;
+        activeObjects.addAll(pending);
+        pending.clear();
+    }
+
+    //the same for both orders of the pair
+    private static long pairKey(GameObject obj1, GameObject obj2) {
+        int slot1 = GameObjectHandles.slotOf(obj1.getHandle());
+        int slot2 = GameObjectHandles.slotOf(obj2.getHandle());
+        return slot1 < slot2 ?
+                ((long)slot1 << 32) | slot2 :
+                ((long)slot2 << 32) | slot1;
+    }
+
+    private void countContact(long pairKey, int delta) {
+        if(contactsPerSlot.length < handles.capacity())
+            contactsPerSlot = Arrays.copyOf(contactsPerSlot, Math.max(handles.capacity(), 64));
+        contactsPerSlot[(int)(pairKey >>> 32)] += delta;
+        contactsPerSlot[(int)pairKey] += delta;
+    }
 }
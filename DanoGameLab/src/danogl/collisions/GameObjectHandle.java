@@ -0,0 +1,57 @@
+package danogl.collisions;
+
+import danogl.GameObject;
+
+/**
+ * A safe reference to a GameObject in a {@link GameObjectCollection}. Unlike a plain reference,
+ * it stops resolving once the object is removed from the collection, even if the same
+ * object is later recycled (for example by a pool) and added again.
+ * Code that needs to avoid allocations can hold the raw long instead
+ * (see {@link GameObject#getHandle()}) and resolve it through {@link GameObjectHandles}.
+ */
+public final class GameObjectHandle {
+    private final GameObjectHandles handles;
+    private final long handle;
+
+    /**
+     * Wrap a raw handle of the given table.
+     */
+    public GameObjectHandle(GameObjectHandles handles, long handle) {
+        this.handles = handles;
+        this.handle = handle;
+    }
+
+    /**
+     * The object referred to, or null if it was removed since the handle was taken.
+     */
+    public GameObject resolve() {
+        return handles.resolve(handle);
+    }
+
+    /**
+     * Is the object referred to still in the collection.
+     */
+    public boolean isValid() {
+        return handles.isValid(handle);
+    }
+
+    /**
+     * The raw handle
+     */
+    public long value() {
+        return handle;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if(!(obj instanceof GameObjectHandle))
+            return false;
+        var other = (GameObjectHandle)obj;
+        return handles == other.handles && handle == other.handle;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(handle);
+    }
+}
@@ -0,0 +1,137 @@
+package danogl.collisions;
+
+import danogl.GameObject;
+
+import java.util.Arrays;
+
+/**
+ * Assigns every GameObject in a {@link GameObjectCollection} a compact integer slot,
+ * together with a generation counter that changes whenever the slot is reused.
+ * Both are packed into a single long - the object's handle (see {@link GameObject#getHandle()}).
+ * <p>A handle can be resolved back to its object in constant time, and a handle of an
+ * object that has since been removed (and perhaps recycled and added again) is detected
+ * as stale. Since slots are small and dense, side tables can be plain arrays indexed
+ * by {@link #slotOf(long)}, sized by {@link #capacity()}.</p>
+ * @see GameObjectHandle
+ */
+public class GameObjectHandles {
+    /** A handle value that never refers to an object */
+    public static final long NO_HANDLE = 0;
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private GameObject[] objects = new GameObject[INITIAL_CAPACITY];
+    private int[] generations = new int[INITIAL_CAPACITY];
+    private int[] referenceCounts = new int[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeSlotsCount = 0;
+    private int usedSlotsBound = 0;
+
+    /**
+     * package-private, created by GameObjectCollection
+     */
+    GameObjectHandles() { }
+
+    /**
+     * Returns the slot encoded in a handle
+     */
+    public static int slotOf(long handle) {
+        return (int)handle;
+    }
+
+    /**
+     * Returns the generation encoded in a handle
+     */
+    public static int generationOf(long handle) {
+        return (int)(handle >>> 32);
+    }
+
+    /**
+     * Returns the object the handle refers to, or null if the handle is stale
+     * (the object was removed from the collection since) or was never valid.
+     */
+    public GameObject resolve(long handle) {
+        return isValid(handle) ? objects[slotOf(handle)] : null;
+    }
+
+    /**
+     * Is the handle referring to an object currently in the collection
+     */
+    public boolean isValid(long handle) {
+        int slot = slotOf(handle);
+        return handle != NO_HANDLE && slot >= 0 && slot < usedSlotsBound
+                && objects[slot] != null && generations[slot] == generationOf(handle);
+    }
+
+    /**
+     * An upper bound (exclusive) on the slots currently in use. Side tables indexed by
+     * slot should be at least this long.
+     */
+    public int capacity() {
+        return usedSlotsBound;
+    }
+
+    /**
+     * The number of objects holding a handle: those in the collection, and those removed
+     * from it that weren't freed yet
+     */
+    public int size() {
+        return usedSlotsBound - freeSlotsCount;
+    }
+
+    /**
+     * Gives the object a handle if it doesn't already hold a valid handle of this table,
+     * and counts one more reference to it (an object may be added to several layers).
+     */
+    void acquire(GameObject obj) {
+        long handle = obj.getHandle();
+        if(!isValid(handle) || objects[slotOf(handle)] != obj) {
+            int slot = freeSlotsCount > 0 ? freeSlots[--freeSlotsCount] : newSlot();
+            objects[slot] = obj;
+            generations[slot]++;
+            referenceCounts[slot] = 0;
+            handle = ((long)generations[slot] << 32) | slot;
+            obj.setHandle(handle);
+        }
+        referenceCounts[slotOf(handle)]++;
+    }
+
+    /**
+     * Counts one less reference to the object.
+     * @return true if this was the last reference, in which case the object should be
+     * {@link #free(GameObject) freed} once it is no longer iterated.
+     */
+    boolean dereference(GameObject obj) {
+        long handle = obj.getHandle();
+        if(!isValid(handle))
+            return false;
+        return --referenceCounts[slotOf(handle)] <= 0;
+    }
+
+    /**
+     * Frees the object's slot if it holds no more references, making its handle stale.
+     * @return whether the slot was freed
+     */
+    boolean free(GameObject obj) {
+        long handle = obj.getHandle();
+        if(!isValid(handle) || referenceCounts[slotOf(handle)] > 0)
+            return false;
+        int slot = slotOf(handle);
+        objects[slot] = null;
+        obj.setHandle(NO_HANDLE);
+        if(freeSlotsCount == freeSlots.length)
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        freeSlots[freeSlotsCount++] = slot;
+        return true;
+    }
+
+    private int newSlot() {
+        if(usedSlotsBound == objects.length) {
+            int newCapacity = objects.length * 2;
+            objects = Arrays.copyOf(objects, newCapacity);
+            generations = Arrays.copyOf(generations, newCapacity);
+            referenceCounts = Arrays.copyOf(referenceCounts, newCapacity);
+        }
+        return usedSlotsBound++;
+    }
+}
@@ -2,8 +2,6 @@ package danogl.collisions;
 
 import danogl.GameObject;
 
-import java.util.Objects;
-
 /**
  * package-private class to encapsulate a pair of GameObjects.
  * @author Dan Nirel
@@ -22,7 +20,8 @@ class GameObjectPair {
 
     @Override
     public int hashCode() {
-        return Objects.hash(go1, go2);
+        //symmetric, like equals
+        return System.identityHashCode(go1) + System.identityHashCode(go2);
     }
 
     public GameObject getGameObject(int index) {
@@ -1,7 +1,6 @@
 package danogl.collisions;
 
 import danogl.GameObject;
-import danogl.util.ConcatIterator;
 import danogl.util.ModifiableList;
 
 import java.util.*;
@@ -14,12 +13,15 @@ import java.util.stream.StreamSupport;
  */
 class LayerData {
     int layerId;
+    //boxed once, since every frame looks it up in the collision sets of other layers
+    Integer boxedLayerId;
     int drawOrder;
     ModifiableList<GameObject> objects = new ModifiableList<>(false);
     Set<Integer> layersThisLayerCollidesWIth = new HashSet<>();
 
     LayerData(int layerId) {
         this.layerId = layerId;
+        this.boxedLayerId = layerId;
         this.drawOrder = layerId;
     }
 }
@@ -34,6 +36,50 @@ public class LayerManager {
     private ModifiableList<LayerData> layers = new ModifiableList<>(false);
     private boolean shouldReSortLayers = false;
     private BiConsumer<GameObject, GameObject> handlePair;
+    private final ObjectsIterator objectsIterator = new ObjectsIterator();
+    private final Iterable<GameObject> reverseOrder = () -> objectsIterator(true);
+
+    //the objects of all layers, in drawing order or in reverse. As with ModifiableList,
+    //the manager's iterator is reused unless it's in the middle of an iteration, since
+    //the objects are iterated every frame
+    private class ObjectsIterator implements Iterator<GameObject> {
+        private boolean isReversed;
+        private int layerIndex;
+        private Iterator<GameObject> iteratorInLayer;
+        private boolean iteratingNow = false;
+
+        boolean tryReset(boolean isReversed) {
+            if(iteratingNow)
+                return false;
+            this.isReversed = isReversed;
+            layerIndex = isReversed ? layers.size() - 1 : 0;
+            iteratorInLayer = null;
+            return true;
+        }
+
+        @Override
+        public boolean hasNext() {
+            //skip to the next layer with objects in it, or to the end of the layers
+            while(iteratorInLayer == null || !iteratorInLayer.hasNext()) {
+                if(layerIndex < 0 || layerIndex >= layers.size()) {
+                    iteratingNow = false;
+                    return false;
+                }
+                var objects = layers.get(layerIndex).objects;
+                iteratorInLayer = isReversed ? objects.reverseOrder().iterator() : objects.iterator();
+                layerIndex += isReversed ? -1 : 1;
+            }
+            return true;
+        }
+
+        @Override
+        public GameObject next() {
+            if(!hasNext())
+                throw new NoSuchElementException();
+            iteratingNow = true;
+            return iteratorInLayer.next();
+        }
+    }
 
     /**
      * package-private constructor
@@ -95,14 +141,14 @@ public class LayerManager {
         }
     }
 
-    void addGameObject(GameObject obj, int layerId) {
+    boolean addGameObject(GameObject obj, int layerId) {
         var layerData = getLayerData(layerId);
         if(layerData == null) {
             layerData = new LayerData(layerId);
             layers.add(layerData);
             shouldReSortLayers = true;
         }
-        layerData.objects.add(obj);
+        return layerData.objects.add(obj);
     }
 
     boolean isLayerEmpty(int layerId) {
@@ -138,24 +184,26 @@ public class LayerManager {
     }
 
     Iterator<GameObject> iterator() {
-        return new ConcatIterator<GameObject>(
-                StreamSupport.stream(layers.spliterator(), false)
-                .map(layerData -> (Iterable<GameObject>)layerData.objects)
-                ::iterator);
+        return objectsIterator(false);
     }
 
     Iterable<GameObject> reverseOrder() {
-        return ()->new ConcatIterator<GameObject>(
-               StreamSupport.stream(layers.reverseOrder().spliterator(), false)
-               .map(layerData -> (Iterable<GameObject>)layerData.objects.reverseOrder())
-               ::iterator);
+        return reverseOrder;
+    }
+
+    private Iterator<GameObject> objectsIterator(boolean isReversed) {
+        if(objectsIterator.tryReset(isReversed))
+            return objectsIterator;
+        var newIt = new ObjectsIterator();
+        newIt.tryReset(isReversed);
+        return newIt;
     }
 
     void handleCollisions() {
         for(int i = 0 ; i < layers.size() ; i++) {
             for(int j = i ; j < layers.size() ; j++) {
                 if(!layers.get(i).layersThisLayerCollidesWIth.contains(
-                        layers.get(j).layerId))
+                        layers.get(j).boxedLayerId))
                     continue;
                 handleLayers(layers.get(i).objects, layers.get(j).objects);
             }
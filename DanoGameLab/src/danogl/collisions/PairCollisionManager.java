@@ -28,8 +28,9 @@ class PairCollisionManager {
     }
 
     public PairCollisionData getCollisionData(GameObject go1, GameObject go2) {
-        for(var handler : handlers) {
-            var collisionData = handler.computeCollisionData(go1, go2);
+        //called for every pair tested, so indexed rather than iterated
+        for(int i = 0; i < handlers.size(); i++) {
+            var collisionData = handlers.get(i).computeCollisionData(go1, go2);
             if(collisionData != null)
                 return collisionData;
         }
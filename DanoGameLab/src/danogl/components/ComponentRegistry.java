@@ -0,0 +1,274 @@
+package danogl.components;
+
+import danogl.GameObject;
+import danogl.util.UpdateLod;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the components of all the GameObjects in a {@link danogl.collisions.GameObjectCollection},
+ * grouped by their concrete class, and updates them a group at a time. Updating all
+ * the transitions of the world in one run, then all the scheduled tasks and so on, keeps
+ * each run's calls going to the same method, rather than alternating between the component
+ * types of every object in turn.
+ * <p>The engine's frequent component classes ({@link FloatTransition}, {@link Vector2Transition}
+ * and {@link ScheduledTask}) are updated by loops of their own, each calling its class's
+ * update through a call site that only ever sees that class, which the JIT can inline.
+ * Other classes share a generic loop.</p>
+ * <p>Since the components are updated after all the objects, a component runs after every
+ * object's update in the frame rather than right after its own object's.</p>
+ * <p>Components keep the semantics they have in a single GameObject: components added
+ * during an update are only updated from the next update on, and a component may remove
+ * itself (or others) during an update, for example a transition that ends. A removed
+ * component is not updated again, and its entry is dropped once the update ends.
+ * Every registration is an {@link Entry} that knows its place in its group, which the
+ * owner holds, so removing a component takes constant time.</p>
+ * <p>The collection assigns its registry to the objects added to it
+ * (see {@link GameObject#setComponentRegistry}), and the GameManager updates it after
+ * updating the objects. Code should keep adding and removing components through the
+ * GameObject itself.</p>
+ */
+public class ComponentRegistry {
+    private static final int INITIAL_GROUP_CAPACITY = 8;
+
+    /**
+     * A component registered on behalf of its owner. Returned by {@link #add} and held by
+     * the owner, to be passed to {@link #remove}.
+     */
+    public static final class Entry {
+        private final GameObject owner;
+        private final Component component;
+        //null while waiting to be added to its group
+        private Group group;
+        //in the group, or in the list of entries to add
+        private int index;
+        private boolean isRemoved = false;
+
+        private Entry(GameObject owner, Component component) {
+            this.owner = owner;
+            this.component = component;
+        }
+
+        /**
+         * The registered component
+         */
+        public Component component() {
+            return component;
+        }
+    }
+
+    //the components of a single class, and their owners
+    private static class Group {
+        Component[] components = new Component[INITIAL_GROUP_CAPACITY];
+        private GameObject[] owners = new GameObject[INITIAL_GROUP_CAPACITY];
+        private Entry[] entries = new Entry[INITIAL_GROUP_CAPACITY];
+        int size = 0;
+        private int pendingRemovals = 0;
+
+        void add(Entry entry) {
+            if(size == components.length) {
+                components = Arrays.copyOf(components, size * 2);
+                owners = Arrays.copyOf(owners, size * 2);
+                entries = Arrays.copyOf(entries, size * 2);
+            }
+            components[size] = entry.component;
+            owners[size] = entry.owner;
+            entries[size] = entry;
+            entry.group = this;
+            entry.index = size;
+            size++;
+        }
+
+        //the generic loop, for classes without a loop of their own. Entries are re-read
+        //every iteration, since a component may remove others
+        void update(float deltaTime, UpdateLod updateLod) {
+            for(int i = 0; i < size; i++) {
+                var component = components[i];
+                if(component == null)
+                    continue;
+                float ownerDeltaTime = ownerDeltaTime(i, deltaTime, updateLod);
+                if(ownerDeltaTime != UpdateLod.SKIP)
+                    component.update(ownerDeltaTime);
+            }
+        }
+
+        float ownerDeltaTime(int i, float deltaTime, UpdateLod updateLod) {
+            return updateLod == null ? deltaTime : updateLod.deltaTimeFor(owners[i], deltaTime);
+        }
+
+        //marks the entry removed; it's compacted away on the next flush
+        void markRemoved(Entry entry) {
+            components[entry.index] = null;
+            owners[entry.index] = null;
+            entries[entry.index] = null;
+            pendingRemovals++;
+        }
+
+        void compact() {
+            if(pendingRemovals == 0)
+                return;
+            int newSize = 0;
+            for(int i = 0; i < size; i++) {
+                if(components[i] == null)
+                    continue;
+                components[newSize] = components[i];
+                owners[newSize] = owners[i];
+                entries[newSize] = entries[i];
+                entries[newSize].index = newSize;
+                newSize++;
+            }
+            Arrays.fill(components, newSize, size, null);
+            Arrays.fill(owners, newSize, size, null);
+            Arrays.fill(entries, newSize, size, null);
+            size = newSize;
+            pendingRemovals = 0;
+        }
+    }
+
+    //the loops of the frequent classes: copies of the generic loop, each with a call site
+    //of its own on the exact class
+
+    private static final class FloatTransitionGroup extends Group {
+        @Override
+        void update(float deltaTime, UpdateLod updateLod) {
+            for(int i = 0; i < size; i++) {
+                var transition = (FloatTransition)components[i];
+                if(transition == null)
+                    continue;
+                float ownerDeltaTime = ownerDeltaTime(i, deltaTime, updateLod);
+                if(ownerDeltaTime != UpdateLod.SKIP)
+                    transition.update(ownerDeltaTime);
+            }
+        }
+    }
+
+    private static final class Vector2TransitionGroup extends Group {
+        @Override
+        void update(float deltaTime, UpdateLod updateLod) {
+            for(int i = 0; i < size; i++) {
+                var transition = (Vector2Transition)components[i];
+                if(transition == null)
+                    continue;
+                float ownerDeltaTime = ownerDeltaTime(i, deltaTime, updateLod);
+                if(ownerDeltaTime != UpdateLod.SKIP)
+                    transition.update(ownerDeltaTime);
+            }
+        }
+    }
+
+    private static final class ScheduledTaskGroup extends Group {
+        @Override
+        void update(float deltaTime, UpdateLod updateLod) {
+            for(int i = 0; i < size; i++) {
+                var task = (ScheduledTask)components[i];
+                if(task == null)
+                    continue;
+                float ownerDeltaTime = ownerDeltaTime(i, deltaTime, updateLod);
+                if(ownerDeltaTime != UpdateLod.SKIP)
+                    task.update(ownerDeltaTime);
+            }
+        }
+    }
+
+    private final Map<Class<?>, Group> groupsByClass = new HashMap<>();
+    private final List<Group> groups = new ArrayList<>();
+    //added since the last update; added to their groups once it ends. Removed ones are null
+    private final List<Entry> entriesToAdd = new ArrayList<>();
+    private int size = 0;
+
+    /**
+     * Start updating the component on behalf of its owner, from the next update on.
+     * Called by {@link GameObject#addComponent(Component)}.
+     * @return the registration, to be passed to {@link #remove(Entry)}
+     */
+    public Entry add(GameObject owner, Component component) {
+        var entry = new Entry(owner, component);
+        entry.index = entriesToAdd.size();
+        entriesToAdd.add(entry);
+        size++;
+        return entry;
+    }
+
+    /**
+     * Stop updating the component of the given registration, in constant time.
+     * Called by {@link GameObject#removeComponent(Component)}.
+     * @return false if the registration was already removed
+     */
+    public boolean remove(Entry entry) {
+        if(entry.isRemoved)
+            return false;
+        entry.isRemoved = true;
+        if(entry.group == null)
+            entriesToAdd.set(entry.index, null);
+        else
+            entry.group.markRemoved(entry);
+        size--;
+        return true;
+    }
+
+    /**
+     * Update all the components, a class at a time, then apply the additions and
+     * removals made since the last update.
+     */
+    public void update(float deltaTime) {
+        update(deltaTime, null);
+    }
+
+    /**
+     * Update the components, each with the time its owner is updated with according to
+     * the given level-of-detail, skipping those of owners that aren't updated this frame.
+     * @see #update(float)
+     */
+    public void update(float deltaTime, UpdateLod updateLod) {
+        for(int i = 0; i < groups.size(); i++)
+            groups.get(i).update(deltaTime, updateLod);
+        flushChanges();
+    }
+
+    /**
+     * The number of registered components
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * The number of distinct component classes seen so far
+     */
+    public int groupCount() {
+        return groups.size();
+    }
+
+    private void flushChanges() {
+        for(int i = 0; i < groups.size(); i++)
+            groups.get(i).compact();
+        for(int i = 0; i < entriesToAdd.size(); i++) {
+            var entry = entriesToAdd.get(i);
+            if(entry == null)
+                continue;
+            var group = groupsByClass.get(entry.component.getClass());
+            if(group == null) {
+                group = newGroup(entry.component.getClass());
+                groupsByClass.put(entry.component.getClass(), group);
+                groups.add(group);
+            }
+            group.add(entry);
+        }
+        entriesToAdd.clear();
+    }
+
+    //only the exact classes get their own loops: a subclass would make the call site polymorphic
+    private static Group newGroup(Class<?> componentClass) {
+        if(componentClass == FloatTransition.class)
+            return new FloatTransitionGroup();
+        if(componentClass == Vector2Transition.class)
+            return new Vector2TransitionGroup();
+        if(componentClass == ScheduledTask.class)
+            return new ScheduledTaskGroup();
+        return new Group();
+    }
+}
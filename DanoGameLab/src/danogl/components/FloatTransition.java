@@ -0,0 +1,76 @@
+package danogl.components;
+
+import danogl.GameObject;
+import danogl.util.FloatConsumer;
+
+/**
+ * Transition a float over a range. Equivalent to a Transition&lt;Float&gt;,
+ * but neither the interpolation nor the callback box the value.
+ * @see Transition
+ */
+public class FloatTransition extends TransitionStepper {
+    /************* Inner Types **************/
+    /**
+     * Interpolates between two floats; see {@link Transition.Interpolator}.
+     */
+    @FunctionalInterface
+    public static interface Interpolator {
+        /**
+         * Interpolate between two values
+         * @param val1 initial value
+         * @param val2 final value
+         * @param t a range parameter in [0,1], where 0 represents the initial value
+         *          and 1 the final value.
+         * @return the value at t
+         */
+        float interpolate(float val1, float val2, float t);
+    }
+
+    /************* Constants **************/
+    /**
+     * The transition will advance from the initial value to the final in a straight line.
+     */
+    public static final Interpolator LINEAR_INTERPOLATOR = (n1,n2,t)->(1-t)*n1+t*n2;
+    /**
+     * Will start slowly from the initial value, accelerate, then slow
+     * when approaching its goal.
+     */
+    public static final Interpolator CUBIC_INTERPOLATOR = (n1,n2,t)
+            ->(2*n1-2*n2)*t*t*t + (3*n2-3*n1)*t*t + n1;
+
+    /************* Fields **************/
+    private final FloatConsumer setValueCallback;
+    private final float initialValue;
+    private final float finalValue;
+    private final Interpolator interpolator;
+
+    /************* Methods **************/
+
+    /**
+     * Create a new FloatTransition, which is immediately applied.
+     * The parameters are as in {@link Transition#Transition}.
+     */
+    public FloatTransition(
+            GameObject gameObjectToUpdateThrough,
+            FloatConsumer setValueCallback,
+            float initialValue,
+            float finalValue,
+            Interpolator interpolator,
+            float transitionTime,
+            Transition.TransitionType transitionType,
+            Runnable onReachingFinalValue) {
+        super(gameObjectToUpdateThrough, transitionTime, transitionType, onReachingFinalValue);
+        if(setValueCallback == null || interpolator == null)
+            throw new NullPointerException("None of Transition's parameters may be null except onReachingFinalValue");
+        this.setValueCallback = setValueCallback;
+        this.initialValue = initialValue;
+        this.finalValue = finalValue;
+        this.interpolator = interpolator;
+        start();
+    }
+
+    @Override
+    void apply(float t) {
+        setValueCallback.accept(interpolator.interpolate(initialValue, finalValue, t));
+    }
+}
@@ -1,5 +1,6 @@
 package danogl.components;
 
+import danogl.collisions.AABB.AABBCollider;
 import danogl.collisions.Collider;
 import danogl.util.Vector2;
 
@@ -16,7 +17,10 @@ public class GameObjectPhysics {
      */
     public static final float IMMOVABLE_MASS = Float.MAX_VALUE;
 
-    private Collider collider;
+    //shared by all objects that don't set a collider of their own, hence immutable
+    private static final Collider DEFAULT_COLLIDER = AABBCollider.immutable(0, 0, 1, 1);
+
+    private Collider collider = DEFAULT_COLLIDER;
     private Vector2 dirToPrevent = null;
     private float mass = 1f;
 
@@ -28,7 +32,9 @@ public class GameObjectPhysics {
     }
 
     /**
-     * Sets the GameObject's collider
+     * Sets the GameObject's collider. By default, objects share a single immutable collider
+     * covering their entire rectangle (see {@link AABBCollider#isMutable()}); to alter
+     * an object's collider, set a new collider of its own.
      */
     public void setCollider(Collider collider) {
         this.collider = collider;
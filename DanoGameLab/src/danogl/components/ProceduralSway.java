@@ -0,0 +1,97 @@
+package danogl.components;
+
+import danogl.util.GameClock;
+import danogl.util.Vector2;
+
+/**
+ * A periodic back-and-forth motion of an object's rendering angle and scale, computed from
+ * a GameClock only when the object is rendered (see {@link RendererComponent#setSway}).
+ * Unlike a back-and-forth Transition, it needs no updates, so objects that merely sway
+ * cost nothing when they're not drawn. The sway only affects rendering, not the
+ * object's dimensions or collisions.
+ */
+public class ProceduralSway {
+    private final GameClock clock;
+    private final float transitionTime;
+    private final double phase;
+    private final float fromAngle, toAngle;
+    private final float fromScaleX, fromScaleY, toScaleX, toScaleY;
+
+    /**
+     * Construct a new sway.
+     * @param clock The clock the sway follows, normally the GameManager's.
+     * @param transitionTime The time for a single transition from edge to edge, in seconds,
+     *                       as in a Transition of type TRANSITION_BACK_AND_FORTH.
+     * @param phase Time, in seconds, added to the clock's time, so that objects
+     *              don't sway in unison.
+     * @param fromAngle The angle, in degrees counterclockwise, at one edge. It is added to the
+     *                  renderer's own angle.
+     * @param toAngle The angle at the other edge.
+     * @param fromScale The scale of the rendered dimensions at one edge, about the object's
+     *                  center. Vector2.ONES renders the object at its dimensions.
+     * @param toScale The scale at the other edge.
+     */
+    public ProceduralSway(GameClock clock, float transitionTime, double phase,
+                          float fromAngle, float toAngle, Vector2 fromScale, Vector2 toScale) {
+        if(clock == null || fromScale == null || toScale == null)
+            throw new NullPointerException("Invalid parameters for ProceduralSway");
+        this.clock = clock;
+        this.transitionTime = transitionTime;
+        this.phase = phase;
+        this.fromAngle = fromAngle;
+        this.toAngle = toAngle;
+        this.fromScaleX = fromScale.x();
+        this.fromScaleY = fromScale.y();
+        this.toScaleX = toScale.x();
+        this.toScaleY = toScale.y();
+    }
+
+    /**
+     * The range parameter at the clock's current time: goes linearly from 0 to 1
+     * and back, like the t of a back-and-forth Transition.
+     */
+    public float t() {
+        return t(0);
+    }
+
+    /**
+     * The range parameter at the clock's current time, for something swaying with an additional
+     * phase, such as one of many particles sharing the sway.
+     * @param extraPhase Time, in seconds, added to the clock's time and to the sway's phase.
+     */
+    public float t(double extraPhase) {
+        return backAndForth(clock.time() + phase + extraPhase, transitionTime);
+    }
+
+    /**
+     * Goes linearly from 0 to 1 and back, every 2*transitionTime; 0 at time 0.
+     * @param time The time, in seconds.
+     * @param transitionTime The time for a single transition from 0 to 1, in seconds.
+     */
+    public static float backAndForth(double time, float transitionTime) {
+        double cycles = time / (2 * transitionTime);
+        float u = (float)(cycles - Math.floor(cycles));
+        return u < 0.5f ? 2 * u : 2 - 2 * u;
+    }
+
+    /**
+     * The angle to add at the given range parameter
+     */
+    public float angleAt(float t) {
+        return (1 - t) * fromAngle + t * toAngle;
+    }
+
+    /**
+     * The horizontal scale at the given range parameter
+     */
+    public float scaleXAt(float t) {
+        return (1 - t) * fromScaleX + t * toScaleX;
+    }
+
+    /**
+     * The vertical scale at the given range parameter
+     */
+    public float scaleYAt(float t) {
+        return (1 - t) * fromScaleY + t * toScaleY;
+    }
+}
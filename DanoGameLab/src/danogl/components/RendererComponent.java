@@ -1,7 +1,9 @@
 package danogl.components;
 
 import danogl.GameObject;
+import danogl.gui.rendering.RenderCommandBuffer;
 import danogl.gui.rendering.Renderable;
+import danogl.util.MutableVector2;
 import danogl.util.Vector2;
 
 import java.awt.*;
@@ -18,6 +20,11 @@ public class RendererComponent implements Component {
     private boolean isFlippedHorizontally = false;
     private boolean isFlippedVertically = false;
     private float opaqueness = 1;
+    private ProceduralSway sway;
+
+    //the swayed position and dimensions during a render call; shared by all renderers of a thread
+    private static final ThreadLocal<MutableVector2[]> swayedRect =
+            ThreadLocal.withInitial(() -> new MutableVector2[]{new MutableVector2(), new MutableVector2()});
 
     /**
      * Construct the component for the given GameObject. Sets its Renderable to be the
@@ -43,11 +50,42 @@ public class RendererComponent implements Component {
     public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions) {
         if(renderable == null)
             return;
+        if(sway != null) {
+            renderSwayed(g, topLeftCorner, dimensions);
+            return;
+        }
         renderable.render(g, topLeftCorner, dimensions,
                 renderableDegreesCounterclockwise,
                 isFlippedHorizontally, isFlippedVertically, opaqueness);
     }
 
+    /**
+     * Record the rendering of the GameObject into a buffer, to be rasterized later
+     * @param buffer the frame's render commands
+     * @param topLeftCorner the GameObject's position
+     * @param dimensions the GameObject's dimensions
+     * @param coordinateSpace the coordinate space of the position and dimensions
+     */
+    public void record(RenderCommandBuffer buffer, Vector2 topLeftCorner, Vector2 dimensions,
+                       CoordinateSpace coordinateSpace) {
+        if(renderable == null)
+            return;
+        if(sway == null) {
+            buffer.add(renderable, topLeftCorner, dimensions, renderableDegreesCounterclockwise,
+                    isFlippedHorizontally, isFlippedVertically, opaqueness, coordinateSpace);
+            return;
+        }
+        float t = sway.t();
+        float swayedWidth = dimensions.x() * sway.scaleXAt(t);
+        float swayedHeight = dimensions.y() * sway.scaleYAt(t);
+        buffer.add(renderable,
+                topLeftCorner.x() + 0.5f * (dimensions.x() - swayedWidth),
+                topLeftCorner.y() + 0.5f * (dimensions.y() - swayedHeight),
+                swayedWidth, swayedHeight,
+                renderableDegreesCounterclockwise + sway.angleAt(t),
+                isFlippedHorizontally, isFlippedVertically, opaqueness, coordinateSpace);
+    }
+
     /**
      * @return The current Renderable.
      */
@@ -59,6 +97,15 @@ public class RendererComponent implements Component {
      */
     public void setRenderable(Renderable renderable) {
         this.renderable = renderable;
+        if(isAnimated())
+            gameObject.requestUpdates();
+    }
+
+    /**
+     * Is the current Renderable animated, i.e. must the component be updated every frame
+     */
+    public boolean isAnimated() {
+        return renderable != null && renderable.isAnimated();
     }
 
     /**
@@ -81,6 +128,22 @@ public class RendererComponent implements Component {
         this.renderableDegreesCounterclockwise = renderableDegreesCounterclockwise;
     }
 
+    /**
+     * The sway applied when rendering, or null if there is none.
+     */
+    public ProceduralSway getSway() {
+        return sway;
+    }
+
+    /**
+     * Set a periodic sway of the rendered angle and scale, which is computed only when
+     * the object is rendered. Use null to stop swaying.
+     * @see ProceduralSway
+     */
+    public void setSway(ProceduralSway sway) {
+        this.sway = sway;
+    }
+
     /**
      * Is the image flipped horizontally
      */
@@ -130,6 +193,18 @@ public class RendererComponent implements Component {
         this.opaqueness = opaqueness;
     }
 
+    /**
+     * Reset the angle, the flips and the opaqueness to their defaults, and remove the sway.
+     * The Renderable is kept.
+     */
+    public void resetState() {
+        renderableDegreesCounterclockwise = 0;
+        isFlippedHorizontally = false;
+        isFlippedVertically = false;
+        opaqueness = 1;
+        sway = null;
+    }
+
     /**
      * Gradually increase the GameObject's opaqueness over the supplied
      * length of times, in seconds. After this time the opaqueness will be 1.
@@ -148,8 +223,8 @@ public class RendererComponent implements Component {
      * @param afterFadeIn a function to execute when the fadeIn is over
      */
     public void fadeIn(float fadeInTime, Runnable afterFadeIn) {
-        new Transition<>(gameObject, this::setOpaqueness, getOpaqueness(), 1f,
-                Transition.LINEAR_INTERPOLATOR_FLOAT, fadeInTime,
+        new FloatTransition(gameObject, this::setOpaqueness, getOpaqueness(), 1f,
+                FloatTransition.LINEAR_INTERPOLATOR, fadeInTime,
                 Transition.TransitionType.TRANSITION_ONCE,
                 afterFadeIn);
     }
@@ -160,9 +235,23 @@ public class RendererComponent implements Component {
      * @param afterFadeOut a function to execute when the fadeOut is over
      */
     public void fadeOut(float fadeOutTime, Runnable afterFadeOut) {
-        new Transition<>(gameObject, this::setOpaqueness, getOpaqueness(), 0f,
-                Transition.LINEAR_INTERPOLATOR_FLOAT, fadeOutTime,
+        new FloatTransition(gameObject, this::setOpaqueness, getOpaqueness(), 0f,
+                FloatTransition.LINEAR_INTERPOLATOR, fadeOutTime,
                 Transition.TransitionType.TRANSITION_ONCE,
                 afterFadeOut);
     }
+
+    private void renderSwayed(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions) {
+        float t = sway.t();
+        var rect = swayedRect.get();
+        MutableVector2 swayedTopLeftCorner = rect[0], swayedDimensions = rect[1];
+        swayedDimensions.setXY(dimensions.x() * sway.scaleXAt(t), dimensions.y() * sway.scaleYAt(t));
+        //scale about the center
+        swayedTopLeftCorner.setXY(
+                topLeftCorner.x() + 0.5f * (dimensions.x() - swayedDimensions.x()),
+                topLeftCorner.y() + 0.5f * (dimensions.y() - swayedDimensions.y()));
+        renderable.render(g, swayedTopLeftCorner, swayedDimensions,
+                renderableDegreesCounterclockwise + sway.angleAt(t),
+                isFlippedHorizontally, isFlippedVertically, opaqueness);
+    }
 }
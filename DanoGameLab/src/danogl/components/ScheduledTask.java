@@ -1,9 +1,20 @@
 package danogl.components;
 
 import danogl.GameObject;
+import danogl.GameServices;
+import danogl.collisions.GameObjectHandles;
+import danogl.util.TimerWheel;
+import danogl.util.UpdateLod;
 
 /**
- * A component for scheduling a task for execution at a later time
+ * A component for scheduling a task for execution at a later time.
+ * When created while a game is running, the task is kept by the game's
+ * {@link TimerWheel} rather than polled every frame; otherwise it is
+ * a component that counts the time through its object's updates.
+ * <p>Either way, the task only runs while its object is in a game's collection, as when
+ * it was always a component: a task that is due after its object was removed (or released
+ * to a pool) is dropped, and no longer repeats. A task that is due while its object is frozen
+ * off-screen (see {@link UpdateLod.Policy#FROZEN}) waits for the object's next update.</p>
  * @author Dan Nirel
  */
 public class ScheduledTask implements Component {
@@ -11,15 +22,21 @@ public class ScheduledTask implements Component {
     private final float waitTime;
     private final boolean repeat;
     private final Runnable onElapsed;
+    private final int incarnation;
+    private final TimerWheel.Timer timer;
 
     private double timePassed = 0;
+    //a timer that was due while the object was frozen, now counted through the object's updates
+    private boolean isWaitingForObject = false;
 
     /**
      * Create a scheduled task. No other calls to the object are necessary.
      * @param gameObjectToUpdateThrough A GameObject related to the task.
-     *                                  It is not actually important what GameObject is supplied here.
-     *                                  The task will become a Component of that object,
-     *                                  as a means of calling this task's update method.
+     *                                  It is not actually important what GameObject is supplied here,
+     *                                  except that the task is dropped if the object is
+     *                                  removed from the game (or released to a pool) before it runs.
+     *                                  If there's no TimerWheel, the task will become a Component
+     *                                  of that object, as a means of calling this task's update method.
      *                                  If and when possible, the task will remove itself
      *                                  from the object's components.
      * @param waitTime The delay until the task is executed, in seconds.
@@ -36,7 +53,15 @@ public class ScheduledTask implements Component {
         this.waitTime = waitTime;
         this.repeat = repeat;
         this.onElapsed = onElapsed;
-        gameObjectToUpdateThrough.addComponent(this);
+        this.incarnation = gameObjectToUpdateThrough.getIncarnation();
+        var services = GameServices.current();
+        if(services == null) {
+            timer = null;
+            gameObjectToUpdateThrough.addComponent(this);
+        }
+        else {
+            timer = services.timerWheel().schedule(waitTime, this::onTimer);
+        }
     }
 
     /**
@@ -45,10 +70,34 @@ public class ScheduledTask implements Component {
      */
     public void reset() {
         timePassed = 0;
+        if(timer == null)
+            return;
+        if(timer.isPending() || isWaitingForObject || repeat)
+            timer.reschedule(waitTime);
+        stopWaitingForObject();
+    }
+
+    /**
+     * Prevent the task from running (again).
+     */
+    public void cancel() {
+        if(timer != null) {
+            timer.cancel();
+            stopWaitingForObject();
+        }
+        else {
+            gameObjectToUpdateThrough.removeComponent(this);
+        }
     }
 
     @Override
     public void update(float deltaTime) {
+        if(isWaitingForObject) {
+            //the object is updated again, so the task is no longer postponed
+            stopWaitingForObject();
+            onTimer();
+            return;
+        }
         timePassed += deltaTime;
         if(timePassed >= waitTime) {
             if(onElapsed != null)
@@ -59,4 +108,27 @@ public class ScheduledTask implements Component {
                 gameObjectToUpdateThrough.removeComponent(this);
         }
     }
+
+    private void onTimer() {
+        if(gameObjectToUpdateThrough.getIncarnation() != incarnation
+                || gameObjectToUpdateThrough.getHandle() == GameObjectHandles.NO_HANDLE)
+            return;
+        var services = GameServices.current();
+        if(services != null && services.updateLod().isFrozen(gameObjectToUpdateThrough)) {
+            //no time passes for a frozen object; run once it's updated again
+            isWaitingForObject = true;
+            gameObjectToUpdateThrough.addComponent(this);
+            return;
+        }
+        if(repeat)
+            timer.reschedule(waitTime);
+        onElapsed.run();
+    }
+
+    private void stopWaitingForObject() {
+        if(!isWaitingForObject)
+            return;
+        isWaitingForObject = false;
+        gameObjectToUpdateThrough.removeComponent(this);
+    }
 }
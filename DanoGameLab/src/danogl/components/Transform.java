@@ -1,5 +1,8 @@
 package danogl.components;
 
+import danogl.GameObject;
+import danogl.GameServices;
+import danogl.util.GameClock;
 import danogl.util.MutableVector2;
 import danogl.util.Vector2;
 
@@ -9,19 +12,40 @@ import danogl.util.Vector2;
  * @author Dan Nirel
  */
 public class Transform implements Component {
+    private final GameObject gameObject;
     private MutableVector2 topLeftCorner;
     private MutableVector2 dimensions;
-    private MutableVector2 velocity = new MutableVector2(Vector2.ZERO);
-    private MutableVector2 velocityToApply = new MutableVector2(Vector2.ZERO);
-    private MutableVector2 acceleration = new MutableVector2(Vector2.ZERO);
+    //allocated on first use, since most objects (terrain for instance) never move
+    private MutableVector2 velocity;
+    private MutableVector2 velocityToApply;
+    private MutableVector2 acceleration;
     private boolean isAccelerationEnabled = true;
-
-    private static MutableVector2 freeComputationVector = new MutableVector2();
+    //attachment to a parent; the offset is between the centers
+    private Transform parent;
+    private MutableVector2 offsetFromParent;
+    private TransformHierarchy hierarchy;
+    //the clock of the game the transform is in, given when it joins the game; null outside one
+    private GameClock clock;
+    //for rendering in between fixed steps: the position before the step
+    //in which the transform last moved, see getRenderTopLeftCorner
+    private MutableVector2 previousTopLeftCorner;
+    private MutableVector2 renderTopLeftCorner;
+    private long previousStep = -1;
+    private long snapStep = -1;
 
     /**
-     * Construct a new Transform. Normally called by the GameObject's constructor.
+     * Construct a new Transform that doesn't belong to a GameObject.
      */
     public Transform(Vector2 topLeftCorner, Vector2 dimensions) {
+        this(null, topLeftCorner, dimensions);
+    }
+
+    /**
+     * Construct a new Transform for the given GameObject, which is notified
+     * when it starts moving. Normally called by the GameObject's constructor.
+     */
+    public Transform(GameObject gameObject, Vector2 topLeftCorner, Vector2 dimensions) {
+        this.gameObject = gameObject;
         this.topLeftCorner = new MutableVector2(topLeftCorner);
         this.dimensions = new MutableVector2(dimensions);
     }
@@ -37,6 +61,7 @@ public class Transform implements Component {
      * Set the position of the object's top-left corner
      */
     public void setTopLeftCorner(Vector2 topLeftCorner) {
+        beforeMove();
         this.topLeftCorner.setXY(topLeftCorner);
     }
 
@@ -44,6 +69,7 @@ public class Transform implements Component {
      * Set the position of the object's top-left corner
      */
     public void setTopLeftCorner(float x, float y) {
+        beforeMove();
         this.topLeftCorner.setXY(x, y);
     }
 
@@ -68,29 +94,32 @@ public class Transform implements Component {
             throw new IllegalArgumentException(
                     "Dimensions must be non-negative. "+
                             "To flip image, see setIsflippedHorizontally()/setIsflippedVertically()");
-        var oldCenter = getCenter();
+        float oldCenterX = getCenterX(), oldCenterY = getCenterY();
         this.dimensions.setXY(x, y);
-        setCenter(oldCenter);
+        setCenter(oldCenterX, oldCenterY);
     }
 
     /**
-     * Returns the object's velocity
+     * Returns the object's velocity. The vector is read-only: it's {@link Vector2#ZERO}
+     * until a non-zero velocity is first set, so it should neither be altered nor kept
+     * to follow later changes; use {@link #setVelocity} and call this method again.
      */
     public Vector2 getVelocity() {
-        return velocity;
+        return velocity == null ? Vector2.ZERO : velocity;
     }
 
     /**
      * Set the object's velocity
      */
     public void setVelocity(Vector2 velocity) {
-        this.velocity.setXY(velocity);
+        setVelocity(velocity.x(), velocity.y());
     }
 
     /**
      * Set the x-coordinate of the left side of the object
      */
     public void setTopLeftCornerX(float x) {
+        beforeMove();
         topLeftCorner.setX(x);
     }
 
@@ -98,6 +127,7 @@ public class Transform implements Component {
      * Set the y-coordinate of the top side of the object
      */
     public void setTopLeftCornerY(float y) {
+        beforeMove();
         topLeftCorner.setY(y);
     }
 
@@ -119,38 +149,59 @@ public class Transform implements Component {
      * Set the object's velocity
      */
     public void setVelocity(float x, float y) {
-        this.velocity.setXY(x, y);
+        if(velocity == null && x == 0 && y == 0)
+            return;
+        mutableVelocity().setXY(x, y);
+        onMotionSet(x, y);
     }
 
     /**
      * Set the object's x-velocity
      */
     public void setVelocityX(float x) {
-        velocity.setX(x);
+        if(velocity == null && x == 0)
+            return;
+        mutableVelocity().setX(x);
+        onMotionSet(x, 0);
     }
 
     /**
      * Set the object's y-velocity
      */
     public void setVelocityY(float y) {
-        velocity.setY(y);
+        if(velocity == null && y == 0)
+            return;
+        mutableVelocity().setY(y);
+        onMotionSet(0, y);
     }
 
     /**
-     * Returns the object's center
+     * Returns the object's center. This creates a new vector; code that runs every frame
+     * should prefer {@link #getCenterX()} and {@link #getCenterY()}.
      */
     public Vector2 getCenter() {
-        return new MutableVector2(getDimensions())
-                .selfMult(0.5f).selfAdd(getTopLeftCorner());
+        return new Vector2(getCenterX(), getCenterY());
+    }
+
+    /**
+     * Returns the x-coordinate of the object's center
+     */
+    public float getCenterX() {
+        return topLeftCorner.x() + 0.5f*dimensions.x();
+    }
+
+    /**
+     * Returns the y-coordinate of the object's center
+     */
+    public float getCenterY() {
+        return topLeftCorner.y() + 0.5f*dimensions.y();
     }
 
     /**
      * Reposition the object by its center
      */
     public void setCenter(Vector2 center) {
-        freeComputationVector.setXY(dimensions);
-        freeComputationVector.selfMult(-0.5f).selfAdd(center);
-        topLeftCorner.setXY(freeComputationVector);
+        setCenter(center.x(), center.y());
     }
 
     /**
@@ -165,6 +216,7 @@ public class Transform implements Component {
      * Reposition the center's x-position
      */
     public void setCenterX(float x) {
+        beforeMove();
         topLeftCorner.setX(x-0.5f*dimensions.x());
     }
 
@@ -172,57 +224,272 @@ public class Transform implements Component {
      * Reposition the center's y-position
      */
     public void setCenterY(float y) {
+        beforeMove();
         topLeftCorner.setY(y-0.5f*dimensions.y());
     }
 
     /**
-     * Returns the object's acceleration
+     * Attach this transform to a parent transform: from now on, the center of this
+     * transform is kept at the given offset from the parent's center, and it moves
+     * together with the parent. The position is resolved once per frame by the
+     * hierarchy of the game's {@link GameServices#current() current services}, after the
+     * objects are updated, so the object itself needn't be updated to follow its parent.
+     * @param parent The transform to follow, or null to detach this transform
+     *               and leave it where it is.
+     * @param offsetX The offset of this center from the parent's center, on the x-axis.
+     * @param offsetY The offset on the y-axis.
+     * @throws IllegalArgumentException if the attachment would create a cycle
+     */
+    public void setParent(Transform parent, float offsetX, float offsetY) {
+        for(var ancestor = parent; ancestor != null; ancestor = ancestor.parent) {
+            if(ancestor == this)
+                throw new IllegalArgumentException("A transform cannot be attached to its descendant");
+        }
+        leaveHierarchy();
+        this.parent = parent;
+        if(parent == null)
+            return;
+        if(offsetFromParent == null)
+            offsetFromParent = new MutableVector2();
+        offsetFromParent.setXY(offsetX, offsetY);
+        joinHierarchy();
+        resolveAttachment();
+    }
+
+    /**
+     * Is the attachment of this transform resolved by a {@link TransformHierarchy} every frame.
+     * False for transforms that aren't attached, and for transforms attached while there was
+     * no current hierarchy (or removed from the game since) that didn't join one yet.
+     */
+    public boolean isInHierarchy() {
+        return hierarchy != null;
+    }
+
+    /**
+     * Take part in the game whose {@link GameServices#current() services are current}:
+     * be drawn by the game's clock (see {@link #getRenderTopLeftCorner()}), starting at the
+     * actual position, and have the attachment resolved by the game's hierarchy.
+     * Called by GameObjectCollection when the object is added, and by a camera when the game
+     * updates it.
+     */
+    public void joinGame() {
+        var services = GameServices.current();
+        clock = services == null ? null : services.clock();
+        skipInterpolation();
+        joinHierarchy();
+    }
+
+    /**
+     * Stop taking part in the game: leave its hierarchy (see {@link #leaveHierarchy()})
+     * and stop being interpolated by its clock. Called by GameObjectCollection when the
+     * object is removed.
+     */
+    public void leaveGame() {
+        clock = null;
+        leaveHierarchy();
+    }
+
+    /**
+     * Is the transform in a game, drawn by the game's clock
+     */
+    public boolean isInGame() {
+        return clock != null;
+    }
+
+    /**
+     * Have the hierarchy of the game's {@link GameServices#current() current services}
+     * resolve this transform's attachment, if it is attached and not already in a hierarchy.
+     * Called when the transform {@link #joinGame() joins a game}.
+     * @return whether the transform's attachment is now resolved by a hierarchy
+     */
+    public boolean joinHierarchy() {
+        if(parent == null || hierarchy != null)
+            return hierarchy != null;
+        var services = GameServices.current();
+        if(services == null)
+            return false;
+        hierarchy = services.transformHierarchy();
+        hierarchy.attach(this);
+        return true;
+    }
+
+    /**
+     * Stop being resolved by the hierarchy, keeping the parent and the offset, so that
+     * the hierarchy doesn't keep an object that left the game. Called when the transform
+     * {@link #leaveGame() leaves the game}; it {@link #joinHierarchy() joins} again if re-added.
+     */
+    public void leaveHierarchy() {
+        if(hierarchy == null)
+            return;
+        hierarchy.detach(this);
+        hierarchy = null;
+    }
+
+    /**
+     * Attach this transform to a parent transform.
+     * @see #setParent(Transform, float, float)
+     */
+    public void setParent(Transform parent, Vector2 offset) {
+        setParent(parent, offset.x(), offset.y());
+    }
+
+    /**
+     * Returns the transform this one is attached to, or null if it isn't attached
+     */
+    public Transform getParent() {
+        return parent;
+    }
+
+    /**
+     * Returns the offset of this center from the parent's center. Meaningless if the
+     * transform isn't attached to a parent.
+     */
+    public Vector2 getOffsetFromParent() {
+        return offsetFromParent == null ? Vector2.ZERO : offsetFromParent;
+    }
+
+    /**
+     * Move this transform to its offset from its parent, if it has one.
+     * Normally called by the {@link TransformHierarchy}.
+     */
+    public void resolveAttachment() {
+        if(parent != null)
+            setCenter(parent.getCenterX() + offsetFromParent.x(),
+                    parent.getCenterY() + offsetFromParent.y());
+    }
+
+    //the number of ancestors; parents are resolved before their children
+    int depth() {
+        int depth = 0;
+        for(var ancestor = parent; ancestor != null; ancestor = ancestor.parent)
+            depth++;
+        return depth;
+    }
+
+    /**
+     * The position the object should be drawn at. Normally this is the top-left corner,
+     * but when the game is simulated in fixed steps and rendered in between them
+     * (see {@link GameClock#isInterpolating()}), a transform that moved during the last step
+     * is drawn between its positions before and after that step.
+     */
+    public Vector2 getRenderTopLeftCorner() {
+        if(clock == null || !clock.isInterpolating() || previousStep != clock.steps()
+                || snapStep == clock.steps())
+            return topLeftCorner;
+        if(renderTopLeftCorner == null)
+            renderTopLeftCorner = new MutableVector2();
+        float t = clock.interpolation();
+        renderTopLeftCorner.setXY(
+                previousTopLeftCorner.x() + t * (topLeftCorner.x() - previousTopLeftCorner.x()),
+                previousTopLeftCorner.y() + t * (topLeftCorner.y() - previousTopLeftCorner.y()));
+        return renderTopLeftCorner;
+    }
+
+    /**
+     * Draw the object at its actual position until the end of the current step, rather
+     * than interpolating from its previous position. Should be called when an object is
+     * teleported rather than moved; called automatically when objects join a game and
+     * when they are recycled by pools.
+     */
+    public void skipInterpolation() {
+        if(clock != null)
+            snapStep = clock.steps();
+    }
+
+    //keeps the position from before the current step, the first time the transform moves in it
+    private void beforeMove() {
+        if(clock == null || !clock.isInterpolating() || previousStep == clock.steps())
+            return;
+        if(previousTopLeftCorner == null)
+            previousTopLeftCorner = new MutableVector2();
+        previousTopLeftCorner.setXY(topLeftCorner);
+        previousStep = clock.steps();
+    }
+
+    /**
+     * Returns the object's acceleration. Like {@link #getVelocity()}, the vector is read-only
+     * and is {@link Vector2#ZERO} until a non-zero acceleration is first set.
      */
     public Vector2 getAcceleration() {
-        return acceleration;
+        return acceleration == null ? Vector2.ZERO : acceleration;
     }
 
     /**
      * Sets the object's acceleration
      */
     public void setAcceleration(Vector2 acceleration) {
-        this.acceleration.setXY(acceleration);
+        setAcceleration(acceleration.x(), acceleration.y());
     }
 
     /**
      * Sets the object's acceleration
-     */    public void setAcceleration(float x, float y) {
-        this.acceleration.setXY(x, y);
+     */
+    public void setAcceleration(float x, float y) {
+        if(acceleration == null && x == 0 && y == 0)
+            return;
+        mutableAcceleration().setXY(x, y);
+        onMotionSet(x, y);
     }
 
     /**
      * Sets the object's x-acceleration
      */
     public void setAccelerationX(float x) {
-        this.acceleration.setX(x);
+        if(acceleration == null && x == 0)
+            return;
+        mutableAcceleration().setX(x);
+        onMotionSet(x, 0);
     }
 
     /**
      * Sets the object's y-acceleration
      */
     public void setAccelerationY(float y) {
-        this.acceleration.setY(y);
+        if(acceleration == null && y == 0)
+            return;
+        mutableAcceleration().setY(y);
+        onMotionSet(0, y);
     }
 
     @Override
     public void update(float deltaTime) {
-        if(!acceleration.equals(Vector2.ZERO) && isAccelerationEnabled) {
+        if(acceleration != null && !acceleration.isZero() && isAccelerationEnabled) {
+            var velocity = mutableVelocity();
             velocity.setXY(
                     velocity.x() + acceleration.x() * deltaTime,
                     velocity.y() + acceleration.y() * deltaTime);
             //using "midpoint"/"improved Euler" integration
-            velocityToApply.selfAdd(getVelocity()).selfMult(0.5f);
+            mutableVelocityToApply().selfAdd(velocity).selfMult(0.5f);
         }
-        if(!velocityToApply.isZero()) {
-            velocityToApply.selfMult(deltaTime);
-            topLeftCorner.selfAdd(velocityToApply);
+        if(velocityToApply != null && !velocityToApply.isZero()) {
+            beforeMove();
+            topLeftCorner.selfAdd(velocityToApply.x()*deltaTime, velocityToApply.y()*deltaTime);
         }
-        velocityToApply.setXY(velocity);
+        if(velocity != null)
+            mutableVelocityToApply().setXY(velocity);
+    }
+
+    /**
+     * Does the object have a non-zero velocity or acceleration
+     */
+    public boolean isMoving() {
+        return (velocity != null && !velocity.isZero())
+                || (velocityToApply != null && !velocityToApply.isZero())
+                || (acceleration != null && !acceleration.isZero());
+    }
+
+    /**
+     * Zero the velocity and the acceleration, and re-enable the acceleration.
+     * The position and dimensions are left as they are.
+     */
+    public void resetMotion() {
+        if(velocity != null)
+            velocity.setXY(Vector2.ZERO);
+        if(velocityToApply != null)
+            velocityToApply.setXY(Vector2.ZERO);
+        if(acceleration != null)
+            acceleration.setXY(Vector2.ZERO);
+        isAccelerationEnabled = true;
     }
 
     /**
@@ -239,4 +506,28 @@ public class Transform implements Component {
     public void setAccelerationEnabled(boolean accelerationEnabled) {
         isAccelerationEnabled = accelerationEnabled;
     }
+
+    //a stationary object needs to be updated once it starts moving
+    private void onMotionSet(float x, float y) {
+        if(gameObject != null && (x != 0 || y != 0))
+            gameObject.requestUpdates();
+    }
+
+    private MutableVector2 mutableVelocity() {
+        if(velocity == null)
+            velocity = new MutableVector2();
+        return velocity;
+    }
+
+    private MutableVector2 mutableVelocityToApply() {
+        if(velocityToApply == null)
+            velocityToApply = new MutableVector2();
+        return velocityToApply;
+    }
+
+    private MutableVector2 mutableAcceleration() {
+        if(acceleration == null)
+            acceleration = new MutableVector2();
+        return acceleration;
+    }
 }
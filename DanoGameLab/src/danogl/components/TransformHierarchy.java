@@ -0,0 +1,55 @@
+package danogl.components;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Keeps the transforms that are attached to a parent (see {@link Transform#setParent})
+ * at their offsets from their parents. Children are repositioned in a single pass,
+ * ordered so that every parent is placed before its children, so chains of attachments
+ * are resolved in the same frame.
+ * <p>A GameManager owns one hierarchy, resolves it after the objects and the camera are
+ * updated and before collisions are handled, and makes it part of the game's
+ * {@link danogl.GameServices#current() current services}. Transforms attached while there
+ * is no current hierarchy join one when their object is added to a game's collection
+ * (a camera, when the game updates it), and transforms of objects removed from the
+ * collection leave it (see {@link Transform#joinGame()}).</p>
+ */
+public class TransformHierarchy {
+
+    private final List<Transform> children = new ArrayList<>();
+    private boolean isOrderDirty = false;
+
+    /**
+     * Move every attached transform to its offset from its parent.
+     */
+    public void resolve() {
+        if(isOrderDirty) {
+            children.sort(Comparator.comparingInt(Transform::depth));
+            isOrderDirty = false;
+        }
+        for(int i = 0; i < children.size(); i++)
+            children.get(i).resolveAttachment();
+    }
+
+    /**
+     * The number of attached transforms
+     */
+    public int size() {
+        return children.size();
+    }
+
+    //called by Transform when its parent is set
+    void attach(Transform child) {
+        children.add(child);
+        isOrderDirty = true;
+    }
+
+    //called by Transform when its parent is cleared or replaced
+    void detach(Transform child) {
+        children.remove(child);
+        //the depths of the child's descendants changed
+        isOrderDirty = true;
+    }
+}
@@ -11,9 +11,10 @@ import java.util.function.Consumer;
  * @param <T> The value's type
  * @author Dan Nirel
  */
-public class Transition<T> implements Component {
-    private Runnable onReachingFinalValue;
-    private static MutableVector2 calcVec = new MutableVector2();
+public class Transition<T> extends TransitionStepper {
+    //per thread, since transitions of different objects may be updated in parallel
+    private static final ThreadLocal<MutableVector2> calcVec =
+            ThreadLocal.withInitial(MutableVector2::new);
 
     /************* Inner Types **************/
     /**
@@ -61,6 +62,7 @@ public class Transition<T> implements Component {
      */
     public static final Interpolator<Vector2> LINEAR_INTERPOLATOR_VECTOR =
             (v1, v2, t)-> {
+                var calcVec = Transition.calcVec.get();
                 calcVec.setXY(LINEAR_INTERPOLATOR_FLOAT.interpolate(v1.x(), v2.x(), t),
                         LINEAR_INTERPOLATOR_FLOAT.interpolate(v1.y(), v2.y(), t));
                 return calcVec;
@@ -77,21 +79,17 @@ public class Transition<T> implements Component {
      */
     public static final Interpolator<Vector2> CUBIC_INTERPOLATOR_VECTOR =
             (v1, v2, t)-> {
+                var calcVec = Transition.calcVec.get();
                 calcVec.setXY(CUBIC_INTERPOLATOR_FLOAT.interpolate(v1.x(), v2.x(), t),
                         (CUBIC_INTERPOLATOR_FLOAT.interpolate(v1.y(), v2.y(), t)));
                 return calcVec;
             };
 
     /************* Fields **************/
-    private GameObject gameObjectToUpdateThrough;
     private final Consumer<T> setValueCallback;
     private final T initialValue;
     private final T finalValue;
     private final Interpolator<T> interpolator;
-    private final float transitionTime;
-    private final TransitionType transitionType;
-    private float t = 0;
-    private int tAdvancementFactor = 1;
 
     /************* Methods **************/
 
@@ -120,6 +118,8 @@ public class Transition<T> implements Component {
      * @param onReachingFinalValue A function to be called every time the transition reached the final value.
      * @see TransitionType
      * @see Interpolator
+     * @see FloatTransition
+     * @see Vector2Transition
      */
     public Transition(
             GameObject gameObjectToUpdateThrough,
@@ -130,44 +130,20 @@ public class Transition<T> implements Component {
             float transitionTime,
             TransitionType transitionType,
             Runnable onReachingFinalValue) {
-        this.onReachingFinalValue = onReachingFinalValue;
-        if(gameObjectToUpdateThrough == null || setValueCallback == null
-            || initialValue == null || finalValue == null
-            || interpolator == null || transitionType == null) {
+        super(gameObjectToUpdateThrough, transitionTime, transitionType, onReachingFinalValue);
+        if(setValueCallback == null || initialValue == null || finalValue == null
+            || interpolator == null) {
             throw new NullPointerException("None of Transition's parameters may be null except onReachingFinalValue");
         }
-        this.gameObjectToUpdateThrough = gameObjectToUpdateThrough;
         this.setValueCallback = setValueCallback;
         this.initialValue = initialValue;
         this.finalValue = finalValue;
         this.interpolator = interpolator;
-        this.transitionTime = transitionTime;
-        this.transitionType = transitionType;
-
-        gameObjectToUpdateThrough.addComponent(this);
+        start();
     }
 
     @Override
-    public void update(float deltaTime) {
-        t += tAdvancementFactor * deltaTime/transitionTime;
-        t = Math.max(Math.min(1, t), 0);
+    void apply(float t) {
         setValueCallback.accept(interpolator.interpolate(initialValue, finalValue, t));
-        if(t >= 1.0) {
-            if(onReachingFinalValue != null)
-                onReachingFinalValue.run();
-            switch(transitionType) {
-                case TRANSITION_BACK_AND_FORTH:
-                    tAdvancementFactor *= -1;
-                    break;
-                case TRANSITION_LOOP:
-                    t = 0;
-                    break;
-                case TRANSITION_ONCE:
-                    gameObjectToUpdateThrough.removeComponent(this);
-                    return;
-            }
-        }
-        if(t <= 0) //then going back and forth
-            tAdvancementFactor *= -1;
     }
 }
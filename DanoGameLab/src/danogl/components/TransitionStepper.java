@@ -0,0 +1,64 @@
+package danogl.components;
+
+import danogl.GameObject;
+
+/**
+ * package-private base of the transitions: advances the t parameter according to the
+ * transition's type and lets the concrete class apply the value at t.
+ */
+abstract class TransitionStepper implements Component {
+    private final GameObject gameObjectToUpdateThrough;
+    private final float transitionTime;
+    private final Transition.TransitionType transitionType;
+    private final Runnable onReachingFinalValue;
+    private float t = 0;
+    private int tAdvancementFactor = 1;
+
+    TransitionStepper(GameObject gameObjectToUpdateThrough, float transitionTime,
+                      Transition.TransitionType transitionType, Runnable onReachingFinalValue) {
+        if(gameObjectToUpdateThrough == null || transitionType == null)
+            throw new NullPointerException("None of Transition's parameters may be null except onReachingFinalValue");
+        this.gameObjectToUpdateThrough = gameObjectToUpdateThrough;
+        this.transitionTime = transitionTime;
+        this.transitionType = transitionType;
+        this.onReachingFinalValue = onReachingFinalValue;
+    }
+
+    /**
+     * Start the transition, by becoming a component of its GameObject.
+     * Called by the concrete constructors once they're done initializing.
+     */
+    void start() {
+        gameObjectToUpdateThrough.addComponent(this);
+    }
+
+    /**
+     * Apply the value at t
+     * @param t in the range [0,1]
+     */
+    abstract void apply(float t);
+
+    @Override
+    public void update(float deltaTime) {
+        t += tAdvancementFactor * deltaTime/transitionTime;
+        t = Math.max(Math.min(1, t), 0);
+        apply(t);
+        if(t >= 1.0) {
+            if(onReachingFinalValue != null)
+                onReachingFinalValue.run();
+            switch(transitionType) {
+                case TRANSITION_BACK_AND_FORTH:
+                    tAdvancementFactor *= -1;
+                    break;
+                case TRANSITION_LOOP:
+                    t = 0;
+                    break;
+                case TRANSITION_ONCE:
+                    gameObjectToUpdateThrough.removeComponent(this);
+                    return;
+            }
+        }
+        if(t <= 0) //then going back and forth
+            tAdvancementFactor *= -1;
+    }
+}
@@ -0,0 +1,57 @@
+package danogl.components;
+
+import danogl.GameObject;
+import danogl.util.MutableVector2;
+import danogl.util.Vector2;
+
+import java.util.function.Consumer;
+
+/**
+ * Transition a Vector2 over a range, interpolating each axis with a float interpolator.
+ * Unlike a Transition&lt;Vector2&gt; using the built-in vector interpolators,
+ * the computed value is held by the transition itself rather than shared,
+ * and no vector is created per update.
+ * @see Transition
+ */
+public class Vector2Transition extends TransitionStepper {
+    private final Consumer<Vector2> setValueCallback;
+    private final Vector2 initialValue;
+    private final Vector2 finalValue;
+    private final FloatTransition.Interpolator interpolator;
+    private final MutableVector2 value = new MutableVector2();
+
+    /**
+     * Create a new Vector2Transition, which is immediately applied.
+     * The parameters are as in {@link Transition#Transition}, except the interpolator,
+     * which is applied to each axis separately.
+     * Note that the vector passed to setValueCallback is reused by later updates; copy it
+     * (using getImmutableCopy) if it should be kept.
+     */
+    public Vector2Transition(
+            GameObject gameObjectToUpdateThrough,
+            Consumer<Vector2> setValueCallback,
+            Vector2 initialValue,
+            Vector2 finalValue,
+            FloatTransition.Interpolator interpolator,
+            float transitionTime,
+            Transition.TransitionType transitionType,
+            Runnable onReachingFinalValue) {
+        super(gameObjectToUpdateThrough, transitionTime, transitionType, onReachingFinalValue);
+        if(setValueCallback == null || initialValue == null || finalValue == null
+                || interpolator == null) {
+            throw new NullPointerException("None of Transition's parameters may be null except onReachingFinalValue");
+        }
+        this.setValueCallback = setValueCallback;
+        this.initialValue = initialValue.getImmutableCopy();
+        this.finalValue = finalValue.getImmutableCopy();
+        this.interpolator = interpolator;
+        start();
+    }
+
+    @Override
+    void apply(float t) {
+        value.setXY(interpolator.interpolate(initialValue.x(), finalValue.x(), t),
+                interpolator.interpolate(initialValue.y(), finalValue.y(), t));
+        setValueCallback.accept(value);
+    }
+}
@@ -0,0 +1,42 @@
+package danogl.gui;
+
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event for an asset read by {@link ImageReader} or {@link SoundReader}:
+ * how many bytes were read, and how much of the load was spent decoding them.
+ * Every load is recorded.
+ */
+@Name("danogl.AssetLoad")
+@Label("Asset Load")
+@Category({"DanoGameLab", "Assets"})
+@Description("An image or a sound read from disk or from within the jar")
+@Threshold("0 ms")
+class AssetLoadEvent extends Event {
+    static final String IMAGE = "image";
+    static final String SOUND = "sound";
+
+    @Label("Path")
+    String path;
+    @Label("Kind")
+    @Description("Image or sound")
+    String kind;
+    @Label("Bytes") @DataAmount
+    long bytes;
+    @Label("Decode Time") @Timespan
+    long decodeTime;
+
+    /**
+     * Commit the event, if enabled, with the load's details
+     */
+    void commitLoad(String kind, String path, long bytes, long decodeTime) {
+        end();
+        if(!shouldCommit())
+            return;
+        this.kind = kind;
+        this.path = path;
+        this.bytes = bytes;
+        this.decodeTime = decodeTime;
+        commit();
+    }
+}
@@ -0,0 +1,70 @@
+package danogl.gui;
+
+import danogl.util.RollingHistogram;
+
+/**
+ * Chooses the resolution frames are drawn at, as a fraction of the window's, according to
+ * how long the recent frames took compared to the frame budget: when drawing often misses
+ * the budget, the scale is lowered, and when there is plenty to spare, it's raised back,
+ * always within the configured bounds.
+ * <p>Decisions are taken every few frames on the slowest frames of the window (the 95th
+ * percentile), so a single spike doesn't change the resolution. The samples are dropped
+ * after every decision, so that a decision only sees frames drawn at the current scale.</p>
+ */
+class DynamicResolution {
+    private static final int FRAMES_BETWEEN_DECISIONS = 30;
+    private static final long BUCKET_WIDTH_NANOS = 250_000;
+    private static final int BUCKETS = 400;
+    private static final double DECISION_PERCENTILE = 95;
+    //lower the scale above this fraction of the budget, raise it below the other one
+    private static final double LOWER_ABOVE = 0.9;
+    private static final double RAISE_BELOW = 0.6;
+    private static final float LOWER_STEP = 0.1f;
+    private static final float RAISE_STEP = 0.05f;
+
+    private final RollingHistogram frameTimes =
+            new RollingHistogram(FRAMES_BETWEEN_DECISIONS, BUCKET_WIDTH_NANOS, BUCKETS);
+    private float minScale = 1, maxScale = 1;
+    private float scale = 1;
+
+    /**
+     * Set the bounds of the scale. Equal bounds fix the scale.
+     * @param minScale the lowest scale, above 0
+     * @param maxScale the highest scale, up to 1
+     */
+    synchronized void setBounds(float minScale, float maxScale) {
+        if(minScale <= 0 || minScale > maxScale || maxScale > 1)
+            throw new IllegalArgumentException(
+                    "Invalid resolution scale bounds: " + minScale + ", " + maxScale);
+        this.minScale = minScale;
+        this.maxScale = maxScale;
+        scale = Math.min(Math.max(scale, minScale), maxScale);
+        frameTimes.clear();
+    }
+
+    /**
+     * The scale the next frame should be drawn at, 1 for the window's resolution
+     */
+    synchronized float scale() {
+        return scale;
+    }
+
+    /**
+     * Account for a drawn frame, possibly changing the scale of the next ones
+     * @param frameTimeNanos the time it took to produce the frame
+     * @param budgetNanos the time a frame should take at most
+     */
+    synchronized void frameDrawn(long frameTimeNanos, long budgetNanos) {
+        if(minScale == maxScale)
+            return;
+        frameTimes.record(frameTimeNanos);
+        if(frameTimes.count() < FRAMES_BETWEEN_DECISIONS)
+            return;
+        long slowFrameTime = frameTimes.percentile(DECISION_PERCENTILE);
+        if(slowFrameTime > LOWER_ABOVE * budgetNanos)
+            scale = Math.max(minScale, scale - LOWER_STEP);
+        else if(slowFrameTime < RAISE_BELOW * budgetNanos)
+            scale = Math.min(maxScale, scale + RAISE_STEP);
+        frameTimes.clear();
+    }
+}
@@ -0,0 +1,71 @@
+package danogl.gui;
+
+import danogl.util.FrameProfiler;
+import danogl.util.FrameProfiler.Phase;
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event for a frame, from its start to the end of its idle work, with
+ * the time every phase of the frame took (as measured by the game's {@link FrameProfiler};
+ * phases are 0 while the profiler is disabled). By default only frames longer than the
+ * threshold are recorded, so that a recording shows the stutters; lower the threshold in the
+ * recording's settings to record every frame.
+ * <p>When rendering is pipelined, rasterizing and flipping run on the render thread and are
+ * counted in the frame during which they ended.</p>
+ */
+@Name("danogl.Frame")
+@Label("Frame")
+@Category({"DanoGameLab", "Frames"})
+@Description("A frame of the game, with the time its phases took")
+@StackTrace(false)
+@Threshold("10 ms")
+class FrameEvent extends Event {
+    @Label("Updates")
+    @Description("The number of times the game was updated in the frame")
+    int updates;
+    @Label("Timers") @Timespan
+    long timers;
+    @Label("Object Updates") @Timespan
+    long objectUpdates;
+    @Label("Component Updates") @Timespan
+    long componentUpdates;
+    @Label("Camera Update") @Timespan
+    long cameraUpdate;
+    @Label("Transforms") @Timespan
+    long transforms;
+    @Label("Collection Flush") @Timespan
+    long collectionFlush;
+    @Label("Collisions") @Timespan
+    long collisions;
+    @Label("Render") @Timespan
+    long render;
+    @Label("Rasterize") @Timespan
+    long rasterize;
+    @Label("Buffer Flip") @Timespan
+    long bufferFlip;
+    @Label("Idle Work") @Timespan
+    long idleWork;
+
+    /**
+     * End the event, and commit it with the frame's phases if it passes the threshold
+     * @param updates the number of times the game was updated in the frame
+     */
+    void commitFrame(int updates, FrameProfiler profiler) {
+        end();
+        if(!shouldCommit())
+            return;
+        this.updates = updates;
+        timers = profiler.frameNanos(Phase.TIMERS);
+        objectUpdates = profiler.frameNanos(Phase.OBJECT_UPDATES);
+        componentUpdates = profiler.frameNanos(Phase.COMPONENT_UPDATES);
+        cameraUpdate = profiler.frameNanos(Phase.CAMERA_UPDATE);
+        transforms = profiler.frameNanos(Phase.TRANSFORMS);
+        collectionFlush = profiler.frameNanos(Phase.COLLECTION_FLUSH);
+        collisions = profiler.frameNanos(Phase.COLLISIONS);
+        render = profiler.frameNanos(Phase.RENDER);
+        rasterize = profiler.frameNanos(Phase.RASTERIZE);
+        bufferFlip = profiler.frameNanos(Phase.BUFFER_FLIP);
+        idleWork = profiler.frameNanos(Phase.IDLE_WORK);
+        commit();
+    }
+}
@@ -0,0 +1,94 @@
+package danogl.gui;
+
+import danogl.util.RollingHistogram;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Waits for the start of the next frame, and keeps statistics of the intervals between frames.
+ * <p>Sleeping is only accurate to the scheduler's granularity, which can be a millisecond or
+ * more, so the pacer parks until slightly before the deadline, then yields and finally spins
+ * through the remainder.</p>
+ */
+class FramePacer {
+    //how long before the deadline to stop parking
+    private static final long PARK_MARGIN_NANOS = 1_500_000;
+    //how long before the deadline to stop yielding and spin
+    private static final long SPIN_MARGIN_NANOS = 100_000;
+    private static final int INTERVALS_WINDOW = 256;
+    private static final long INTERVALS_BUCKET_WIDTH_NANOS = 250_000;
+    private static final int INTERVALS_BUCKETS = 400;
+
+    private final RollingHistogram frameIntervals =
+            new RollingHistogram(INTERVALS_WINDOW, INTERVALS_BUCKET_WIDTH_NANOS, INTERVALS_BUCKETS);
+    private long timeAtPrevFrameStart = -1;
+    private volatile Thread waitingThread;
+    private volatile boolean isWoken = false;
+
+    /**
+     * Record the start of a frame
+     * @param timeAtFrameStart the frame's start time, according to System.nanoTime()
+     */
+    void frameStarted(long timeAtFrameStart) {
+        if(timeAtPrevFrameStart >= 0)
+            frameIntervals.record(timeAtFrameStart - timeAtPrevFrameStart);
+        timeAtPrevFrameStart = timeAtFrameStart;
+    }
+
+    /**
+     * Forget the previous frame, for example when a new game starts. Statistics are kept.
+     */
+    void restart() {
+        timeAtPrevFrameStart = -1;
+    }
+
+    /**
+     * Wait until the given time. Returns immediately if it already passed.
+     * @param deadline a time according to System.nanoTime()
+     */
+    void waitUntil(long deadline) {
+        waitUntil(deadline, false);
+    }
+
+    /**
+     * Wait until the given time, or, if wakeable, until {@link #wake()} is called.
+     * Returns immediately if the time already passed.
+     * @param deadline a time according to System.nanoTime()
+     * @param isWakeable whether a call to wake ends the wait
+     */
+    void waitUntil(long deadline, boolean isWakeable) {
+        waitingThread = Thread.currentThread();
+        long remaining;
+        while((remaining = deadline - System.nanoTime()) > PARK_MARGIN_NANOS
+                && !(isWakeable && isWoken))
+            LockSupport.parkNanos(remaining - PARK_MARGIN_NANOS);
+        while((remaining = deadline - System.nanoTime()) > 0
+                && !(isWakeable && isWoken)) {
+            if(remaining > SPIN_MARGIN_NANOS)
+                Thread.yield();
+            else
+                Thread.onSpinWait();
+        }
+        waitingThread = null;
+        if(isWakeable)
+            isWoken = false;
+    }
+
+    /**
+     * End the current wakeable wait, or the next one if none is in progress.
+     * May be called from any thread.
+     */
+    void wake() {
+        isWoken = true;
+        Thread thread = waitingThread;
+        if(thread != null)
+            LockSupport.unpark(thread);
+    }
+
+    /**
+     * The intervals between the starts of the recent frames
+     */
+    RollingHistogram frameIntervals() {
+        return frameIntervals;
+    }
+}
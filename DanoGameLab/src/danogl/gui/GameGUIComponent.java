@@ -2,17 +2,25 @@ package danogl.gui;
 
 import danogl.GameManager;
 import danogl.GameObject;
+import danogl.components.CoordinateSpace;
 import danogl.gui.rendering.ImageRenderable;
 import danogl.gui.rendering.OvalRenderable;
+import danogl.gui.rendering.RenderCommandBuffer;
 import danogl.gui.rendering.Renderable;
+import danogl.util.FrameProfiler;
+import danogl.util.RollingHistogram;
 import danogl.util.Vector2;
 
 import javax.swing.*;
 import java.awt.*;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 import java.awt.event.KeyEvent;
+import java.awt.event.WindowAdapter;
 import java.awt.event.WindowEvent;
 import java.awt.image.BufferStrategy;
 import java.awt.image.BufferedImage;
+import java.io.IOException;
 import java.util.ConcurrentModificationException;
 
 /**
@@ -29,12 +37,34 @@ public class GameGUIComponent extends Canvas implements WindowController {
     private static final float LOADSCREEN_FRAMES = 20;
     //if the game is running an FPS less than 1/MAX_FRAME_TIME, it will be slowed down
     private static final float MAX_FRAME_TIME = 0.1f;
+    //when power saving, the frame-rate of a hidden window or a paused game
+    private static final int POWER_SAVING_FRAMERATE = 15;
+    //when power saving, how long after the last input the full frame-rate is kept
+    private static final long INPUT_GRACE_NANOS = 1_000_000_000L;
+    //when power saving, an unchanged frame is still presented this often
+    private static final long MAX_NANOS_BETWEEN_PRESENTED_FRAMES = 1_000_000_000L;
+    //games that draw directly in render can't be recorded, so their frames are always drawn
+    private static final ClassValue<Boolean> overridesRender = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("render", Graphics2D.class).getDeclaringClass() != GameManager.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
 
-    private int targetFramerate = 120;
+    //read by the render thread too, when rendering is pipelined
+    private volatile int targetFramerate = 120;
+    //0 if update is called once per frame with the frame's deltaTime
+    private float fixedTimestep = 0;
+    private float unsimulatedTime = 0;
     private int minIdleTimeInMillis = INITIAL_MIN_IDLE_TIME_IN_MILLIS;
     private JFrame window;
     private float timescale = 1;
-    private boolean isRunning = false;
+    //read by the render thread too, when rendering is pipelined
+    private volatile boolean isRunning = false;
     private GameManager gameManager;
     private int fpsHits = 0;
     private Vector2 windowDimensions;
@@ -47,6 +77,24 @@ public class GameGUIComponent extends Canvas implements WindowController {
     private Vector2 cursorOffset;
     private KeyAdapterUserInputListener inputListener;
     private BufferStrategy bufferStrategy;
+    private final FramePacer framePacer = new FramePacer();
+    //null unless frames are rasterized on a render thread
+    private RenderPipeline renderPipeline;
+    private boolean isPowerSaving = false;
+    //when power saving, frames are recorded to be compared with the last presented one
+    private final RenderCommandBuffer recordedFrame = new RenderCommandBuffer();
+    private final RenderCommandBuffer presentedFrame = new RenderCommandBuffer();
+    private long timeAtLastPresentedFrame;
+    private volatile boolean mustPresentFrame = true;
+    private volatile long timeAtLastInput;
+    private final DynamicResolution dynamicResolution = new DynamicResolution();
+    //the image frames are drawn into when drawn at a lower resolution; used by the drawing thread
+    private BufferedImage scaledFrame;
+    private boolean isDrawingScaled;
+    private long timeAtCurrentFrameStart;
+    //the file the current game is to be recorded into, until its first frame
+    private String inputRecordingPath;
+    private volatile InputRecorder inputRecorder;
 
     public GameGUIComponent(
             GameManager gameManager,
@@ -83,7 +131,21 @@ public class GameGUIComponent extends Canvas implements WindowController {
         requestFocusInWindow();
         createBufferStrategy(2);
         bufferStrategy = getBufferStrategy();
+        //the window's contents must be redrawn when it's shown again
+        window.addWindowStateListener(e -> mustPresentFrame = true);
+        addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentShown(ComponentEvent e) { mustPresentFrame = true; }
+            @Override
+            public void componentResized(ComponentEvent e) { mustPresentFrame = true; }
+        });
+        //the process exits once the window is closed, so the recording is completed first
+        window.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosing(WindowEvent e) { stopRecording(); }
+        });
         initLoadScreen();
+        gameManager.frameProfiler().registerMBean(windowTitle);
     }
 
     public void run() {
@@ -93,7 +155,9 @@ public class GameGUIComponent extends Canvas implements WindowController {
 
     public void runSingleGame() {
         timescale = 1;
+        unsimulatedTime = 0;
         inputListener = new KeyAdapterUserInputListener();
+        inputListener.setOnInput(this::inputReceived);
         addKeyListener(inputListener);
         addMouseListener(inputListener);
         addMouseMotionListener(inputListener);
@@ -112,24 +176,43 @@ public class GameGUIComponent extends Canvas implements WindowController {
 
         //game loop
         long timAtPrevFrameStart = System.nanoTime();
+        framePacer.restart();
         isRunning = true;
+        startRecording();
         while(isRunning) {
+            var frameEvent = new FrameEvent();
+            frameEvent.begin();
             long timeAtFrameStart = System.nanoTime();
+            timeAtCurrentFrameStart = timeAtFrameStart;
+            gameManager.frameProfiler().beginFrame();
+            framePacer.frameStarted(timeAtFrameStart);
             float deltaTime = (float)((timeAtFrameStart-timAtPrevFrameStart)/1_000_000_000D);
             timAtPrevFrameStart = timeAtFrameStart;
+            inputListener.beginFrame();
+            if(inputRecorder != null) {
+                try {
+                    inputRecorder.beginFrame(deltaTime, inputListener);
+                }
+                catch (IOException e) {
+                    recordingFailed(e);
+                }
+            }
             if(inputListener.wasKeyReleasedThisFrame(exitButton))
                 closeWindow();
             if(inputListener.wasKeyReleasedThisFrame(pauseButton))
                 isPaused = !isPaused;
-            if(!isPaused)
-                gameManager.update(Math.min(MAX_FRAME_TIME, deltaTime * timescale));
+            int updates = isPaused ? 0 : simulate(Math.min(MAX_FRAME_TIME, deltaTime * timescale));
             inputListener.update(deltaTime);
-            render();
-            if(!isRunning)
+            if(!isPowerSaving || !isHidden())
+                render();
+            if(!isRunning) {
+                recordIdleWork(0);
                 continue;
-            long frameTime = System.nanoTime()-timeAtFrameStart;
-            idleTime(frameTime);
+            }
+            gameManager.frameProfiler().lap(FrameProfiler.Phase.FRAME, timeAtFrameStart);
+            idleTime(timeAtFrameStart, frameEvent, updates);
         }
+        stopRecording();
         removeKeyListener(inputListener);
     }
 
@@ -170,6 +253,51 @@ public class GameGUIComponent extends Canvas implements WindowController {
         this.targetFramerate = targetFramerate;
     }
 
+    @Override
+    public RollingHistogram getFrameIntervals() {
+        return framePacer.frameIntervals();
+    }
+
+    @Override
+    public void setFixedTimestep(float step) {
+        fixedTimestep = Math.max(0, step);
+        unsimulatedTime = 0;
+    }
+
+    @Override
+    public void setPipelinedRendering(boolean isPipelined) {
+        if(isPipelined && renderPipeline == null) {
+            renderPipeline = new RenderPipeline(buffer -> rasterize(buffer, System.nanoTime()));
+        }
+        else if(!isPipelined && renderPipeline != null) {
+            renderPipeline.stop();
+            renderPipeline = null;
+        }
+    }
+
+    @Override
+    public void setPowerSaving(boolean isPowerSaving) {
+        this.isPowerSaving = isPowerSaving;
+        mustPresentFrame = true;
+    }
+
+    @Override
+    public void setDynamicResolution(float minScale, float maxScale) {
+        dynamicResolution.setBounds(minScale, maxScale);
+    }
+
+    @Override
+    public float getResolutionScale() {
+        return dynamicResolution.scale();
+    }
+
+    @Override
+    public void recordInput(String path) {
+        if(isRunning)
+            throw new IllegalStateException("Input can only be recorded from the start of a game");
+        inputRecordingPath = path;
+    }
+
     @Override
     public void setPauseButton(int keyFromKeyEvent) {
         pauseButton = keyFromKeyEvent;
@@ -220,19 +348,35 @@ public class GameGUIComponent extends Canvas implements WindowController {
         setCursor(blankCursor);
     }
 
-    private void render() {
-        Graphics g = bufferStrategy.getDrawGraphics();
-        Graphics2D g2d = ((Graphics2D)g);
-
-        g2d.setBackground(Color.WHITE);
-        g2d.clearRect(0,0,(int)windowDimensions.x(),(int)windowDimensions.y());
-        g2d.setColor(Color.BLACK);
+    //returns the number of updates
+    private int simulate(float deltaTime) {
+        if(fixedTimestep <= 0) {
+            gameManager.update(deltaTime);
+            return 1;
+        }
+        int updates = 0;
+        unsimulatedTime += deltaTime;
+        while(unsimulatedTime >= fixedTimestep) {
+            gameManager.update(fixedTimestep);
+            unsimulatedTime -= fixedTimestep;
+            updates++;
+        }
+        return updates;
+    }
 
-        g2d.setRenderingHint(
-                RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    private void render() {
+        if(renderPipeline != null || (isPowerSaving && !rendersDirectly())) {
+            renderRecorded();
+            return;
+        }
+        Graphics2D g2d = beginDrawing();
 
         if(gameManager != null && isRunning) {
+            gameManager.setRenderInterpolation(fixedTimestep > 0,
+                    fixedTimestep > 0 ? unsimulatedTime / fixedTimestep : 1);
+            long renderStart = gameManager.frameProfiler().start();
             gameManager.render(g2d);
+            gameManager.frameProfiler().lap(FrameProfiler.Phase.RENDER, renderStart);
             if (renderableCursor != null) {
                 renderableCursor.render(
                         g2d,
@@ -242,23 +386,189 @@ public class GameGUIComponent extends Canvas implements WindowController {
         }
         if(loadScreen != null) {
             loadScreen.render(g2d);
-            loadScreen.update(1);
-            if(loadScreen.renderer().getOpaqueness() <= 0)
-                loadScreen = null;
+            updateLoadScreen();
+        }
+        endDrawing(g2d, timeAtCurrentFrameStart);
+    }
+
+    private boolean rendersDirectly() {
+        return gameManager != null && overridesRender.get(gameManager.getClass());
+    }
+
+    //records the frame, then hands it to the render thread or rasterizes it here.
+    //when power saving, a frame identical to the last presented one is dropped
+    private void renderRecorded() {
+        RenderCommandBuffer buffer =
+                renderPipeline != null ? renderPipeline.beginWrite() : recordedFrame;
+        buffer.clear();
+        record(buffer);
+        if(isPowerSaving) {
+            long now = System.nanoTime();
+            if(!mustPresentFrame && !bufferStrategy.contentsLost()
+                    && now - timeAtLastPresentedFrame < MAX_NANOS_BETWEEN_PRESENTED_FRAMES
+                    && buffer.contentEquals(presentedFrame))
+                return;
+            mustPresentFrame = false;
+            timeAtLastPresentedFrame = now;
+            presentedFrame.copyFrom(buffer);
+        }
+        if(renderPipeline != null)
+            renderPipeline.publish();
+        else
+            rasterize(buffer, timeAtCurrentFrameStart);
+    }
+
+    private void record(RenderCommandBuffer buffer) {
+        if(gameManager != null && isRunning) {
+            gameManager.setRenderInterpolation(fixedTimestep > 0,
+                    fixedTimestep > 0 ? unsimulatedTime / fixedTimestep : 1);
+            long recordStart = gameManager.frameProfiler().start();
+            gameManager.record(buffer);
+            gameManager.frameProfiler().lap(FrameProfiler.Phase.RENDER, recordStart);
+            if (renderableCursor != null) {
+                buffer.add(renderableCursor,
+                        inputListener.getMouseScreenPos().add(cursorOffset), cursorDimensions,
+                        0, false, false, 1, CoordinateSpace.CAMERA_COORDINATES);
+            }
+        }
+        if(loadScreen != null) {
+            loadScreen.record(buffer, null);
+            updateLoadScreen();
+        }
+    }
+
+    //called on the render thread, or on the game's thread when not pipelined.
+    //the frame's time is measured from timeAtWorkStart
+    private void rasterize(RenderCommandBuffer buffer, long timeAtWorkStart) {
+        Graphics2D g2d = beginDrawing();
+        long rasterizeStart = gameManager.frameProfiler().start();
+        buffer.rasterize(g2d);
+        gameManager.frameProfiler().lap(FrameProfiler.Phase.RASTERIZE, rasterizeStart);
+        endDrawing(g2d, timeAtWorkStart);
+    }
+
+    //returns the graphics to draw the frame with: at a lower resolution, into scaledFrame
+    private Graphics2D beginDrawing() {
+        float scale = dynamicResolution.scale();
+        isDrawingScaled = scale < 1;
+        Graphics2D g2d;
+        if(isDrawingScaled) {
+            int width = (int)Math.ceil(windowDimensions.x() * scale);
+            int height = (int)Math.ceil(windowDimensions.y() * scale);
+            if(scaledFrame == null || scaledFrame.getWidth() != width || scaledFrame.getHeight() != height)
+                scaledFrame = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            g2d = scaledFrame.createGraphics();
+            g2d.scale(scale, scale);
+        }
+        else {
+            g2d = (Graphics2D)bufferStrategy.getDrawGraphics();
+        }
+
+        g2d.setBackground(Color.WHITE);
+        g2d.clearRect(0,0,(int)windowDimensions.x(),(int)windowDimensions.y());
+        g2d.setColor(Color.BLACK);
+
+        g2d.setRenderingHint(
+                RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        return g2d;
+    }
+
+    private void endDrawing(Graphics2D g2d, long timeAtWorkStart) {
+        g2d.dispose();
+        long flipStart = gameManager.frameProfiler().start();
+        if(isDrawingScaled) {
+            //upscale to the window
+            Graphics2D screen = (Graphics2D)bufferStrategy.getDrawGraphics();
+            screen.setRenderingHint(
+                    RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            screen.drawImage(scaledFrame, 0, 0,
+                    (int)windowDimensions.x(), (int)windowDimensions.y(), null);
+            screen.dispose();
         }
-        g.dispose();
         bufferStrategy.show(); // flip screen
+        gameManager.frameProfiler().lap(FrameProfiler.Phase.BUFFER_FLIP, flipStart);
+        if(isRunning)
+            dynamicResolution.frameDrawn(System.nanoTime() - timeAtWorkStart,
+                    1_000_000_000L/ targetFramerate);
+    }
+
+    private void startRecording() {
+        if(inputRecordingPath == null)
+            return;
+        try {
+            inputRecorder = new InputRecorder(
+                    inputRecordingPath, gameManager.randomSeed(), windowDimensions);
+        }
+        catch (IOException e) {
+            showMessageBox(String.format(
+                    "Failed to record input to '%s': %s", inputRecordingPath, e.getMessage()));
+        }
+        inputRecordingPath = null;
     }
 
-    private void idleTime(long frameTime) {
+    private void recordIdleWork(int idleSlices) {
+        if(inputRecorder == null)
+            return;
+        try {
+            inputRecorder.endFrame(idleSlices);
+        }
+        catch (IOException e) {
+            recordingFailed(e);
+        }
+    }
+
+    private void recordingFailed(IOException e) {
+        stopRecording();
+        showMessageBox("Failed to record input: " + e.getMessage());
+    }
+
+    //may be called on the event dispatch thread
+    private void stopRecording() {
+        var recorder = inputRecorder;
+        if(recorder == null)
+            return;
+        inputRecorder = null;
+        try {
+            recorder.close();
+        }
+        catch (IOException e) {
+            System.err.println("Failed to complete the input recording: " + e.getMessage());
+        }
+    }
+
+    private void inputReceived() {
+        timeAtLastInput = System.nanoTime();
+        framePacer.wake();
+    }
+
+    private boolean isHidden() {
+        return !window.isShowing() || (window.getExtendedState() & Frame.ICONIFIED) != 0;
+    }
+
+    //when power saving, hidden windows and paused games are run at a low frame-rate,
+    //unless there was recent input
+    private boolean isFramerateReduced() {
+        return isPowerSaving && (isPaused || isHidden())
+                && System.nanoTime() - timeAtLastInput > INPUT_GRACE_NANOS;
+    }
+
+    private void updateLoadScreen() {
+        loadScreen.update(1);
+        if(loadScreen.renderer().getOpaqueness() <= 0)
+            loadScreen = null;
+    }
+
+    private void idleTime(long timeAtFrameStart, FrameEvent frameEvent, int updates) {
         //in order to reach a frame rate of 100 for example, each
         //frame should take 10 millis (1000/100=10).
-        //by now the frame already took frameTime (supplied in nanoseconds)
-        //so sleep the remainder. Painting, which is executed on a helper thread,
-        //is expected to run during this time.
-        double millisToSleep = 1000D/ targetFramerate - frameTime/1_000_000D;
-        millisToSleep = Math.max(millisToSleep, minIdleTimeInMillis);
-        if(millisToSleep == minIdleTimeInMillis) {
+        //the game's idle work can use the remainder, minus the minimal idle time,
+        //which is left as headroom for waiting accurately
+        long deadline = timeAtFrameStart + 1_000_000_000L/ targetFramerate;
+        long idleWorkBudget = deadline - System.nanoTime() - minIdleTimeInMillis*1_000_000L;
+        recordIdleWork(gameManager.runIdleWork(Math.max(0, idleWorkBudget)));
+        frameEvent.commitFrame(updates, gameManager.frameProfiler());
+        //idle work only uses spare time, so doesn't count against the frame-rate
+        if(idleWorkBudget <= 0) {
             fpsHits++;
             if(fpsHits == FPS_HITS_BEFORE_WARNING_USER) {
                 System.err.println("Warning: your frames are taking " +
@@ -270,10 +580,12 @@ public class GameGUIComponent extends Canvas implements WindowController {
                     "hardware.");
             }
         }
-        try {
-            Thread.sleep((int)millisToSleep);
-        } catch (InterruptedException e) {
-            System.err.println("Failed to sleep: " + e.getMessage());
-        }
+        //then wait for what's left, if anything: a late frame is followed immediately
+        //by the next one. Painting, which is executed on a helper thread,
+        //is expected to run during this time.
+        framePacer.waitUntil(deadline);
+        //a reduced frame-rate waits longer, but input ends the wait right away
+        if(isFramerateReduced())
+            framePacer.waitUntil(timeAtFrameStart + 1_000_000_000L/ POWER_SAVING_FRAMERATE, true);
     }
 }
@@ -0,0 +1,392 @@
+package danogl.gui;
+
+import danogl.GameManager;
+import danogl.gui.rendering.Renderable;
+import danogl.util.FrameProfiler;
+import danogl.util.RollingHistogram;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Runs a GameManager without a window, for servers, automated tests and benchmarks:
+ * the counterpart of {@link GameGUIComponent} for environments without a screen, a keyboard
+ * or an audio device.
+ * <p>The runner supplies the game with an ImageReader, a muted SoundReader and a
+ * {@link ScriptedInputListener}, whose input can be set by an {@link InputScript} before
+ * every frame. Frames are run as fast as possible, either with the real time that passed
+ * (clamped, as in a window) or, with {@link #setFrameTime(float)}, with a fixed time, which
+ * makes a run independent of the machine's speed. Frames can optionally be rendered into an
+ * image (see {@link #setRendering(boolean)}).</p>
+ * <p>A game recorded in a window can be replayed exactly (see {@link #replay(InputReplay)}),
+ * for example to measure the effect of a change on the same session.</p>
+ * <p>Mouse actions of GameObjects (see {@link danogl.gui.mouse.MouseAction}) are driven by
+ * the window's mouse events, so aren't triggered by scripted input.</p>
+ * <p>Dialogs are printed to the standard error stream, and yes-no dialogs are answered
+ * according to {@link #setDialogAnswer(boolean)}.</p>
+ */
+public class HeadlessGameRunner implements WindowController {
+    //as in a window: if the game is running slower than 1/MAX_FRAME_TIME, it is slowed down
+    private static final float MAX_FRAME_TIME = 0.1f;
+    private static final int FRAME_INTERVALS_WINDOW = 256;
+    private static final long FRAME_INTERVALS_BUCKET_WIDTH_NANOS = 250_000;
+    private static final int FRAME_INTERVALS_BUCKETS = 400;
+
+    /**
+     * Sets the input of a frame, before it's updated
+     */
+    @FunctionalInterface
+    public static interface InputScript {
+        /**
+         * @param frame the number of the frame in the current game, starting from 0
+         * @param input the game's input; input of the previous frame was already forgotten
+         */
+        void beforeFrame(long frame, ScriptedInputListener input);
+    }
+
+    private final GameManager gameManager;
+    private final Vector2 windowDimensions;
+    private final ScriptedInputListener inputListener = new ScriptedInputListener();
+    private final RollingHistogram frameIntervals = new RollingHistogram(
+            FRAME_INTERVALS_WINDOW, FRAME_INTERVALS_BUCKET_WIDTH_NANOS, FRAME_INTERVALS_BUCKETS);
+    private InputScript inputScript;
+    private InputReplay replay;
+    private float frameTime = 0;
+    private float fixedTimestep = 0;
+    private float unsimulatedTime = 0;
+    private float timescale = 1;
+    private long idleWorkBudgetNanos = 0;
+    private boolean dialogAnswer = false;
+    private boolean isRendering = false;
+    private BufferedImage frameImage;
+    private boolean isRunning = false;
+    private boolean isClosed = false;
+    private boolean isPaused = false;
+    private int exitButton = KeyEvent.VK_ESCAPE;
+    private int pauseButton = -1;
+    private Renderable renderableCursor;
+    private Vector2 cursorDimensions = Vector2.ZERO;
+    private long frame = 0;
+    private long timeAtPrevFrameStart;
+
+    /**
+     * Create a runner for the given game, which is initialized with the first frame run.
+     * @param gameManager the game
+     * @param windowDimensions the dimensions in pixels of the window the game is shown as
+     *                         being run in
+     */
+    public HeadlessGameRunner(GameManager gameManager, Vector2 windowDimensions) {
+        this.gameManager = gameManager;
+        this.windowDimensions = windowDimensions;
+    }
+
+    /**
+     * Set the code that sets the input of every frame. Null (the default) leaves the input
+     * to whoever holds the {@link #inputListener()}.
+     */
+    public void setInputScript(InputScript inputScript) {
+        this.inputScript = inputScript;
+    }
+
+    /**
+     * The game's input
+     */
+    public ScriptedInputListener inputListener() {
+        return inputListener;
+    }
+
+    /**
+     * Advance every frame by the given time (before the time scale is applied), rather than
+     * by the real time that passed.
+     * @param frameTime the time of a frame, in seconds, or 0 (the default) for the real time
+     */
+    public void setFrameTime(float frameTime) {
+        this.frameTime = Math.max(0, frameTime);
+    }
+
+    /**
+     * Set the time the game's idle work may take after every frame (see
+     * {@link GameManager#runIdleWork(long)}). By default it's 0, which still runs a single slice
+     * of the pending work every frame.
+     */
+    public void setIdleWorkBudget(long budgetNanos) {
+        idleWorkBudgetNanos = Math.max(0, budgetNanos);
+    }
+
+    /**
+     * Replay a recorded game: the game is restarted with the recorded seed, and is given
+     * every frame the recorded time, input and number of slices of idle work, instead of
+     * the real time, the input script's input and the idle-work budget.
+     * The window is closed when the recording ends.
+     * @param replay the recording, or null to stop replaying
+     * @throws IllegalArgumentException if the game was recorded in a window of other dimensions
+     */
+    public void replay(InputReplay replay) {
+        if(replay != null && !replay.windowDimensions().equals(windowDimensions))
+            throw new IllegalArgumentException("The game was recorded in a window of "
+                    + replay.windowDimensions() + " rather than " + windowDimensions);
+        this.replay = replay;
+        isRunning = false;
+    }
+
+    /**
+     * Set the answer to the game's yes-no dialogs. False by default.
+     */
+    public void setDialogAnswer(boolean answer) {
+        dialogAnswer = answer;
+    }
+
+    /**
+     * Whether to render every frame into {@link #getFrameImage()}. False by default.
+     */
+    public void setRendering(boolean isRendering) {
+        this.isRendering = isRendering;
+    }
+
+    /**
+     * The last rendered frame, or null if none was rendered yet
+     */
+    public BufferedImage getFrameImage() {
+        return frameImage;
+    }
+
+    /**
+     * The number of frames run in the current game
+     */
+    public long frame() {
+        return frame;
+    }
+
+    /**
+     * Has the game closed the window
+     */
+    public boolean isClosed() {
+        return isClosed;
+    }
+
+    /**
+     * Run the given number of frames, initializing the game first if it wasn't yet, or
+     * if it was reset. Stops early if the game is reset or closes the window.
+     * @return the number of frames run
+     */
+    public long runFrames(long frames) {
+        long framesRun = 0;
+        while(framesRun < frames && !isClosed) {
+            if(!isRunning)
+                startGame();
+            runFrame();
+            framesRun++;
+        }
+        return framesRun;
+    }
+
+    /**
+     * Run frames until the game closes the window, resetting the game whenever it asks to.
+     */
+    public void run() {
+        while(!isClosed)
+            runFrames(Long.MAX_VALUE);
+    }
+
+    @Override
+    public void closeWindow() {
+        isRunning = false;
+        isClosed = true;
+    }
+
+    @Override
+    public void resetGame() {
+        isRunning = false;
+    }
+
+    @Override
+    public void showMessageBox(String msg) {
+        System.err.println(msg);
+    }
+
+    @Override
+    public boolean openYesNoDialog(String msg) {
+        System.err.println(msg + " " + (dialogAnswer ? "yes" : "no"));
+        return dialogAnswer;
+    }
+
+    @Override
+    public double getTimeScale() { return timescale; }
+    @Override
+    public void setTimeScale(float value) { timescale = value; }
+
+    @Override
+    public Vector2 getWindowDimensions() {
+        return windowDimensions;
+    }
+
+    /**
+     * Ignored: frames are run as fast as possible
+     */
+    @Override
+    public void setTargetFramerate(int targetFramerate) { }
+
+    @Override
+    public RollingHistogram getFrameIntervals() {
+        return frameIntervals;
+    }
+
+    @Override
+    public void setFixedTimestep(float step) {
+        fixedTimestep = Math.max(0, step);
+        unsimulatedTime = 0;
+    }
+
+    /**
+     * Ignored: frames are rendered on the runner's thread
+     */
+    @Override
+    public void setPipelinedRendering(boolean isPipelined) { }
+
+    /**
+     * Ignored: every frame is run
+     */
+    @Override
+    public void setPowerSaving(boolean isPowerSaving) { }
+
+    /**
+     * Ignored: frames are rendered at the window's resolution
+     */
+    @Override
+    public void setDynamicResolution(float minScale, float maxScale) { }
+
+    /**
+     * Ignored: the input of a headless game is scripted, so is replayed by running the
+     * same script again
+     */
+    @Override
+    public void recordInput(String path) { }
+
+    @Override
+    public float getResolutionScale() {
+        return 1;
+    }
+
+    @Override
+    public void setPauseButton(int keyFromKeyEvent) {
+        pauseButton = keyFromKeyEvent;
+    }
+
+    @Override
+    public void setExitButton(int keyFromKeyEvent) {
+        exitButton = keyFromKeyEvent;
+    }
+
+    @Override
+    public void setMouseCursor(Renderable renderable, Vector2 dimensions, Vector2 offset) {
+        renderableCursor = renderable;
+        cursorDimensions = dimensions;
+    }
+
+    @Override
+    public Renderable getMouseCursor() {
+        return renderableCursor;
+    }
+
+    @Override
+    public Vector2 getMouseCursorDimensions() {
+        return cursorDimensions;
+    }
+
+    private void startGame() {
+        timescale = 1;
+        unsimulatedTime = 0;
+        isPaused = false;
+        frame = 0;
+        if(replay != null)
+            gameManager.setRandomSeed(replay.randomSeed());
+        gameManager.initializeGame(
+                new ImageReader(this), new SoundReader(this, true), inputListener, this);
+        isRunning = true;
+        timeAtPrevFrameStart = System.nanoTime();
+    }
+
+    private void runFrame() {
+        var frameEvent = new FrameEvent();
+        frameEvent.begin();
+        long timeAtFrameStart = System.nanoTime();
+        gameManager.frameProfiler().beginFrame();
+        frameIntervals.record(timeAtFrameStart - timeAtPrevFrameStart);
+        float deltaTime = frameTime > 0 ?
+                frameTime : (float)((timeAtFrameStart - timeAtPrevFrameStart)/1_000_000_000D);
+        timeAtPrevFrameStart = timeAtFrameStart;
+        if(replay != null) {
+            if(!nextRecordedFrame()) {
+                closeWindow();
+                return;
+            }
+            deltaTime = replay.deltaTime();
+        }
+        else if(inputScript != null)
+            inputScript.beforeFrame(frame, inputListener);
+        if(inputListener.wasKeyReleasedThisFrame(exitButton))
+            closeWindow();
+        if(inputListener.wasKeyReleasedThisFrame(pauseButton))
+            isPaused = !isPaused;
+        int updates = isPaused ? 0 : simulate(Math.min(MAX_FRAME_TIME, deltaTime * timescale));
+        inputListener.update(deltaTime);
+        if(isRendering && isRunning)
+            render();
+        frame++;
+        if(!isRunning)
+            return;
+        gameManager.frameProfiler().lap(FrameProfiler.Phase.FRAME, timeAtFrameStart);
+        if(replay != null)
+            gameManager.runIdleSlices(replay.idleSlices());
+        else
+            gameManager.runIdleWork(idleWorkBudgetNanos);
+        frameEvent.commitFrame(updates, gameManager.frameProfiler());
+    }
+
+    private boolean nextRecordedFrame() {
+        try {
+            return replay.nextFrame(inputListener);
+        }
+        catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    //returns the number of updates
+    private int simulate(float deltaTime) {
+        if(fixedTimestep <= 0) {
+            gameManager.update(deltaTime);
+            return 1;
+        }
+        int updates = 0;
+        unsimulatedTime += deltaTime;
+        while(unsimulatedTime >= fixedTimestep) {
+            gameManager.update(fixedTimestep);
+            unsimulatedTime -= fixedTimestep;
+            updates++;
+        }
+        return updates;
+    }
+
+    private void render() {
+        if(frameImage == null)
+            frameImage = new BufferedImage((int)windowDimensions.x(), (int)windowDimensions.y(),
+                    BufferedImage.TYPE_INT_RGB);
+        Graphics2D g2d = frameImage.createGraphics();
+        g2d.setBackground(Color.WHITE);
+        g2d.clearRect(0,0,(int)windowDimensions.x(),(int)windowDimensions.y());
+        g2d.setColor(Color.BLACK);
+        g2d.setRenderingHint(
+                RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        gameManager.setRenderInterpolation(fixedTimestep > 0,
+                fixedTimestep > 0 ? unsimulatedTime / fixedTimestep : 1);
+        long renderStart = gameManager.frameProfiler().start();
+        gameManager.render(g2d);
+        gameManager.frameProfiler().lap(FrameProfiler.Phase.RENDER, renderStart);
+        g2d.dispose();
+    }
+}
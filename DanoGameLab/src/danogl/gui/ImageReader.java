@@ -5,6 +5,7 @@ import danogl.gui.rendering.ImageRenderable;
 import javax.imageio.ImageIO;
 import java.awt.*;
 import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 /**
@@ -33,16 +34,25 @@ public class ImageReader {
      * @return An ImageRenderable of the desired image.
      */
     public ImageRenderable readImage(String path, boolean isTopLeftPixelTransparency) {
+        var loadEvent = new AssetLoadEvent();
+        loadEvent.begin();
         BufferedImage im = null;
+        long bytes = 0, decodeTime = 0;
         ResourceReader resReader = new ResourceReader();
         try(var stream = resReader.readResource(path)) {
-            im = ImageIO.read(stream);
+            //read before decoding, so the two can be told apart in AssetLoadEvent
+            byte[] data = stream.readAllBytes();
+            bytes = data.length;
+            long decodeStart = System.nanoTime();
+            im = ImageIO.read(new ByteArrayInputStream(data));
+            decodeTime = System.nanoTime() - decodeStart;
         }
         catch(IOException ioe) {
             windowController.showMessageBox(
                     String.format("Failed to open image '%s': %s", path, ioe.getMessage()));
             windowController.closeWindow();
         }
+        loadEvent.commitLoad(AssetLoadEvent.IMAGE, path, bytes, decodeTime);
         Image finalImage = isTopLeftPixelTransparency ? addTransparency(im) : im;
         return new ImageRenderable(finalImage);
     }
@@ -0,0 +1,157 @@
+package danogl.gui;
+
+import danogl.gui.mouse.MouseButton;
+import danogl.util.Vector2;
+
+import java.io.*;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Records a game played in a window, so that it can be replayed by an {@link InputReplay}:
+ * the seed of the game's randomness, and for every frame the time that passed, the user's
+ * input and the number of slices of idle work run.
+ * <p>The file starts with a header (a magic number, the format's version, the seed and the
+ * window's dimensions) and holds a record per frame. A record starts with a byte of flags
+ * telling which parts of the input changed since the previous frame, followed by the
+ * frame's deltaTime, the parts that changed, and the number of idle-work slices. Frames with
+ * no input take 6 bytes or so.</p>
+ * <p>Methods are synchronized, since the window may be closed, and the recording with it,
+ * from the event dispatch thread.</p>
+ */
+class InputRecorder implements Closeable {
+    static final int MAGIC = 0x44474C49; //"DGLI"
+    static final int VERSION = 1;
+
+    //the parts of the input present in a frame's record
+    static final int PRESSED_KEYS = 1;
+    static final int RELEASED_KEYS = 2;
+    static final int MOUSE_POS = 4;
+    static final int PRESSED_MOUSE_BUTTONS = 8;
+    static final int CLICKED_MOUSE_BUTTONS = 16;
+    static final int MOUSE_WHEEL = 32;
+
+    private final DataOutputStream out;
+    private final Set<Integer> prevPressedKeys = new HashSet<>();
+    private final EnumSet<MouseButton> prevPressedMouseButtons = EnumSet.noneOf(MouseButton.class);
+    private float prevMouseX, prevMouseY;
+    private boolean isClosed = false;
+
+    /**
+     * Create the recording file and write its header
+     * @param path the file to create; an existing file is overwritten
+     * @param randomSeed the seed of the recorded game's randomness
+     * @param windowDimensions the dimensions of the window the game is played in
+     */
+    InputRecorder(String path, long randomSeed, Vector2 windowDimensions) throws IOException {
+        out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(randomSeed);
+        out.writeFloat(windowDimensions.x());
+        out.writeFloat(windowDimensions.y());
+    }
+
+    /**
+     * Record the start of a frame, once the frame's input was applied to the listener
+     * @param deltaTime the time that passed since the previous frame, before it's clamped
+     *                  or scaled
+     */
+    synchronized void beginFrame(float deltaTime, KeyAdapterUserInputListener input)
+            throws IOException {
+        if(isClosed)
+            return;
+        Vector2 mousePos = input.getMouseScreenPos();
+        int flags = 0;
+        if(!input.pressedKeys().equals(prevPressedKeys))
+            flags |= PRESSED_KEYS;
+        if(!input.releasedKeys().isEmpty())
+            flags |= RELEASED_KEYS;
+        if(mousePos.x() != prevMouseX || mousePos.y() != prevMouseY)
+            flags |= MOUSE_POS;
+        if(!input.pressedMouseButtons().equals(prevPressedMouseButtons))
+            flags |= PRESSED_MOUSE_BUTTONS;
+        if(!input.clickedMouseButtons().isEmpty())
+            flags |= CLICKED_MOUSE_BUTTONS;
+        if(input.mouseWheelClicksThisFrame() != 0)
+            flags |= MOUSE_WHEEL;
+
+        out.writeByte(flags);
+        out.writeFloat(deltaTime);
+        if((flags & PRESSED_KEYS) != 0) {
+            writeKeys(input.pressedKeys());
+            prevPressedKeys.clear();
+            prevPressedKeys.addAll(input.pressedKeys());
+        }
+        if((flags & RELEASED_KEYS) != 0)
+            writeKeys(input.releasedKeys());
+        if((flags & MOUSE_POS) != 0) {
+            out.writeFloat(mousePos.x());
+            out.writeFloat(mousePos.y());
+            prevMouseX = mousePos.x();
+            prevMouseY = mousePos.y();
+        }
+        if((flags & PRESSED_MOUSE_BUTTONS) != 0) {
+            out.writeByte(buttonsMask(input.pressedMouseButtons()));
+            prevPressedMouseButtons.clear();
+            prevPressedMouseButtons.addAll(input.pressedMouseButtons());
+        }
+        if((flags & CLICKED_MOUSE_BUTTONS) != 0)
+            out.writeByte(buttonsMask(input.clickedMouseButtons()));
+        if((flags & MOUSE_WHEEL) != 0)
+            out.writeDouble(input.mouseWheelClicksThisFrame());
+    }
+
+    /**
+     * Record the end of the frame
+     * @param idleSlices the number of slices of idle work run after the frame
+     */
+    synchronized void endFrame(int idleSlices) throws IOException {
+        if(isClosed)
+            return;
+        writeVarInt(out, idleSlices);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if(isClosed)
+            return;
+        isClosed = true;
+        out.close();
+    }
+
+    //small non-negative numbers, the common case, take a single byte
+    static void writeVarInt(DataOutput out, int value) throws IOException {
+        while((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    static int readVarInt(DataInput in) throws IOException {
+        int value = 0;
+        for(int shift = 0; ; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if((b & 0x80) == 0)
+                return value;
+            if(shift >= 28)
+                throw new IOException("Malformed input recording");
+        }
+    }
+
+    private void writeKeys(Set<Integer> keys) throws IOException {
+        writeVarInt(out, keys.size());
+        for(int key : keys)
+            writeVarInt(out, key);
+    }
+
+    private static int buttonsMask(EnumSet<MouseButton> buttons) {
+        int mask = 0;
+        for(var button : buttons)
+            mask |= 1 << button.ordinal();
+        return mask;
+    }
+}
@@ -0,0 +1,152 @@
+package danogl.gui;
+
+import danogl.gui.mouse.MouseButton;
+import danogl.util.Vector2;
+
+import java.io.*;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+import static danogl.gui.InputRecorder.*;
+
+/**
+ * A game recorded in a window (see {@link WindowController#recordInput(String)}), read back
+ * frame by frame. Replayed by a {@link HeadlessGameRunner} (see
+ * {@link HeadlessGameRunner#replay(InputReplay)}), the game is given the recorded seed, and
+ * every frame the recorded time, input and idle work, so it plays out exactly as it did
+ * when it was recorded - as long as the game draws all of its randomness from its
+ * {@link danogl.util.GameRandom}. This makes a recorded session a repeatable benchmark.
+ */
+public class InputReplay implements Closeable {
+    private static final MouseButton[] MOUSE_BUTTONS = MouseButton.values();
+
+    private final DataInputStream in;
+    private final long randomSeed;
+    private final Vector2 windowDimensions;
+    //the state held from frame to frame
+    private final Set<Integer> pressedKeys = new HashSet<>();
+    private final EnumSet<MouseButton> pressedMouseButtons = EnumSet.noneOf(MouseButton.class);
+    private Vector2 mousePos = Vector2.ZERO;
+    private float deltaTime;
+    private int idleSlices;
+
+    /**
+     * Open a recording and read its header
+     * @param path the recording's file
+     * @throws IOException if the file can't be read or isn't a recording
+     */
+    public InputReplay(String path) throws IOException {
+        in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)));
+        if(in.readInt() != MAGIC)
+            throw new IOException("Not an input recording: " + path);
+        int version = in.readUnsignedByte();
+        if(version != VERSION)
+            throw new IOException("Unsupported input recording version " + version + ": " + path);
+        randomSeed = in.readLong();
+        windowDimensions = new Vector2(in.readFloat(), in.readFloat());
+    }
+
+    /**
+     * The seed of the recorded game's randomness
+     */
+    public long randomSeed() {
+        return randomSeed;
+    }
+
+    /**
+     * The dimensions of the window the game was recorded in
+     */
+    public Vector2 windowDimensions() {
+        return windowDimensions;
+    }
+
+    /**
+     * Read the next frame, and set its input. The input of the previous frame should have
+     * been forgotten already (see {@link ScriptedInputListener#update(float)}).
+     * @return false if the recording ended (in which case the input is left untouched)
+     * @throws IOException if the recording can't be read
+     */
+    public boolean nextFrame(ScriptedInputListener input) throws IOException {
+        Set<Integer> releasedKeys = Set.of();
+        int clickedMouseButtons = 0;
+        double mouseWheelClicks = 0;
+        int flags;
+        try {
+            flags = in.readUnsignedByte();
+            deltaTime = in.readFloat();
+            if((flags & PRESSED_KEYS) != 0) {
+                pressedKeys.clear();
+                readKeys(pressedKeys);
+            }
+            if((flags & RELEASED_KEYS) != 0) {
+                releasedKeys = new HashSet<>();
+                readKeys(releasedKeys);
+            }
+            if((flags & MOUSE_POS) != 0)
+                mousePos = new Vector2(in.readFloat(), in.readFloat());
+            if((flags & PRESSED_MOUSE_BUTTONS) != 0) {
+                pressedMouseButtons.clear();
+                addButtons(pressedMouseButtons, in.readUnsignedByte());
+            }
+            if((flags & CLICKED_MOUSE_BUTTONS) != 0)
+                clickedMouseButtons = in.readUnsignedByte();
+            if((flags & MOUSE_WHEEL) != 0)
+                mouseWheelClicks = in.readDouble();
+            idleSlices = readVarInt(in);
+        }
+        catch (EOFException e) {
+            //a recording cut short ends with the last complete frame
+            return false;
+        }
+
+        input.clearHeldInput();
+        //a key released and pressed again within the frame is both released and pressed
+        for(int key : releasedKeys)
+            input.releaseKey(key);
+        for(int key : pressedKeys)
+            input.pressKey(key);
+        for(var button : pressedMouseButtons)
+            input.pressMouseButton(button);
+        var clicked = EnumSet.noneOf(MouseButton.class);
+        addButtons(clicked, clickedMouseButtons);
+        for(var button : clicked)
+            input.clickMouseButton(button);
+        input.setMouseScreenPos(mousePos);
+        if(mouseWheelClicks != 0)
+            input.scrollMouseWheel(mouseWheelClicks);
+        return true;
+    }
+
+    /**
+     * The time that passed before the current frame, before it was clamped or scaled
+     */
+    public float deltaTime() {
+        return deltaTime;
+    }
+
+    /**
+     * The number of slices of idle work run after the current frame
+     * (see {@link danogl.GameManager#runIdleSlices(int)})
+     */
+    public int idleSlices() {
+        return idleSlices;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void readKeys(Set<Integer> keys) throws IOException {
+        int count = readVarInt(in);
+        for(int i = 0; i < count; i++)
+            keys.add(readVarInt(in));
+    }
+
+    private static void addButtons(EnumSet<MouseButton> buttons, int mask) {
+        for(var button : MOUSE_BUTTONS)
+            if((mask & (1 << button.ordinal())) != 0)
+                buttons.add(button);
+    }
+}
@@ -11,9 +11,13 @@ import java.awt.event.*;
 import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
- * A package private class
+ * A package private class.
+ * Events arrive on the event dispatch thread and are queued; they're applied on the game's
+ * thread at the start of every frame (see {@link #beginFrame()}), so the input stays the same
+ * throughout a frame and can be recorded (see {@link InputRecorder}).
  * @author Dan Nirel
  */
 class KeyAdapterUserInputListener extends KeyAdapter implements
@@ -24,9 +28,27 @@ class KeyAdapterUserInputListener extends KeyAdapter implements
     private EnumSet<MouseButton> pressedMouseButtons = EnumSet.noneOf(MouseButton.class);
     private EnumSet<MouseButton> clickedMouseButtons = EnumSet.noneOf(MouseButton.class);
     private double mouseWheelClicksThisFrame;
+    private Runnable onInput;
+    private final ConcurrentLinkedQueue<Runnable> pendingEvents = new ConcurrentLinkedQueue<>();
 
     public KeyAdapterUserInputListener() { }
 
+    /**
+     * Set a callback for every input event, called on the event dispatch thread
+     */
+    public void setOnInput(Runnable onInput) {
+        this.onInput = onInput;
+    }
+
+    /**
+     * Apply the events that arrived since the previous frame
+     */
+    public void beginFrame() {
+        Runnable event;
+        while((event = pendingEvents.poll()) != null)
+            event.run();
+    }
+
     public void update(float deltaTime) {
         releasedKeys.clear();
         clickedMouseButtons.clear();
@@ -58,41 +80,62 @@ class KeyAdapterUserInputListener extends KeyAdapter implements
         return mousePos;
     }
 
+    Set<Integer> pressedKeys() {
+        return pressedKeys;
+    }
+
+    Set<Integer> releasedKeys() {
+        return releasedKeys;
+    }
+
+    EnumSet<MouseButton> pressedMouseButtons() {
+        return pressedMouseButtons;
+    }
+
+    EnumSet<MouseButton> clickedMouseButtons() {
+        return clickedMouseButtons;
+    }
+
     @Override
     public void keyPressed(KeyEvent e) {
-        pressedKeys.add(e.getKeyCode());
+        int key = e.getKeyCode();
+        inputReceived(() -> pressedKeys.add(key));
     }
 
     @Override
     public void keyReleased(KeyEvent e) {
-        pressedKeys.remove(e.getKeyCode());
-        releasedKeys.add(e.getKeyCode());
+        int key = e.getKeyCode();
+        inputReceived(() -> {
+            pressedKeys.remove(key);
+            releasedKeys.add(key);
+        });
     }
 
     @Override
     public void mouseMoved(MouseEvent e) {
-        mousePos.setXY(e.getX(), e.getY());
+        int x = e.getX(), y = e.getY();
+        inputReceived(() -> mousePos.setXY(x, y));
     }
 
     @Override
     public void mouseClicked(MouseEvent e) {
         var button = MouseButton.mouseIntToMouseButton(e.getButton());
         if(button != null)
-            clickedMouseButtons.add(button);
+            inputReceived(() -> clickedMouseButtons.add(button));
     }
 
     @Override
     public void mousePressed(MouseEvent e) {
         var button = MouseButton.mouseIntToMouseButton(e.getButton());
         if(button != null)
-            pressedMouseButtons.add(button);
+            inputReceived(() -> pressedMouseButtons.add(button));
     }
 
     @Override
     public void mouseReleased(MouseEvent e) {
         var button = MouseButton.mouseIntToMouseButton(e.getButton());
         if(button != null)
-            pressedMouseButtons.remove(button);
+            inputReceived(() -> pressedMouseButtons.remove(button));
     }
 
     @Override
@@ -101,16 +144,25 @@ class KeyAdapterUserInputListener extends KeyAdapter implements
     public void mouseExited(MouseEvent e) { }
     @Override
     public void mouseDragged(MouseEvent e) {
-        mousePos.setXY(e.getX(), e.getY());
+        int x = e.getX(), y = e.getY();
+        inputReceived(() -> mousePos.setXY(x, y));
     }
 
     @Override
     public void mouseWheelMoved(MouseWheelEvent e) {
-        mouseWheelClicksThisFrame = e.getPreciseWheelRotation();
+        double clicks = e.getPreciseWheelRotation();
+        inputReceived(() -> mouseWheelClicksThisFrame += clicks);
     }
 
     @Override
     public double mouseWheelClicksThisFrame() {
         return mouseWheelClicksThisFrame;
     }
+
+    //called on the event dispatch thread
+    private void inputReceived(Runnable event) {
+        pendingEvents.add(event);
+        if(onInput != null)
+            onInput.run();
+    }
 }
@@ -0,0 +1,86 @@
+package danogl.gui;
+
+import danogl.GameManager;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Runs many independent games side by side, without windows: each world is a GameManager
+ * driven by its own {@link HeadlessGameRunner}, and the worlds' frames are run in parallel
+ * on a ForkJoinPool.
+ * <p>A world is run by one task at a time, so a game's code never runs concurrently with
+ * itself (beyond its own {@link danogl.ParallelUpdatable} objects), and worlds share no
+ * mutable state: each GameManager has its own clock, timers and transform hierarchy, which
+ * it makes current on whichever thread runs it. Games meant to run side by side should keep
+ * their state, including their sources of randomness, per GameManager rather than in static
+ * fields.</p>
+ */
+public class MultiWorldRunner implements AutoCloseable {
+    private final ForkJoinPool pool;
+    private final List<HeadlessGameRunner> worlds = new ArrayList<>();
+
+    /**
+     * Run the worlds on as many threads as there are processors
+     */
+    public MultiWorldRunner() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Run the worlds on the given number of threads
+     */
+    public MultiWorldRunner(int parallelism) {
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Add a world. Its game is initialized on its first frame.
+     * @param gameManager the world's game; it must not be shared with another world
+     * @param windowDimensions the dimensions in pixels of the window the game is shown as
+     *                         being run in
+     * @return the world's runner, to configure it (for example its frame time or input)
+     */
+    public HeadlessGameRunner addWorld(GameManager gameManager, Vector2 windowDimensions) {
+        var world = new HeadlessGameRunner(gameManager, windowDimensions);
+        worlds.add(world);
+        return world;
+    }
+
+    /**
+     * The worlds, in the order they were added
+     */
+    public List<HeadlessGameRunner> worlds() {
+        return Collections.unmodifiableList(worlds);
+    }
+
+    /**
+     * Run the given number of frames in every world, in parallel, and wait for all of them.
+     * A world whose game closes its window stops early. If a world throws, the exception
+     * is rethrown once all the worlds stop.
+     * @return the total number of frames run
+     */
+    public long runFrames(long frames) {
+        List<ForkJoinTask<Long>> tasks = new ArrayList<>(worlds.size());
+        for(var world : worlds)
+            tasks.add(ForkJoinTask.adapt(() -> world.runFrames(frames)));
+        return pool.invoke(ForkJoinTask.adapt(() -> {
+            long total = 0;
+            for(var task : ForkJoinTask.invokeAll(tasks))
+                total += task.join();
+            return total;
+        }));
+    }
+
+    /**
+     * Stop the threads
+     */
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+}
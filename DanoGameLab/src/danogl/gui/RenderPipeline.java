@@ -0,0 +1,101 @@
+package danogl.gui;
+
+import danogl.gui.rendering.RenderCommandBuffer;
+
+import java.util.function.Consumer;
+
+/**
+ * Rasterizes recorded frames on a dedicated thread, so that a frame is drawn while the next
+ * one is updated. The game's thread records each frame into a buffer from
+ * {@link #beginWrite()} and hands it over with {@link #publish()}; the render thread
+ * rasterizes the latest published frame.
+ * <p>Three buffers rotate between the roles of being written, waiting to be rendered and being
+ * rendered, so neither thread ever waits for the other to release a buffer. If the game
+ * publishes faster than frames are rasterized, the frames in between are dropped.</p>
+ */
+class RenderPipeline {
+    private static final int NONE = -1;
+
+    private final RenderCommandBuffer[] buffers = {
+            new RenderCommandBuffer(), new RenderCommandBuffer(), new RenderCommandBuffer()};
+    private final Consumer<RenderCommandBuffer> rasterizer;
+    private final Thread renderThread;
+    private int writing = NONE, ready = NONE, rendering = NONE;
+    private boolean isRunning = true;
+
+    /**
+     * Start the render thread
+     * @param rasterizer draws a frame's commands; called on the render thread
+     */
+    RenderPipeline(Consumer<RenderCommandBuffer> rasterizer) {
+        this.rasterizer = rasterizer;
+        renderThread = new Thread(this::renderLoop, "DanoGameLab render thread");
+        renderThread.setDaemon(true);
+        renderThread.start();
+    }
+
+    /**
+     * An empty buffer for the next frame. Called on the game's thread.
+     */
+    synchronized RenderCommandBuffer beginWrite() {
+        for(int i = 0; i < buffers.length; i++) {
+            if(i != ready && i != rendering) {
+                writing = i;
+                break;
+            }
+        }
+        buffers[writing].clear();
+        return buffers[writing];
+    }
+
+    /**
+     * Hand the buffer returned by the last {@link #beginWrite()} over to the render thread
+     */
+    synchronized void publish() {
+        if(writing == NONE)
+            return;
+        ready = writing;
+        writing = NONE;
+        notifyAll();
+    }
+
+    /**
+     * Stop the render thread once it finishes the frame it's rasterizing, if any.
+     * Once this returns, the caller may render on its own.
+     */
+    void stop() {
+        synchronized(this) {
+            isRunning = false;
+            notifyAll();
+        }
+        try {
+            renderThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void renderLoop() {
+        while(true) {
+            RenderCommandBuffer buffer;
+            synchronized(this) {
+                while(ready == NONE && isRunning) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if(!isRunning)
+                    return;
+                rendering = ready;
+                ready = NONE;
+                buffer = buffers[rendering];
+            }
+            rasterizer.accept(buffer);
+            synchronized(this) {
+                rendering = NONE;
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package danogl.gui;
+
+import danogl.gui.mouse.MouseButton;
+import danogl.util.MutableVector2;
+import danogl.util.Vector2;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A UserInputListener whose input is set by code rather than by a user, for running games
+ * without a window (see {@link HeadlessGameRunner}). Presses and releases take effect
+ * immediately; what happens "this frame" (releases, clicks, the mouse wheel) is forgotten
+ * once the frame ends.
+ */
+public class ScriptedInputListener implements UserInputListener {
+    private final Set<Integer> pressedKeys = new HashSet<>();
+    private final Set<Integer> releasedKeys = new HashSet<>();
+    private final MutableVector2 mousePos = new MutableVector2();
+    private final EnumSet<MouseButton> pressedMouseButtons = EnumSet.noneOf(MouseButton.class);
+    private final EnumSet<MouseButton> clickedMouseButtons = EnumSet.noneOf(MouseButton.class);
+    private double mouseWheelClicksThisFrame;
+
+    /** Hold a key down, until it's released */
+    public void pressKey(int keyFromKeyEvent) {
+        pressedKeys.add(keyFromKeyEvent);
+    }
+
+    /** Release a key in this frame. The key doesn't have to be pressed before. */
+    public void releaseKey(int keyFromKeyEvent) {
+        pressedKeys.remove(keyFromKeyEvent);
+        releasedKeys.add(keyFromKeyEvent);
+    }
+
+    /** Hold a mouse button down, until it's released */
+    public void pressMouseButton(MouseButton button) {
+        pressedMouseButtons.add(button);
+    }
+
+    /** Release a mouse button */
+    public void releaseMouseButton(MouseButton button) {
+        pressedMouseButtons.remove(button);
+    }
+
+    /** Click a mouse button in this frame */
+    public void clickMouseButton(MouseButton button) {
+        clickedMouseButtons.add(button);
+    }
+
+    /** Move the mouse to the given position, in window coordinates */
+    public void setMouseScreenPos(Vector2 screenPos) {
+        mousePos.setXY(screenPos);
+    }
+
+    /** Rotate the mouse wheel in this frame; negative values scroll up */
+    public void scrollMouseWheel(double clicks) {
+        mouseWheelClicksThisFrame += clicks;
+    }
+
+    //lets go of all the held keys and mouse buttons, without releasing them this frame
+    void clearHeldInput() {
+        pressedKeys.clear();
+        pressedMouseButtons.clear();
+    }
+
+    /**
+     * Forget the input of the frame that ended. Called by the runner after every frame.
+     */
+    public void update(float deltaTime) {
+        releasedKeys.clear();
+        clickedMouseButtons.clear();
+        mouseWheelClicksThisFrame = 0;
+    }
+
+    @Override
+    public boolean isKeyPressed(int keyFromKeyEvent) {
+        return pressedKeys.contains(keyFromKeyEvent);
+    }
+
+    @Override
+    public boolean wasKeyReleasedThisFrame(int keyFromKeyEvent) {
+        return releasedKeys.contains(keyFromKeyEvent);
+    }
+
+    @Override
+    public boolean wasMouseButtonClickedThisFrame(MouseButton button) {
+        return clickedMouseButtons.contains(button);
+    }
+
+    @Override
+    public boolean isMouseButtonPressed(MouseButton button) {
+        return pressedMouseButtons.contains(button);
+    }
+
+    @Override
+    public Vector2 getMouseScreenPos() {
+        return mousePos;
+    }
+
+    @Override
+    public double mouseWheelClicksThisFrame() {
+        return mouseWheelClicksThisFrame;
+    }
+}
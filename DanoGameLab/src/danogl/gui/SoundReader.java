@@ -1,6 +1,7 @@
 package danogl.gui;
 
 import javax.sound.sampled.*;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 
 /**
@@ -11,26 +12,49 @@ public class SoundReader {
     private static final int MAX_SIMULTANEOUS_RUNS = 5;
     private WindowController windowController;
     private ResourceReader resReader = new ResourceReader();
+    private final boolean isMuted;
 
     /** Used by the library */
     public SoundReader(WindowController windowController) {
+        this(windowController, false);
+    }
+
+    /**
+     * Used by the library
+     * @param isMuted if true, sounds are not read, and are silent; for running without
+     *                an audio device
+     */
+    public SoundReader(WindowController windowController, boolean isMuted) {
         this.windowController = windowController;
+        this.isMuted = isMuted;
     }
 
     /** Read the sound with the specified path from disk or from within the jar */
     public Sound readSound(String wavFilePath) {
+        if(isMuted)
+            return new Sound(new Clip[0]);
+        var loadEvent = new AssetLoadEvent();
+        loadEvent.begin();
         Clip[] clips = new Clip[MAX_SIMULTANEOUS_RUNS];
-        for (int i = 0; i < clips.length ; i++) {
-            try (var stream = resReader.readResource(wavFilePath)) {
-                AudioInputStream audioInputStream = AudioSystem.getAudioInputStream(stream);
+        long bytes = 0, decodeTime = 0;
+        //the file is read once, and decoded into every clip
+        try (var stream = resReader.readResource(wavFilePath)) {
+            byte[] data = stream.readAllBytes();
+            bytes = data.length;
+            long decodeStart = System.nanoTime();
+            for (int i = 0; i < clips.length ; i++) {
+                AudioInputStream audioInputStream =
+                        AudioSystem.getAudioInputStream(new ByteArrayInputStream(data));
                 clips[i] = AudioSystem.getClip();
                 clips[i].open(audioInputStream);
-            } catch (LineUnavailableException | IOException | UnsupportedAudioFileException e) {
-                windowController.showMessageBox(
-                        String.format("Failed to open file '%s': %s", wavFilePath, e.getMessage()));
-                windowController.closeWindow();
             }
+            decodeTime = System.nanoTime() - decodeStart;
+        } catch (LineUnavailableException | IOException | UnsupportedAudioFileException e) {
+            windowController.showMessageBox(
+                    String.format("Failed to open file '%s': %s", wavFilePath, e.getMessage()));
+            windowController.closeWindow();
         }
+        loadEvent.commitLoad(AssetLoadEvent.SOUND, wavFilePath, bytes, decodeTime);
         return new Sound(clips);
     }
 }
@@ -1,6 +1,7 @@
 package danogl.gui;
 
 import danogl.gui.rendering.Renderable;
+import danogl.util.RollingHistogram;
 import danogl.util.Vector2;
 
 /**
@@ -58,6 +59,92 @@ public interface WindowController {
      * consumes less resources, at the cost of a choppier experience.</p>*/
     void setTargetFramerate(int targetFramerate);
 
+    /**
+     * Statistics of the intervals between the starts of the recent frames, in nanoseconds.
+     * For example, getFrameIntervals().percentile(99) is the interval that 99% of the frames
+     * did not exceed, and getFrameIntervals().standardDeviation() is the jitter.
+     * <p>By default, returns an empty histogram: the frames aren't measured.</p>
+     */
+    default RollingHistogram getFrameIntervals() {
+        return new RollingHistogram(1, 1, 1);
+    }
+
+    /**
+     * Simulate the game in fixed steps of the given length, independently of the framerate:
+     * every frame, update is called as many times as needed (possibly none) for the game
+     * to catch up with the time that passed, each time with this deltaTime. Frames are
+     * rendered in between steps, with positions interpolated between the last two steps.
+     * <p>For example, a game can be simulated at 60 steps per second (a step of 1/60)
+     * while rendered at 120 frames per second, at the cost of a frame of latency.</p>
+     * @param step The length of a step in seconds, or 0 (the default) to call update
+     *             exactly once per frame with the time that passed.
+     *             By default, the step is ignored and update is called once per frame.
+     */
+    default void setFixedTimestep(float step) { }
+
+    /**
+     * Rasterize frames on a dedicated thread, while the next frame is updated. In this mode,
+     * instead of calling the GameManager's render method, every frame is recorded with
+     * {@link danogl.GameManager#record} into a list of render commands, which the render
+     * thread draws into the window. On a machine with more than one core, this overlaps
+     * updating the game with drawing it, at the cost of a frame of latency.
+     * <p>Games that draw directly in their render methods, rather than through the
+     * Renderables of their GameObjects, should keep the default.</p>
+     * @param isPipelined true to render on a dedicated thread, false (the default) to
+     *                    render on the game's thread after every update.
+     *                    By default, ignored: frames are rendered on the game's thread.
+     */
+    default void setPipelinedRendering(boolean isPipelined) { }
+
+    /**
+     * Save power when there is nothing new to show. In this mode, frames that would look
+     * exactly like the last one presented are not drawn again, and a paused game or a
+     * minimized window runs at a low frame-rate, so that a hidden game keeps being
+     * updated, only in bigger steps. Any input restores the target frame-rate immediately.
+     * <p>Frames are compared through their recorded render commands (see
+     * {@link #setPipelinedRendering(boolean)}), so a game whose GameManager overrides
+     * render is drawn every frame; only the lower frame-rate applies to it.</p>
+     * @param isPowerSaving true to save power, false (the default) to draw every frame at
+     *                      the target frame-rate. By default, ignored.
+     */
+    default void setPowerSaving(boolean isPowerSaving) { }
+
+    /**
+     * Draw frames at a lower resolution than the window's when they take too long, and
+     * upscale them to the window. The scale is lowered when the recent frames miss the frame
+     * budget of the target frame-rate, and raised back when they're well within it.
+     * <p>Only drawing is affected: coordinates, including the mouse's, stay in the window's
+     * pixels.</p>
+     * @param minScale the lowest resolution, as a fraction of the window's (above 0)
+     * @param maxScale the highest resolution, as a fraction of the window's (up to 1).
+     *                 By default both are 1, that is, frames are drawn at the window's
+     *                 resolution. By default, ignored.
+     */
+    default void setDynamicResolution(float minScale, float maxScale) { }
+
+    /**
+     * The resolution frames are currently drawn at, as a fraction of the window's.
+     * See {@link #setDynamicResolution(float, float)}. By default, 1.
+     */
+    default float getResolutionScale() {
+        return 1;
+    }
+
+    /**
+     * Record the current game into a file, from its first frame until it ends, so that it can
+     * be replayed exactly, without a window, by a {@link HeadlessGameRunner} (see
+     * {@link InputReplay}). The recording holds the seed of the game's randomness and, for
+     * every frame, the time that passed, the user's input and the idle work run.
+     * <p>Should be called from {@link danogl.GameManager#initializeGame}. A replay is only
+     * faithful if the game draws all of its randomness from its
+     * {@link danogl.util.GameRandom}; mouse actions of GameObjects (see
+     * {@link danogl.gui.mouse.MouseAction}) are not recorded.</p>
+     * If the file can't be created, an error message is displayed and nothing is recorded.
+     * @param path the file to record into; an existing file is overwritten.
+     *             By default, ignored: nothing is recorded.
+     */
+    default void recordInput(String path) { }
+
     /**
      * Sets a key to pause and unpause the game (prevent update calls).
      * By default, pausing is disabled (the game cannot be paused).
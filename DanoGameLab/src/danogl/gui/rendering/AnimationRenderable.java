@@ -1,12 +1,18 @@
 package danogl.gui.rendering;
 
 import danogl.gui.ImageReader;
+import danogl.util.GameClock;
 import danogl.util.Vector2;
 
 import java.awt.*;
 
 /**
  * A dynamic, repeating animation.
+ * <p>By default the animation advances by its own update method, so every object
+ * showing it needs to be updated and needs its own instance. In the shared-clock mode
+ * (see {@link #AnimationRenderable(Renderable[], double, GameClock, double)}) the current clip
+ * is instead derived from a GameClock, so the animation needs no updates and can be
+ * shared by any number of objects.</p>
  * @author Dan Nirel
  */
 public class AnimationRenderable implements Renderable {
@@ -14,6 +20,9 @@ public class AnimationRenderable implements Renderable {
     private double timeBetweenClips;
     private int currImIndex = 0;
     private double timeSinceLastClipSwitch = 0;
+    //null unless in shared-clock mode
+    private final GameClock clock;
+    private double phase;
 
     /**
      * Initialize the animation using Renderables
@@ -21,8 +30,25 @@ public class AnimationRenderable implements Renderable {
      * @param timeBetweenClips The time to wait before moving to the next clip.
      */
     public AnimationRenderable(Renderable[] clips, double timeBetweenClips) {
+        this(clips, timeBetweenClips, null, 0);
+    }
+
+    /**
+     * Initialize a shared-clock animation using Renderables. The current clip is
+     * computed from the clock's time when rendering.
+     * @param clips The animation's clips.
+     * @param timeBetweenClips The time to wait before moving to the next clip.
+     * @param clock The clock to follow, normally the GameManager's. If null, the animation
+     *              advances by its own update method instead.
+     * @param phase Time, in seconds, added to the clock's time; animations of the same
+     *              clips can use different phases so that they don't move in unison.
+     */
+    public AnimationRenderable(Renderable[] clips, double timeBetweenClips,
+                               GameClock clock, double phase) {
         this.clips = clips.clone();
         this.timeBetweenClips = timeBetweenClips;
+        this.clock = clock;
+        this.phase = phase;
     }
 
     /**
@@ -36,6 +62,7 @@ public class AnimationRenderable implements Renderable {
     public AnimationRenderable(String[] imagePaths, ImageReader imageReader,
                                boolean useTransparency, double timeBetweenClips) {
         this.timeBetweenClips = timeBetweenClips;
+        this.clock = null;
         clips = new ImageRenderable[imagePaths.length];
         for (int i = 0; i < clips.length; i++) {
             clips[i] = imageReader.readImage(imagePaths[i], useTransparency);
@@ -44,6 +71,8 @@ public class AnimationRenderable implements Renderable {
 
     @Override
     public void update(double deltaTime) {
+        if(clock != null)
+            return;
         timeSinceLastClipSwitch += deltaTime;
         if(timeSinceLastClipSwitch >= timeBetweenClips) {
             timeSinceLastClipSwitch = 0;
@@ -51,19 +80,49 @@ public class AnimationRenderable implements Renderable {
         }
     }
 
+    @Override
+    public boolean isAnimated() { return clock == null; }
+
     @Override
     public void render(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
                        double degreesCounterClockwise,
                        boolean isFlippedHorizontally, boolean isFlippedVertically,
                        double opaqueness) {
-        clips[currImIndex].render(
+        clips[currentClipIndex()].render(
                 g, topLeftCorner, dimensions, degreesCounterClockwise,
                 isFlippedHorizontally, isFlippedVertically, opaqueness);
     }
 
-    /**Reset the animation (go back to the first frame).*/
+    /**
+     * The current clip
+     */
+    @Override
+    public Renderable snapshot() {
+        return clips[currentClipIndex()];
+    }
+
+    /**
+     * Reset the animation (go back to the first frame). For a shared-clock animation,
+     * this affects all the objects sharing it.
+     */
     public void resetAnimation() {
         currImIndex = 0;
         timeSinceLastClipSwitch = 0;
+        if(clock != null)
+            phase = -clock.time();
+    }
+
+    /**
+     * Is the animation following a shared clock rather than its own updates
+     */
+    public boolean isSharedClock() {
+        return clock != null;
+    }
+
+    private int currentClipIndex() {
+        if(clock == null)
+            return currImIndex;
+        long clipsPassed = (long)Math.floor((clock.time() + phase) / timeBetweenClips);
+        return (int)Math.floorMod(clipsPassed, (long)clips.length);
     }
 }
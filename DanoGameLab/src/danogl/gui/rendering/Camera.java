@@ -44,9 +44,8 @@ public class Camera extends GameObject {
     public Camera(GameObject objToFollow, Vector2 deltaRelativeToObject,
                   Vector2 dimensions, Vector2 windowDimensions) {
         super(Vector2.ZERO, dimensions, null);
-        this.objToFollow = objToFollow;
-        this.deltaRelativeToObject = deltaRelativeToObject;
         this.windowDimensions = windowDimensions;
+        setToFollow(objToFollow, deltaRelativeToObject);
     }
 
     /**
@@ -65,6 +64,10 @@ public class Camera extends GameObject {
                             Vector2 deltaRelativeToObject) {
         this.objToFollow = objToFollow;
         this.deltaRelativeToObject = deltaRelativeToObject;
+        if(objToFollow == null)
+            transform().setParent(null, 0, 0);
+        else
+            transform().setParent(objToFollow.transform(), deltaRelativeToObject);
     }
 
     /**
@@ -85,8 +88,12 @@ public class Camera extends GameObject {
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
-        if(objToFollow != null)
-            setCenter(objToFollow.getCenter().add(deltaRelativeToObject));
+        //a camera isn't in the game's collection: it joins the game (its clock, and its
+        //hierarchy when following) the first time the game updates it
+        if(!transform().isInGame())
+            transform().joinGame();
+        if(objToFollow != null && !transform().joinHierarchy())
+            transform().resolveAttachment();
     }
 
     /**
@@ -101,6 +108,7 @@ public class Camera extends GameObject {
      * top left corner), to world coordinates, according to this camera
      */
     public Vector2 screenToWorldCoords(Vector2 screenCoords) {
+        var freeCalculationsVector = freeCalculationsVector();
         freeCalculationsVector.setXY(screenCoords);
         freeCalculationsVector
                 .selfMultX(getDimensions().x()/windowDimensions.x())
@@ -111,14 +119,18 @@ public class Camera extends GameObject {
 
     /**
      * Converts world coordinates to screen coordinates (in pixels, relative
-     * to the window's top left corner)
+     * to the window's top left corner), for rendering: when rendering in between
+     * fixed steps, the camera's interpolated position is used
+     * (see {@link danogl.components.Transform#getRenderTopLeftCorner()}).
      */
     public Vector2 worldToScreenCoords(Vector2 worldCoords) {
         float dimFactorX = windowDimensions().x()/getDimensions().x();
         float dimFactorY = windowDimensions().y()/getDimensions().y();
+        var topLeftCorner = transform().getRenderTopLeftCorner();
+        var freeCalculationsVector = freeCalculationsVector();
         freeCalculationsVector.setXY(
-                dimFactorX*(worldCoords.x()-getTopLeftCorner().x()),
-                dimFactorY*(worldCoords.y()-getTopLeftCorner().y()));
+                dimFactorX*(worldCoords.x()-topLeftCorner.x()),
+                dimFactorY*(worldCoords.y()-topLeftCorner.y()));
         return freeCalculationsVector;
     }
 }
@@ -7,10 +7,15 @@ import java.awt.*;
 import java.awt.geom.AffineTransform;
 
 /**
- * A class in package visibility, for inner use
+ * A class in package visibility, for inner use.
+ * The object only holds state during a single render call, so Renderables
+ * share one instance per thread (see {@link #forCurrentThread()}) instead of holding their own.
  * @author Dan Nirel
  */
 class ConfigureGraphics {
+    private static final ThreadLocal<ConfigureGraphics> perThread =
+            ThreadLocal.withInitial(ConfigureGraphics::new);
+
     private Graphics2D g;
     private Vector2 topLeftCorner;
     private Vector2 dimensions;
@@ -18,7 +23,14 @@ class ConfigureGraphics {
     private double opaqueness;
     AffineTransform originalTransform = null;
 
-    private static MutableVector2 freeVector = new MutableVector2();
+    private final MutableVector2 freeVector = new MutableVector2();
+
+    /**
+     * The instance to be used by renderables rendering on the current thread
+     */
+    static ConfigureGraphics forCurrentThread() {
+        return perThread.get();
+    }
 
     public void init(Graphics2D g, Vector2 topLeftCorner, Vector2 dimensions,
                      double degreesCounterClockwise, double opaqueness) {
@@ -11,7 +11,6 @@ import java.awt.image.BufferedImage;
  */
 public class ImageRenderable implements Renderable {
     private Image image;
-    private ConfigureGraphics configureGraphics = new ConfigureGraphics();
 
     /**
      * Constructor. Typically, an instance of this class will be created via
@@ -42,6 +41,7 @@ public class ImageRenderable implements Renderable {
             degreesCounterClockwise *= -1;
         }
 
+        var configureGraphics = ConfigureGraphics.forCurrentThread();
         configureGraphics.init(g, topLeftCorner, dimensions, degreesCounterClockwise, opaqueness);
         configureGraphics.setRotation();
         configureGraphics.setOpaqueness();
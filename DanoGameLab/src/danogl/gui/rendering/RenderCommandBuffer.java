@@ -0,0 +1,197 @@
+package danogl.gui.rendering;
+
+import danogl.components.CoordinateSpace;
+import danogl.util.MutableVector2;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.util.Arrays;
+
+/**
+ * The draw calls of a single frame, recorded so that they can be rasterized later, possibly
+ * on another thread. Each command holds a Renderable along with everything it's rendered
+ * with: position, size, angle, flips, opaqueness and coordinate space. World-space commands
+ * are translated to the screen according to the view recorded with {@link #setView(Camera)}.
+ * <p>The Renderables are recorded through {@link Renderable#snapshot()}, so later changes to
+ * an animation or a text don't affect a frame that was already recorded.</p>
+ * <p>Commands are held in parallel arrays, which are reused after {@link #clear()};
+ * recording a frame allocates nothing once the buffer has grown to the size of a frame.</p>
+ */
+public class RenderCommandBuffer {
+    private static final int INITIAL_CAPACITY = 256;
+    private static final byte FLIPPED_HORIZONTALLY = 1;
+    private static final byte FLIPPED_VERTICALLY = 2;
+    private static final byte WORLD_SPACE = 4;
+
+    private Renderable[] renderables = new Renderable[INITIAL_CAPACITY];
+    private float[] x = new float[INITIAL_CAPACITY];
+    private float[] y = new float[INITIAL_CAPACITY];
+    private float[] width = new float[INITIAL_CAPACITY];
+    private float[] height = new float[INITIAL_CAPACITY];
+    private float[] angle = new float[INITIAL_CAPACITY];
+    private float[] opaqueness = new float[INITIAL_CAPACITY];
+    private byte[] flags = new byte[INITIAL_CAPACITY];
+    private int size = 0;
+
+    //from world coordinates to screen coordinates: screen = (world - offset) * factor
+    private float viewOffsetX = 0, viewOffsetY = 0;
+    private float viewFactorX = 1, viewFactorY = 1;
+
+    private final MutableVector2 topLeftCorner = new MutableVector2();
+    private final MutableVector2 dimensions = new MutableVector2();
+
+    /**
+     * Record the view world-space commands are rendered through: the camera's (interpolated)
+     * position and zoom at the time of the call. A null camera renders world coordinates as
+     * screen coordinates.
+     */
+    public void setView(Camera camera) {
+        if(camera == null) {
+            viewOffsetX = viewOffsetY = 0;
+            viewFactorX = viewFactorY = 1;
+            return;
+        }
+        var cameraTopLeftCorner = camera.transform().getRenderTopLeftCorner();
+        viewOffsetX = cameraTopLeftCorner.x();
+        viewOffsetY = cameraTopLeftCorner.y();
+        viewFactorX = camera.windowDimensions().x() / camera.getDimensions().x();
+        viewFactorY = camera.windowDimensions().y() / camera.getDimensions().y();
+    }
+
+    /**
+     * Record a draw call.
+     * @param renderable the Renderable to draw. Null is ignored.
+     * @param topLeftCorner the top-left corner, in the given coordinate space
+     * @param dimensions the dimensions, in the given coordinate space
+     * @param degreesCounterClockwise see {@link Renderable#render}
+     * @param isFlippedHorizontally see {@link Renderable#render}
+     * @param isFlippedVertically see {@link Renderable#render}
+     * @param opaqueness see {@link Renderable#render}
+     * @param coordinateSpace whether the position and dimensions are on the screen or in the
+     *                        world, seen through the recorded view
+     */
+    public void add(Renderable renderable, Vector2 topLeftCorner, Vector2 dimensions,
+                    float degreesCounterClockwise,
+                    boolean isFlippedHorizontally, boolean isFlippedVertically,
+                    float opaqueness, CoordinateSpace coordinateSpace) {
+        add(renderable, topLeftCorner.x(), topLeftCorner.y(), dimensions.x(), dimensions.y(),
+                degreesCounterClockwise, isFlippedHorizontally, isFlippedVertically,
+                opaqueness, coordinateSpace);
+    }
+
+    /**
+     * An overload of {@link #add(Renderable, Vector2, Vector2, float, boolean, boolean, float, CoordinateSpace)}
+     * that takes the coordinates as floats.
+     */
+    public void add(Renderable renderable, float topLeftX, float topLeftY,
+                    float width, float height, float degreesCounterClockwise,
+                    boolean isFlippedHorizontally, boolean isFlippedVertically,
+                    float opaqueness, CoordinateSpace coordinateSpace) {
+        if(renderable == null || opaqueness <= 0)
+            return;
+        if(size == renderables.length)
+            grow();
+        renderables[size] = renderable.snapshot();
+        x[size] = topLeftX;
+        y[size] = topLeftY;
+        this.width[size] = width;
+        this.height[size] = height;
+        angle[size] = degreesCounterClockwise;
+        this.opaqueness[size] = opaqueness;
+        byte commandFlags = 0;
+        if(isFlippedHorizontally)
+            commandFlags |= FLIPPED_HORIZONTALLY;
+        if(isFlippedVertically)
+            commandFlags |= FLIPPED_VERTICALLY;
+        if(coordinateSpace == CoordinateSpace.WORLD_COORDINATES)
+            commandFlags |= WORLD_SPACE;
+        flags[size] = commandFlags;
+        size++;
+    }
+
+    /**
+     * Draw the recorded commands, in the order they were recorded.
+     */
+    public void rasterize(Graphics2D g) {
+        for(int i = 0; i < size; i++) {
+            if((flags[i] & WORLD_SPACE) != 0) {
+                topLeftCorner.setXY((x[i] - viewOffsetX) * viewFactorX, (y[i] - viewOffsetY) * viewFactorY);
+                dimensions.setXY(width[i] * viewFactorX, height[i] * viewFactorY);
+            }
+            else {
+                topLeftCorner.setXY(x[i], y[i]);
+                dimensions.setXY(width[i], height[i]);
+            }
+            renderables[i].render(g, topLeftCorner, dimensions, angle[i],
+                    (flags[i] & FLIPPED_HORIZONTALLY) != 0, (flags[i] & FLIPPED_VERTICALLY) != 0,
+                    opaqueness[i]);
+        }
+    }
+
+    /**
+     * Does the other buffer hold exactly the same commands and view, that is, would it draw
+     * exactly the same frame. Renderables are compared by identity.
+     */
+    public boolean contentEquals(RenderCommandBuffer other) {
+        return size == other.size
+                && viewOffsetX == other.viewOffsetX && viewOffsetY == other.viewOffsetY
+                && viewFactorX == other.viewFactorX && viewFactorY == other.viewFactorY
+                && Arrays.equals(renderables, 0, size, other.renderables, 0, size)
+                && Arrays.equals(x, 0, size, other.x, 0, size)
+                && Arrays.equals(y, 0, size, other.y, 0, size)
+                && Arrays.equals(width, 0, size, other.width, 0, size)
+                && Arrays.equals(height, 0, size, other.height, 0, size)
+                && Arrays.equals(angle, 0, size, other.angle, 0, size)
+                && Arrays.equals(opaqueness, 0, size, other.opaqueness, 0, size)
+                && Arrays.equals(flags, 0, size, other.flags, 0, size);
+    }
+
+    /**
+     * Replace the commands and view of this buffer with those of the other.
+     */
+    public void copyFrom(RenderCommandBuffer other) {
+        clear();
+        while(renderables.length < other.size)
+            grow();
+        System.arraycopy(other.renderables, 0, renderables, 0, other.size);
+        System.arraycopy(other.x, 0, x, 0, other.size);
+        System.arraycopy(other.y, 0, y, 0, other.size);
+        System.arraycopy(other.width, 0, width, 0, other.size);
+        System.arraycopy(other.height, 0, height, 0, other.size);
+        System.arraycopy(other.angle, 0, angle, 0, other.size);
+        System.arraycopy(other.opaqueness, 0, opaqueness, 0, other.size);
+        System.arraycopy(other.flags, 0, flags, 0, other.size);
+        size = other.size;
+        viewOffsetX = other.viewOffsetX;
+        viewOffsetY = other.viewOffsetY;
+        viewFactorX = other.viewFactorX;
+        viewFactorY = other.viewFactorY;
+    }
+
+    /**
+     * Drop the recorded commands, keeping the arrays for the next frame.
+     */
+    public void clear() {
+        Arrays.fill(renderables, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * The number of recorded commands
+     */
+    public int size() {
+        return size;
+    }
+
+    private void grow() {
+        int capacity = renderables.length * 2;
+        renderables = Arrays.copyOf(renderables, capacity);
+        x = Arrays.copyOf(x, capacity);
+        y = Arrays.copyOf(y, capacity);
+        width = Arrays.copyOf(width, capacity);
+        height = Arrays.copyOf(height, capacity);
+        angle = Arrays.copyOf(angle, capacity);
+        opaqueness = Arrays.copyOf(opaqueness, capacity);
+        flags = Arrays.copyOf(flags, capacity);
+    }
+}
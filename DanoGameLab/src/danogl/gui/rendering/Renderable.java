@@ -16,6 +16,23 @@ public interface Renderable {
      */
     default void update(double deltaTime) {}
 
+    /**
+     * Does the Renderable change over time, that is, must its update method be called
+     * every frame. GameObjects with nothing else to update are skipped by the update loop,
+     * so by default this is true exactly for Renderables whose class overrides update.
+     * Implementations that override update but don't always need it may return false
+     * when it's not needed.
+     */
+    default boolean isAnimated() { return UpdateOverrides.overridesUpdate(getClass()); }
+
+    /**
+     * A Renderable that looks like this one does now, and that later changes to this one
+     * do not affect. Used when a frame is recorded to be rendered later
+     * (see {@link RenderCommandBuffer}). Immutable Renderables return themselves, which is
+     * the default.
+     */
+    default Renderable snapshot() { return this; }
+
     /**
      * Renders the object.
      * @param g The graphics object.
@@ -9,7 +9,6 @@ import java.awt.*;
  * @author Dan Nirel
  */
 abstract class ShapeRenderable implements Renderable {
-    ConfigureGraphics configureGraphics = new ConfigureGraphics();
     private Color color;
 
     public ShapeRenderable(Color color) {
@@ -30,6 +29,7 @@ abstract class ShapeRenderable implements Renderable {
         if(isFlippedVertically)
             degreesCounterClockwise *= -1;
 
+        var configureGraphics = ConfigureGraphics.forCurrentThread();
         configureGraphics.init(g, topLeftCorner, dimensions, degreesCounterClockwise, opaqueness);
         configureGraphics.setRotation();
         configureGraphics.setOpaqueness();
@@ -24,8 +24,11 @@ public class TextRenderable implements Renderable {
     private static final String LINE_BREAK = "\n";
     private static final String DEFAULT_FONT = Font.SANS_SERIF;
     private static final float FONT_PTS_PER_INCH = 2*72f;
+    //the resolution assumed when there is no screen
+    private static final int HEADLESS_SCREEN_RESOLUTION = 96;
+    private static final int SCREEN_RESOLUTION = GraphicsEnvironment.isHeadless() ?
+            HEADLESS_SCREEN_RESOLUTION : Toolkit.getDefaultToolkit().getScreenResolution();
 
-    private ConfigureGraphics configureGraphics = new ConfigureGraphics();
     private String str;
     private String[] lines;
     private MultilineHandling multilineHandling = MultilineHandling.HEIGHT_IS_FOR_ALL_LINES;
@@ -34,6 +37,8 @@ public class TextRenderable implements Renderable {
     private int lastRenderHeight = 10;
     private Font font;
     private Color textColor = Color.black;
+    //an unchanging copy, see snapshot()
+    private TextRenderable snapshot;
 
     /** Construct a TextRenderable for the specified string */
     public TextRenderable(String str) { this(str, DEFAULT_FONT); }
@@ -54,6 +59,18 @@ public class TextRenderable implements Renderable {
         this.str = str;
     }
 
+    //a copy of the other's current text and settings
+    private TextRenderable(TextRenderable other) {
+        str = other.str;
+        lines = other.lines;
+        multilineHandling = other.multilineHandling;
+        gapBetweenLinesInPixels = other.gapBetweenLinesInPixels;
+        linePixelHeight = other.linePixelHeight;
+        lastRenderHeight = other.lastRenderHeight;
+        font = other.font;
+        textColor = other.textColor;
+    }
+
     /** Returns the rendered string */
     public String renderedString() {
         return String.join(LINE_BREAK, lines);
@@ -62,6 +79,7 @@ public class TextRenderable implements Renderable {
     /** Set the text color */
     public void setColor(Color textColor) {
         this.textColor = textColor;
+        snapshot = null;
     }
 
     /** Change the rendered string */
@@ -84,6 +102,17 @@ public class TextRenderable implements Renderable {
         this.multilineHandling = multilineHandling;
         this.gapBetweenLinesInPixels = gapBetweenLinesInPixels;
         resetDrawSettings();
+        snapshot = null;
+    }
+
+    /**
+     * A copy of the text as it is now. The copy is reused until the text or its color change.
+     */
+    @Override
+    public Renderable snapshot() {
+        if(snapshot == null)
+            snapshot = new TextRenderable(this);
+        return snapshot;
     }
 
     @Override
@@ -103,6 +132,7 @@ public class TextRenderable implements Renderable {
         g.setFont(font);
         g.setColor(textColor);
 
+        var configureGraphics = ConfigureGraphics.forCurrentThread();
         configureGraphics.init(g, topLeftCorner, dimensions, degreesCounterClockwise, opaqueness);
         configureGraphics.setRotation();
         configureGraphics.setOpaqueness();
@@ -128,6 +158,6 @@ public class TextRenderable implements Renderable {
         }
         font = new Font(font.getFontName(), font.getStyle(),
                 (int)(FONT_PTS_PER_INCH *
-                        (float)linePixelHeight/Toolkit.getDefaultToolkit().getScreenResolution()));
+                        (float)linePixelHeight/SCREEN_RESOLUTION));
     }
 }
@@ -0,0 +1,24 @@
+package danogl.gui.rendering;
+
+/**
+ * Remembers which classes of Renderables override {@link Renderable#update(double)},
+ * for the default {@link Renderable#isAnimated()}.
+ */
+final class UpdateOverrides {
+    private static final ClassValue<Boolean> overridesUpdate = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("update", double.class).getDeclaringClass() != Renderable.class;
+            } catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
+
+    private UpdateOverrides() { }
+
+    static boolean overridesUpdate(Class<?> type) {
+        return overridesUpdate.get(type);
+    }
+}
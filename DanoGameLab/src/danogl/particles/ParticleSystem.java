@@ -0,0 +1,379 @@
+package danogl.particles;
+
+import danogl.GameObject;
+import danogl.components.CoordinateSpace;
+import danogl.components.ProceduralSway;
+import danogl.gui.rendering.Camera;
+import danogl.gui.rendering.RenderCommandBuffer;
+import danogl.gui.rendering.Renderable;
+import danogl.util.GameClock;
+import danogl.util.GameRandom;
+import danogl.util.MutableVector2;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A single GameObject simulating and rendering many small particles, such as leaves,
+ * petals or snowflakes. The particles are not GameObjects: their state is kept in
+ * packed arrays, they are all advanced in one loop of the system's update, and all drawn
+ * in one pass of its render. They have no colliders; instead, falling particles land on
+ * the ground given by a {@link GroundHeight} function.
+ * <p>Every particle goes through the same cycle: it stays at its origin for a random
+ * time, swaying (see {@link #setSway}); it then detaches and falls while drifting sideways
+ * and fading out (see {@link #setFall}), lands if it reaches the ground, and after another
+ * random time it respawns at its origin (see {@link #setLifetimes}).</p>
+ * <p>The system's own position and dimensions are those given to its constructor
+ * (normally the area of the particles' origins); particles that fall away from it are
+ * still drawn, and are included in its {@link #getVisibleTopLeftCorner() visible area}.</p>
+ */
+public class ParticleSystem extends GameObject {
+    /**
+     * The height (y-coordinate) of the ground at a given x-coordinate
+     */
+    @FunctionalInterface
+    public static interface GroundHeight {
+        /**
+         * Returns the y-coordinate of the ground's surface at x
+         */
+        float heightAt(float x);
+    }
+
+    private static final byte ATTACHED = 0, FALLING = 1, LANDED = 2;
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final GameClock clock;
+    private final Vector2 particleDimensions;
+    private final Renderable[] renderables;
+    //drawn from in parallel updates, so not the game's shared source
+    private final Random random = GameRandom.fork();
+    private GroundHeight groundHeight;
+
+    /*** lifetimes ***/
+    private float minAttachedTime = 1, maxAttachedTime = 1;
+    private float minDetachedTime = 1, maxDetachedTime = 1;
+
+    /*** fall ***/
+    private float fallSpeed = 0, driftSpeed = 0, driftTransitionTime = 1, fadeOutTime = 0;
+
+    /*** sway, null for none ***/
+    private ProceduralSway sway;
+    private float maxSwayPhase = 0;
+
+    /*** particle state, one entry per particle ***/
+    private int count = 0;
+    private float[] x, y, originX, originY;
+    //time left until detaching (when attached) or until respawning (otherwise)
+    private float[] timer;
+    //time since detaching
+    private float[] age;
+    private float[] swayPhase;
+    private byte[] state;
+    private short[] renderableIndex;
+
+    //the extent of the particles' top-left corners as of the last update
+    private float particlesMinX, particlesMinY, particlesMaxX, particlesMaxY;
+
+    private final MutableVector2 drawTopLeftCorner = new MutableVector2();
+    private final MutableVector2 drawDimensions = new MutableVector2();
+    private final MutableVector2 visibleTopLeftCorner = new MutableVector2();
+    private final MutableVector2 visibleDimensions = new MutableVector2();
+
+    /**
+     * Construct a new, empty particle system.
+     * @param topLeftCorner Position of the system, in world coordinates.
+     * @param dimensions Dimensions of the system.
+     * @param particleDimensions Width and height of every particle.
+     * @param renderables The Renderables particles can be drawn with; every particle
+     *                    is given one of them by index when added.
+     * @param clock The clock the sway follows, normally the GameManager's.
+     */
+    public ParticleSystem(Vector2 topLeftCorner, Vector2 dimensions, Vector2 particleDimensions,
+                          Renderable[] renderables, GameClock clock) {
+        super(topLeftCorner, dimensions, null);
+        if(particleDimensions == null || renderables == null || clock == null)
+            throw new NullPointerException("Invalid parameters for ParticleSystem");
+        this.particleDimensions = particleDimensions.getImmutableCopy();
+        this.renderables = renderables.clone();
+        this.clock = clock;
+        allocate(INITIAL_CAPACITY);
+        clearParticles();
+    }
+
+    /**
+     * Set the ground falling particles land on. If null (the default), particles
+     * fall until they respawn.
+     */
+    public void setGroundHeight(GroundHeight groundHeight) {
+        this.groundHeight = groundHeight;
+    }
+
+    /**
+     * Set the random ranges, in seconds, of how long a particle stays at its origin and of
+     * how long it takes from detaching until it respawns.
+     */
+    public void setLifetimes(float minAttachedTime, float maxAttachedTime,
+                             float minDetachedTime, float maxDetachedTime) {
+        this.minAttachedTime = minAttachedTime;
+        this.maxAttachedTime = maxAttachedTime;
+        this.minDetachedTime = minDetachedTime;
+        this.maxDetachedTime = maxDetachedTime;
+    }
+
+    /**
+     * Set how detached particles fall.
+     * @param fallSpeed Vertical speed, in pixels per second.
+     * @param driftSpeed The sideways speed goes back and forth between -driftSpeed and driftSpeed.
+     * @param driftTransitionTime The time, in seconds, to go from one edge of the drift to the other.
+     * @param fadeOutTime The time it takes a detached particle to become invisible.
+     *                    0 means particles don't fade.
+     */
+    public void setFall(float fallSpeed, float driftSpeed, float driftTransitionTime, float fadeOutTime) {
+        this.fallSpeed = fallSpeed;
+        this.driftSpeed = driftSpeed;
+        this.driftTransitionTime = driftTransitionTime;
+        this.fadeOutTime = fadeOutTime;
+    }
+
+    /**
+     * Set the back-and-forth sway of particles that haven't landed, as in
+     * {@link ProceduralSway}.
+     * @param transitionTime The time for a single transition from edge to edge, in seconds.
+     * @param maxPhase Every particle is given a random phase up to this value, in seconds.
+     * @param fromAngle The angle, in degrees counterclockwise, at one edge.
+     * @param toAngle The angle at the other edge.
+     * @param fromScale The scale of the particle at one edge, about its center.
+     * @param toScale The scale at the other edge.
+     */
+    public void setSway(float transitionTime, float maxPhase, float fromAngle, float toAngle,
+                        Vector2 fromScale, Vector2 toScale) {
+        this.sway = new ProceduralSway(clock, transitionTime, 0, fromAngle, toAngle, fromScale, toScale);
+        this.maxSwayPhase = maxPhase;
+    }
+
+    /**
+     * Add a particle whose origin is at the given top-left corner.
+     * @param renderableIndex the index of the particle's Renderable among those supplied
+     *                        to the constructor
+     * @return the particle's index
+     */
+    public int addParticle(float x, float y, int renderableIndex) {
+        if(renderableIndex < 0 || renderableIndex >= renderables.length)
+            throw new IndexOutOfBoundsException(renderableIndex);
+        if(count == this.x.length)
+            allocate(count * 2);
+        int i = count++;
+        this.x[i] = originX[i] = x;
+        this.y[i] = originY[i] = y;
+        this.renderableIndex[i] = (short)renderableIndex;
+        swayPhase[i] = random.nextFloat() * maxSwayPhase;
+        attach(i);
+        includeInExtent(x, y);
+        return i;
+    }
+
+    /**
+     * Remove all particles
+     */
+    public void clearParticles() {
+        count = 0;
+        particlesMinX = particlesMinY = Float.POSITIVE_INFINITY;
+        particlesMaxX = particlesMaxY = Float.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * The number of particles
+     */
+    public int particleCount() {
+        return count;
+    }
+
+    /**
+     * Removes all the particles when the system is returned to a pool.
+     */
+    @Override
+    public void onRelease() {
+        super.onRelease();
+        clearParticles();
+    }
+
+    @Override
+    public void update(float deltaTime) {
+        super.update(deltaTime);
+        float particleWidth = particleDimensions.x(), particleHeight = particleDimensions.y();
+        float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY;
+        for(int i = 0; i < count; i++) {
+            timer[i] -= deltaTime;
+            if(state[i] == ATTACHED) {
+                if(timer[i] <= 0)
+                    detach(i);
+            }
+            else if(timer[i] <= 0) {
+                attach(i);
+            }
+            else {
+                age[i] += deltaTime;
+                if(state[i] == FALLING)
+                    fall(i, deltaTime, particleWidth, particleHeight);
+            }
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+        particlesMinX = minX;
+        particlesMinY = minY;
+        particlesMaxX = maxX;
+        particlesMaxY = maxY;
+    }
+
+    private void fall(int i, float deltaTime, float particleWidth, float particleHeight) {
+        x[i] += drift(age[i]) * deltaTime;
+        y[i] += fallSpeed * deltaTime;
+        if(groundHeight != null) {
+            float ground = groundHeight.heightAt(x[i] + 0.5f * particleWidth);
+            if(y[i] + particleHeight >= ground) {
+                y[i] = ground - particleHeight;
+                state[i] = LANDED;
+            }
+        }
+    }
+
+    /**
+     * The top-left corner of the area covering both the system's own rectangle and its
+     * particles (as of the last update), wherever they fell to.
+     */
+    @Override
+    public Vector2 getVisibleTopLeftCorner() {
+        visibleTopLeftCorner.setXY(Math.min(getTopLeftCorner().x(), particlesMinX),
+                Math.min(getTopLeftCorner().y(), particlesMinY));
+        return visibleTopLeftCorner;
+    }
+
+    /**
+     * The dimensions of the area covering both the system's own rectangle and its particles.
+     * @see #getVisibleTopLeftCorner()
+     */
+    @Override
+    public Vector2 getVisibleDimensions() {
+        var topLeftCorner = getVisibleTopLeftCorner();
+        float maxX = Math.max(getTopLeftCorner().x() + getDimensions().x(),
+                particlesMaxX + particleDimensions.x());
+        float maxY = Math.max(getTopLeftCorner().y() + getDimensions().y(),
+                particlesMaxY + particleDimensions.y());
+        visibleDimensions.setXY(maxX - topLeftCorner.x(), maxY - topLeftCorner.y());
+        return visibleDimensions;
+    }
+
+    @Override
+    public void render(Graphics2D g, Camera camera) {
+        draw(g, null, camera);
+    }
+
+    /**
+     * Records the visible particles, already in screen coordinates.
+     */
+    @Override
+    public void record(RenderCommandBuffer buffer, Camera camera) {
+        draw(null, buffer, camera);
+    }
+
+    //renders the visible particles, or records them if the buffer isn't null
+    private void draw(Graphics2D g, RenderCommandBuffer buffer, Camera camera) {
+        //from world coordinates to screen coordinates: screen = (world - offset) * factor
+        float factorX = 1, factorY = 1, offsetX = 0, offsetY = 0;
+        float screenWidth = Float.POSITIVE_INFINITY, screenHeight = Float.POSITIVE_INFINITY;
+        if(camera != null && getCoordinateSpace() == CoordinateSpace.WORLD_COORDINATES) {
+            factorX = camera.windowDimensions().x() / camera.getDimensions().x();
+            factorY = camera.windowDimensions().y() / camera.getDimensions().y();
+            offsetX = camera.transform().getRenderTopLeftCorner().x();
+            offsetY = camera.transform().getRenderTopLeftCorner().y();
+            screenWidth = camera.windowDimensions().x();
+            screenHeight = camera.windowDimensions().y();
+        }
+        float width = particleDimensions.x() * factorX, height = particleDimensions.y() * factorY;
+        for(int i = 0; i < count; i++) {
+            float screenX = (x[i] - offsetX) * factorX, screenY = (y[i] - offsetY) * factorY;
+            //skip particles that are entirely off-screen (with a margin for the sway)
+            if(screenX > screenWidth + width || screenY > screenHeight + height
+                    || screenX < -2 * width || screenY < -2 * height)
+                continue;
+            float opaqueness = opaqueness(i);
+            if(opaqueness <= 0)
+                continue;
+            float angle = 0, scaleX = 1, scaleY = 1;
+            if(sway != null && state[i] != LANDED) {
+                float t = sway.t(swayPhase[i]);
+                angle = sway.angleAt(t);
+                scaleX = sway.scaleXAt(t);
+                scaleY = sway.scaleYAt(t);
+            }
+            drawDimensions.setXY(width * scaleX, height * scaleY);
+            drawTopLeftCorner.setXY(
+                    screenX + 0.5f * (width - drawDimensions.x()),
+                    screenY + 0.5f * (height - drawDimensions.y()));
+            if(buffer != null)
+                buffer.add(renderables[renderableIndex[i]], drawTopLeftCorner, drawDimensions,
+                        angle, false, false, opaqueness, CoordinateSpace.CAMERA_COORDINATES);
+            else
+                renderables[renderableIndex[i]].render(g, drawTopLeftCorner, drawDimensions,
+                        angle, false, false, opaqueness);
+        }
+    }
+
+    private void includeInExtent(float x, float y) {
+        particlesMinX = Math.min(particlesMinX, x);
+        particlesMinY = Math.min(particlesMinY, y);
+        particlesMaxX = Math.max(particlesMaxX, x);
+        particlesMaxY = Math.max(particlesMaxY, y);
+    }
+
+    private void attach(int i) {
+        x[i] = originX[i];
+        y[i] = originY[i];
+        age[i] = 0;
+        state[i] = ATTACHED;
+        timer[i] = randomInRange(minAttachedTime, maxAttachedTime);
+    }
+
+    private void detach(int i) {
+        age[i] = 0;
+        state[i] = FALLING;
+        timer[i] = randomInRange(minDetachedTime, maxDetachedTime);
+    }
+
+    private float opaqueness(int i) {
+        if(state[i] == ATTACHED || fadeOutTime <= 0)
+            return 1;
+        return Math.max(0, 1 - age[i] / fadeOutTime);
+    }
+
+    //goes back and forth between -driftSpeed and driftSpeed, starting from -driftSpeed
+    private float drift(float age) {
+        return (2 * ProceduralSway.backAndForth(age, driftTransitionTime) - 1) * driftSpeed;
+    }
+
+    private float randomInRange(float min, float max) {
+        return min + random.nextFloat() * (max - min);
+    }
+
+    private void allocate(int capacity) {
+        x = copyOf(x, capacity);
+        y = copyOf(y, capacity);
+        originX = copyOf(originX, capacity);
+        originY = copyOf(originY, capacity);
+        timer = copyOf(timer, capacity);
+        age = copyOf(age, capacity);
+        swayPhase = copyOf(swayPhase, capacity);
+        state = state == null ? new byte[capacity] : Arrays.copyOf(state, capacity);
+        renderableIndex = renderableIndex == null ?
+                new short[capacity] : Arrays.copyOf(renderableIndex, capacity);
+    }
+
+    private static float[] copyOf(float[] array, int capacity) {
+        return array == null ? new float[capacity] : Arrays.copyOf(array, capacity);
+    }
+}
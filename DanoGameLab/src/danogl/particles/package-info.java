@@ -0,0 +1,5 @@
+/**
+ * Particle systems: many small, short-lived visual elements simulated and
+ * drawn by a single GameObject.
+ */
+package danogl.particles;
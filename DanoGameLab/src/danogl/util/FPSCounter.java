@@ -10,7 +10,9 @@ import java.awt.*;
 /**
  * A factory for a GameObject that displays the frames-per-second.
  * @author Dan Nirel
+ * @deprecated Use {@link ProfilerOverlay}, which also shows where the frames' time goes.
  */
+@Deprecated
 public class FPSCounter {
     private static final float TIME_BETWEEN_FPS_REFRESHES = 0.5f;
 
@@ -0,0 +1,12 @@
+package danogl.util;
+
+/**
+ * Like java.util.function.Consumer&lt;Float&gt;, without boxing the value.
+ */
+@FunctionalInterface
+public interface FloatConsumer {
+    /**
+     * Performs this operation on the given value
+     */
+    void accept(float value);
+}
@@ -0,0 +1,104 @@
+package danogl.util;
+
+import java.util.ArrayDeque;
+
+/**
+ * Runs deferrable work in the spare time at the end of frames, instead of inside an update.
+ * Work is submitted as {@link Task}s that do a small slice of the work at a time; the executor
+ * runs slices, round-robin among the pending tasks, until the time it was given runs out.
+ * <p>A GameManager owns one executor, and the window runs it after every frame, before sleeping
+ * away what remains of the frame's budget. At least one slice is run every frame, so
+ * work progresses even when frames have no spare time.</p>
+ * <p>Tasks run on the game's thread, between frames, so they may access game objects freely.</p>
+ */
+public class FrameBudgetExecutor {
+    /**
+     * A piece of work that is done in slices.
+     */
+    @FunctionalInterface
+    public static interface Task {
+        /**
+         * Do the next slice of the work. A slice should be short compared to a frame -
+         * a fraction of a millisecond.
+         * @return true if the work is done, false if there are more slices to run
+         */
+        boolean runSlice();
+    }
+
+    private final ArrayDeque<Task> tasks = new ArrayDeque<>();
+
+    /**
+     * Queue work to be done in slices.
+     */
+    public void submit(Task task) {
+        if(task == null)
+            throw new NullPointerException("Invalid task for FrameBudgetExecutor");
+        tasks.addLast(task);
+    }
+
+    /**
+     * Queue work that is done in a single slice.
+     */
+    public void submit(Runnable task) {
+        if(task == null)
+            throw new NullPointerException("Invalid task for FrameBudgetExecutor");
+        tasks.addLast(() -> {
+            task.run();
+            return true;
+        });
+    }
+
+    /**
+     * Run slices of the pending tasks for (about) the given time. At least one slice is run
+     * if any task is pending; no slice is started after the time runs out.
+     * @param budgetNanos the time available, in nanoseconds
+     * @return the number of slices run
+     */
+    public int runFor(long budgetNanos) {
+        long deadline = System.nanoTime() + budgetNanos;
+        int slices = 0;
+        do {
+            if(!runSlice())
+                return slices;
+            slices++;
+        } while(System.nanoTime() - deadline < 0);
+        return slices;
+    }
+
+    /**
+     * Run the given number of slices of the pending tasks, or fewer if the tasks run out,
+     * however long they take. Unlike {@link #runFor(long)}, the work done doesn't depend on
+     * the speed of the machine, so a recorded game can be replayed exactly.
+     * @return the number of slices run
+     */
+    public int runSlices(int count) {
+        int slices = 0;
+        while(slices < count && runSlice())
+            slices++;
+        return slices;
+    }
+
+    //returns false if no task is pending
+    private boolean runSlice() {
+        Task task = tasks.pollFirst();
+        if(task == null)
+            return false;
+        if(!task.runSlice())
+            tasks.addLast(task);
+        return true;
+    }
+
+    /**
+     * The number of pending tasks
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Drop all pending tasks
+     */
+    public void clear() {
+        tasks.clear();
+    }
+}
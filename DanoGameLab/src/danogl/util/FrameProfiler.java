@@ -0,0 +1,225 @@
+package danogl.util;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+
+/**
+ * Measures how long the phases of a game's frames take - updating the objects, their
+ * components and the camera, flushing the collection, handling collisions, rendering and
+ * flipping the buffers - and keeps a {@link LogHistogram} of every phase, to show where
+ * a frame's time goes.
+ * <p>A GameManager owns one, which the engine feeds every frame; measuring a phase costs
+ * two reads of the clock. The histograms can be read in code, watched over JMX
+ * (see {@link #registerMBean(String)}) or shown on screen (see {@link ProfilerOverlay}).
+ * When the game is simulated in fixed steps, the phases of the update are measured per step.</p>
+ * <p>The profiler also sums the time of every phase over the current frame
+ * (see {@link #frameNanos(Phase)}), which the window reports to the JDK Flight Recorder.</p>
+ */
+public class FrameProfiler implements FrameProfilerMXBean {
+    private static final String MBEAN_NAME_FORMAT = "danogl:type=FrameProfiler,name=%s";
+    private static final double NANOS_PER_MILLI = 1_000_000d;
+
+    /**
+     * The measured phases of a frame
+     */
+    public enum Phase {
+        /** running the scheduled tasks that are due */
+        TIMERS("timers"),
+        /** updating the GameObjects */
+        OBJECT_UPDATES("objects"),
+        /** updating the components of the GameObjects */
+        COMPONENT_UPDATES("components"),
+        /** updating the camera */
+        CAMERA_UPDATE("camera"),
+        /** moving objects attached to others */
+        TRANSFORMS("transforms"),
+        /** applying the additions and removals of GameObjects */
+        COLLECTION_FLUSH("flush"),
+        /** detecting and reporting collisions */
+        COLLISIONS("collisions"),
+        /** rendering the GameObjects, or recording them when rendering is pipelined */
+        RENDER("render"),
+        /** drawing recorded render commands */
+        RASTERIZE("rasterize"),
+        /** presenting the drawn frame */
+        BUFFER_FLIP("flip"),
+        /** the work run in the spare time after a frame */
+        IDLE_WORK("idle work"),
+        /** the whole frame, from its start up to its idle work */
+        FRAME("frame");
+
+        private final String displayName;
+
+        Phase(String displayName) {
+            this.displayName = displayName;
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LogHistogram[] histograms = new LogHistogram[PHASES.length];
+    //the time of every phase in the current frame; rasterizing may be added by the render thread
+    private final AtomicLongArray frameNanos = new AtomicLongArray(PHASES.length);
+    private volatile boolean isEnabled = true;
+    private ObjectName mbeanName;
+
+    public FrameProfiler() {
+        for(int i = 0; i < histograms.length; i++)
+            histograms[i] = new LogHistogram();
+    }
+
+    /**
+     * Start measuring a phase
+     * @return the time now, to be passed to {@link #lap}, or 0 if the profiler is disabled
+     */
+    public long start() {
+        return isEnabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * End the measurement of a phase, which is also the start of the next one
+     * @param phase the phase that ended
+     * @param startNanos the phase's start, as returned by {@link #start()} or by the
+     *                   previous call to this method
+     * @return the time now, the start of the next phase, or 0 if the profiler is disabled
+     */
+    public long lap(Phase phase, long startNanos) {
+        if(!isEnabled)
+            return 0;
+        long now = System.nanoTime();
+        //the profiler was enabled in the middle of the phase
+        if(startNanos != 0) {
+            histograms[phase.ordinal()].record(now - startNanos);
+            frameNanos.addAndGet(phase.ordinal(), now - startNanos);
+        }
+        return now;
+    }
+
+    /**
+     * Start a new frame, from which {@link #frameNanos(Phase)} is summed. Called by the window.
+     */
+    public void beginFrame() {
+        for(int i = 0; i < PHASES.length; i++)
+            frameNanos.set(i, 0);
+    }
+
+    /**
+     * The total time the given phase took so far in the current frame, in nanoseconds
+     */
+    public long frameNanos(Phase phase) {
+        return frameNanos.get(phase.ordinal());
+    }
+
+    /**
+     * The durations of the given phase
+     */
+    public LogHistogram histogram(Phase phase) {
+        return histograms[phase.ordinal()];
+    }
+
+    /**
+     * Make the profiler visible to JMX tools, under the name
+     * "danogl:type=FrameProfiler,name=&lt;name&gt;". Failing to register is not an error
+     * for the game, so is only reported to the standard error stream.
+     * @param name the name of the game; games with the same name can't both be registered
+     */
+    public void registerMBean(String name) {
+        unregisterMBean();
+        try {
+            var objectName = new ObjectName(String.format(MBEAN_NAME_FORMAT, ObjectName.quote(name)));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, objectName);
+            mbeanName = objectName;
+        }
+        catch (JMException e) {
+            System.err.println("Failed to register the frame profiler with JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Stop being visible to JMX tools, if registered
+     */
+    public void unregisterMBean() {
+        if(mbeanName == null)
+            return;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(mbeanName);
+        }
+        catch (JMException ignored) { }
+        mbeanName = null;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return isEnabled;
+    }
+
+    @Override
+    public void setEnabled(boolean isEnabled) {
+        this.isEnabled = isEnabled;
+    }
+
+    @Override
+    public long getFrameCount() {
+        return histogram(Phase.FRAME).count();
+    }
+
+    @Override
+    public Map<String, Long> getP50Nanos() {
+        return perPhase(histogram -> histogram.percentile(50));
+    }
+
+    @Override
+    public Map<String, Long> getP95Nanos() {
+        return perPhase(histogram -> histogram.percentile(95));
+    }
+
+    @Override
+    public Map<String, Long> getP99Nanos() {
+        return perPhase(histogram -> histogram.percentile(99));
+    }
+
+    @Override
+    public Map<String, Long> getMaxNanos() {
+        return perPhase(LogHistogram::max);
+    }
+
+    @Override
+    public String getSummary() {
+        var summary = new StringBuilder(String.format("%-11s %7s %7s %7s %7s (ms)",
+                "phase", "p50", "p95", "p99", "max"));
+        for(var phase : PHASES) {
+            var histogram = histogram(phase);
+            if(histogram.count() == 0)
+                continue;
+            summary.append(String.format("\n%-11s %7.2f %7.2f %7.2f %7.2f", phase,
+                    histogram.percentile(50) / NANOS_PER_MILLI,
+                    histogram.percentile(95) / NANOS_PER_MILLI,
+                    histogram.percentile(99) / NANOS_PER_MILLI,
+                    histogram.max() / NANOS_PER_MILLI));
+        }
+        return summary.toString();
+    }
+
+    @Override
+    public void reset() {
+        for(var histogram : histograms)
+            histogram.clear();
+    }
+
+    private Map<String, Long> perPhase(ToLongFunction<LogHistogram> statistic) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for(var phase : PHASES)
+            values.put(phase.toString(), statistic.applyAsLong(histogram(phase)));
+        return values;
+    }
+}
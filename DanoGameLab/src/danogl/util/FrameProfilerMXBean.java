@@ -0,0 +1,55 @@
+package danogl.util;
+
+import java.util.Map;
+
+/**
+ * The management interface of a {@link FrameProfiler}, through which the durations of the
+ * phases of a running game's frames can be watched with JMX tools such as JConsole or
+ * VisualVM. Durations are in nanoseconds, keyed by the phases' names.
+ */
+public interface FrameProfilerMXBean {
+    /**
+     * Is the profiler measuring
+     */
+    boolean isEnabled();
+
+    /**
+     * Start or stop measuring
+     */
+    void setEnabled(boolean isEnabled);
+
+    /**
+     * The number of frames measured
+     */
+    long getFrameCount();
+
+    /**
+     * The median duration of every phase
+     */
+    Map<String, Long> getP50Nanos();
+
+    /**
+     * The 95th percentile of the duration of every phase
+     */
+    Map<String, Long> getP95Nanos();
+
+    /**
+     * The 99th percentile of the duration of every phase
+     */
+    Map<String, Long> getP99Nanos();
+
+    /**
+     * The longest duration of every phase
+     */
+    Map<String, Long> getMaxNanos();
+
+    /**
+     * A table of the phases' percentiles, in milliseconds
+     */
+    String getSummary();
+
+    /**
+     * Drop all measurements
+     */
+    void reset();
+}
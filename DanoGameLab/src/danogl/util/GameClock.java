@@ -0,0 +1,68 @@
+package danogl.util;
+
+/**
+ * The game-time of a running game: the sum of the deltaTimes of all updates so far.
+ * A GameManager owns one clock, advances it at the start of every update and makes it
+ * part of the game's {@link danogl.GameServices#current() current services}.
+ * Anything that is a pure function of time (such as a shared-clock AnimationRenderable)
+ * can read it instead of accumulating time in its own update.
+ * <p>When the game is simulated in fixed steps (see
+ * {@link danogl.gui.WindowController#setFixedTimestep(float)}), frames are rendered in between
+ * steps, and the clock also holds how far into the next step the frame is,
+ * by which positions are interpolated (see {@link danogl.components.Transform#getRenderTopLeftCorner()}).</p>
+ */
+public class GameClock {
+
+    private double time = 0;
+    private long steps = 0;
+    private boolean isInterpolating = false;
+    private float interpolation = 1;
+
+    /**
+     * The game-time, in seconds, since the clock was created.
+     */
+    public double time() {
+        return time;
+    }
+
+    /**
+     * Advance the clock by the given time, in seconds.
+     */
+    public void advance(float deltaTime) {
+        time += deltaTime;
+        steps++;
+    }
+
+    /**
+     * The number of times the clock was advanced (the number of updates so far)
+     */
+    public long steps() {
+        return steps;
+    }
+
+    /**
+     * Should rendered positions be interpolated between the last two updates
+     */
+    public boolean isInterpolating() {
+        return isInterpolating;
+    }
+
+    /**
+     * The fraction, between 0 and 1, of a step that passed since the last update. Meaningless
+     * if not interpolating.
+     */
+    public float interpolation() {
+        return interpolation;
+    }
+
+    /**
+     * Set whether rendered positions are interpolated, and by how much. Normally called by
+     * the GameManager before rendering.
+     * @param interpolation The fraction, between 0 and 1, of a step that passed since
+     *                      the last update.
+     */
+    public void setInterpolation(boolean isInterpolating, float interpolation) {
+        this.isInterpolating = isInterpolating;
+        this.interpolation = Math.max(0, Math.min(1, interpolation));
+    }
+}
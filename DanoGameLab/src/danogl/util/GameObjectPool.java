@@ -0,0 +1,69 @@
+package danogl.util;
+
+import danogl.GameObject;
+
+import java.util.ArrayDeque;
+import java.util.function.Supplier;
+
+/**
+ * A free-list of GameObjects of a single type. Instead of creating a new object
+ * and throwing it away once it's no longer needed, acquire one from the pool and
+ * release it back when done. Released objects are reset via {@link GameObject#onRelease()}
+ * and prepared for reuse via {@link GameObject#onAcquire()}.
+ * <br>Note that the pool does not remove the object from any GameObjectCollection;
+ * this is the responsibility of the caller, and should be done before (or together with)
+ * releasing the object.
+ * @param <T> The type of the pooled objects
+ * @see GameObjectPools
+ */
+public class GameObjectPool<T extends GameObject> {
+    private final Supplier<T> factory;
+    private final ArrayDeque<T> freeObjects = new ArrayDeque<>();
+
+    /**
+     * Create an empty pool.
+     * @param factory Used to create a new object whenever the pool is empty.
+     *                Objects created by the factory are handed out as-is,
+     *                without a call to onAcquire.
+     */
+    public GameObjectPool(Supplier<T> factory) {
+        if(factory == null)
+            throw new NullPointerException("A pool requires a factory");
+        this.factory = factory;
+    }
+
+    /**
+     * Returns an object from the pool, or a new object if the pool is empty.
+     */
+    public T acquire() {
+        T obj = freeObjects.pollLast();
+        if(obj == null)
+            return factory.get();
+        obj.onAcquire();
+        return obj;
+    }
+
+    /**
+     * Return an object to the pool. Its onRelease method is called immediately.
+     * The object should no longer be used by the caller.
+     */
+    public void release(T obj) {
+        obj.onRelease();
+        freeObjects.addLast(obj);
+    }
+
+    /**
+     * Create objects up front until the pool holds at least the given number of free objects.
+     */
+    public void prefill(int freeObjectsCount) {
+        while(freeObjects.size() < freeObjectsCount)
+            freeObjects.addLast(factory.get());
+    }
+
+    /**
+     * The number of free objects currently waiting in the pool.
+     */
+    public int size() {
+        return freeObjects.size();
+    }
+}
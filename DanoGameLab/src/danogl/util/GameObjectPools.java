@@ -0,0 +1,61 @@
+package danogl.util;
+
+import danogl.GameObject;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A set of {@link GameObjectPool}s keyed by the concrete type of the pooled objects.
+ * A GameManager holds one such instance (see GameManager.gameObjectPools()).
+ */
+public class GameObjectPools {
+    private final Map<Class<?>, GameObjectPool<?>> pools = new HashMap<>();
+
+    /**
+     * Register a pool for the given type. If such a pool already exists, it is returned
+     * and the factory is ignored.
+     * @param type The concrete type of the pooled objects. Objects are released
+     *             to the pool matching their exact class.
+     * @param factory Creates new objects of the type when the pool is empty.
+     * @return the pool for the type
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends GameObject> GameObjectPool<T> register(Class<T> type, Supplier<T> factory) {
+        return (GameObjectPool<T>)pools.computeIfAbsent(type, key -> new GameObjectPool<>(factory));
+    }
+
+    /**
+     * Returns the pool registered for the given type, or null if there isn't one.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends GameObject> GameObjectPool<T> get(Class<T> type) {
+        return (GameObjectPool<T>)pools.get(type);
+    }
+
+    /**
+     * Acquire an object of the given type.
+     * @throws IllegalStateException if no pool was registered for the type
+     */
+    public <T extends GameObject> T acquire(Class<T> type) {
+        var pool = get(type);
+        if(pool == null)
+            throw new IllegalStateException("No pool registered for " + type.getName());
+        return pool.acquire();
+    }
+
+    /**
+     * Release an object to the pool registered for its class.
+     * @return false if there's no pool for the object's class, in which case
+     * the object is left untouched.
+     */
+    @SuppressWarnings("unchecked")
+    public boolean release(GameObject obj) {
+        var pool = (GameObjectPool<GameObject>)pools.get(obj.getClass());
+        if(pool == null)
+            return false;
+        pool.release(obj);
+        return true;
+    }
+}
@@ -0,0 +1,45 @@
+package danogl.util;
+
+import danogl.GameServices;
+
+import java.util.Random;
+
+/**
+ * The source of randomness of a running game. A GameManager owns one, seeded at the start of
+ * every game (see {@link danogl.GameManager#setRandomSeed(long)}), and makes it the
+ * source of the game's {@link danogl.GameServices#current() current services}. When all of a game's randomness is
+ * drawn from it, a game started with the same seed and fed the same input and frame times
+ * plays out identically (see {@link danogl.gui.InputReplay}).
+ * <p>Numbers must be drawn in the same order in every run, so code that runs in parallel
+ * (such as a {@link danogl.ParallelUpdatable}'s update) should draw from its own
+ * {@link #fork()}, created on the game's thread, rather than from the shared source.</p>
+ */
+public class GameRandom extends Random {
+    private static final long serialVersionUID = 1L;
+
+    private final long seed;
+
+    /**
+     * Create a source seeded with the given seed
+     */
+    public GameRandom(long seed) {
+        super(seed);
+        this.seed = seed;
+    }
+
+    /**
+     * A new Random for the exclusive use of an object, seeded from the current game's
+     * source, or with an arbitrary seed if this thread isn't running a game.
+     */
+    public static Random fork() {
+        var services = GameServices.current();
+        return services == null ? new Random() : new Random(services.random().nextLong());
+    }
+
+    /**
+     * The seed the source was created with
+     */
+    public long seed() {
+        return seed;
+    }
+}
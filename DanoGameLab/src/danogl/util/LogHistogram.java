@@ -0,0 +1,104 @@
+package danogl.util;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of durations whose buckets widen with the value (log-linear buckets, as in
+ * HdrHistogram), so that its percentiles are accurate to about 1.5% of the value whether
+ * it's a few microseconds or a few seconds. Unlike a {@link RollingHistogram}, it counts
+ * every sample since it was last cleared, which suits profiling a whole session.
+ * <p>Recording a sample is constant-time and allocates nothing. The histogram may be
+ * read from other threads than the ones recording it.</p>
+ */
+public class LogHistogram {
+    //values below SUB_BUCKETS have a bucket each; above, every power of two is split into
+    //HALF_SUB_BUCKETS buckets
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    //longer samples (about 18 minutes) are counted as this
+    private static final long MAX_TRACKABLE_NANOS = (1L << 40) - 1;
+    private static final int BUCKETS = bucketOf(MAX_TRACKABLE_NANOS) + 1;
+
+    private final int[] bucketCounts = new int[BUCKETS];
+    private long count = 0;
+    private long sum = 0;
+    private long max = 0;
+
+    /**
+     * Add a sample
+     * @param nanos the sample, in nanoseconds. Negative samples count as 0.
+     */
+    public synchronized void record(long nanos) {
+        nanos = Math.min(Math.max(0, nanos), MAX_TRACKABLE_NANOS);
+        bucketCounts[bucketOf(nanos)]++;
+        count++;
+        sum += nanos;
+        max = Math.max(max, nanos);
+    }
+
+    /**
+     * The number of samples
+     */
+    public synchronized long count() {
+        return count;
+    }
+
+    /**
+     * The mean of the samples, in nanoseconds, or 0 if there are none
+     */
+    public synchronized double mean() {
+        return count == 0 ? 0 : (double)sum / count;
+    }
+
+    /**
+     * The longest sample, in nanoseconds, or 0 if there are none
+     */
+    public synchronized long max() {
+        return max;
+    }
+
+    /**
+     * The value below which the given percentage of the samples fall, in nanoseconds:
+     * the highest value of the bucket it falls in, but no more than the maximum.
+     * @param percent between 0 and 100, for example 99 for the 99th percentile
+     */
+    public synchronized long percentile(double percent) {
+        if(count == 0)
+            return 0;
+        long rank = (long)Math.ceil(Math.min(Math.max(percent, 0), 100) / 100 * count);
+        rank = Math.max(1, rank);
+        long seen = 0;
+        for(int i = 0; i < bucketCounts.length; i++) {
+            seen += bucketCounts[i];
+            if(seen >= rank)
+                return Math.min(highestValueOf(i), max);
+        }
+        return max;
+    }
+
+    /**
+     * Drop all samples
+     */
+    public synchronized void clear() {
+        Arrays.fill(bucketCounts, 0);
+        count = sum = max = 0;
+    }
+
+    private static int bucketOf(long nanos) {
+        if(nanos < SUB_BUCKETS)
+            return (int)nanos;
+        //the value's top bits, from its most significant one, select the bucket
+        int shift = 63 - Long.numberOfLeadingZeros(nanos) - (SUB_BUCKET_BITS - 1);
+        int top = (int)(nanos >>> shift);
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + top - HALF_SUB_BUCKETS;
+    }
+
+    private static long highestValueOf(int bucket) {
+        if(bucket < SUB_BUCKETS)
+            return bucket;
+        int shift = (bucket - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long top = (bucket - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((top + 1) << shift) - 1;
+    }
+}
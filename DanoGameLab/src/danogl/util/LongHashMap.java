@@ -0,0 +1,149 @@
+package danogl.util;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+
+/**
+ * A hash map from primitive longs to objects, using open addressing.
+ * Unlike HashMap&lt;Long, V&gt;, lookups and insertions of existing keys do not allocate.
+ * Null values are not supported: get returns null for missing keys.
+ */
+public class LongHashMap<V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final float MAX_LOAD = 0.5f;
+
+    private long[] keys;
+    private Object[] values;
+    private int size = 0;
+    private int mask;
+
+    /** Create an empty map */
+    public LongHashMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /** Number of entries in the map */
+    public int size() { return size; }
+
+    /** Is the map empty */
+    public boolean isEmpty() { return size == 0; }
+
+    /**
+     * Returns the value mapped to the key, or null if there is none.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V)values[index];
+    }
+
+    /**
+     * Map the key to the (non-null) value, replacing any previous value.
+     */
+    public void put(long key, V value) {
+        if(value == null)
+            throw new IllegalArgumentException("null values are not supported");
+        int index = probe(key);
+        if(values[index] == null) {
+            keys[index] = key;
+            size++;
+        }
+        values[index] = value;
+        if(size > MAX_LOAD * keys.length)
+            allocate(keys.length * 2);
+    }
+
+    /**
+     * Remove the key's entry.
+     * @return the removed value, or null if the key wasn't in the map.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(long key) {
+        int index = indexOf(key);
+        if(index < 0)
+            return null;
+        var removed = (V)values[index];
+        removeAt(index);
+        return removed;
+    }
+
+    /**
+     * Remove all entries whose keys match the predicate.
+     */
+    public void removeKeysIf(LongPredicate predicate) {
+        //removal shifts entries backwards, so collect first
+        long[] toRemove = null;
+        int count = 0;
+        for(int i = 0; i < keys.length; i++) {
+            if(values[i] == null || !predicate.test(keys[i]))
+                continue;
+            if(toRemove == null)
+                toRemove = new long[Math.min(size, 8)];
+            else if(count == toRemove.length)
+                toRemove = Arrays.copyOf(toRemove, count * 2);
+            toRemove[count++] = keys[i];
+        }
+        for(int i = 0; i < count; i++)
+            remove(toRemove[i]);
+    }
+
+    /** Remove all entries */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    private int indexOf(long key) {
+        int index = probe(key);
+        return values[index] == null ? -1 : index;
+    }
+
+    //the index holding the key, or the empty index where it should be inserted
+    private int probe(long key) {
+        int index = hash(key) & mask;
+        while(values[index] != null && keys[index] != key)
+            index = (index + 1) & mask;
+        return index;
+    }
+
+    private void removeAt(int index) {
+        values[index] = null;
+        size--;
+        //shift back following entries of the cluster which would no longer be found
+        int next = (index + 1) & mask;
+        while(values[next] != null) {
+            int ideal = hash(keys[next]) & mask;
+            if(((next - ideal) & mask) >= ((next - index) & mask)) {
+                keys[index] = keys[next];
+                values[index] = values[next];
+                values[next] = null;
+                index = next;
+            }
+            next = (next + 1) & mask;
+        }
+    }
+
+    private void allocate(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        size = 0;
+        if(oldKeys == null)
+            return;
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldValues[i] == null)
+                continue;
+            int index = probe(oldKeys[i]);
+            keys[index] = oldKeys[i];
+            values[index] = oldValues[i];
+            size++;
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32));
+    }
+}
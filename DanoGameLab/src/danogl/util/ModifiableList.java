@@ -109,10 +109,25 @@ public class ModifiableList<E> implements Iterable<E> {
      * Applies to the list the modifications made to it since the last call to this method.
      */
     public void flushChanges() {
-        list.removeAll(toRemove);
-        toRemove.clear();
-        list.addAll(toAdd);
+        //addAll copies its argument even when it's empty, and this runs every frame
+        if(!toRemove.isEmpty()) {
+            list.removeAll(toRemove);
+            toRemove.clear();
+        }
+        if(!toAdd.isEmpty()) {
+            list.addAll(toAdd);
+            toAdd.clear();
+        }
+    }
+
+    /**
+     * Removes all elements immediately, including the changes not yet applied
+     * by {@link #flushChanges()}. Should not be called while the list is iterated.
+     */
+    public void clear() {
+        list.clear();
         toAdd.clear();
+        toRemove.clear();
     }
 
     /**
@@ -131,6 +146,14 @@ public class ModifiableList<E> implements Iterable<E> {
         return list.size();
     }
 
+    /**
+     * Returns whether the list will be empty once the changes made since the last call
+     * to {@link #flushChanges()} are applied.
+     */
+    public boolean isEmpty() {
+        return list.size() - toRemove.size() + toAdd.size() == 0;
+    }
+
     /**
      * Returns whether the list contains a given item.
      * If the element was added after the last call to {@link #flushChanges()}, the method
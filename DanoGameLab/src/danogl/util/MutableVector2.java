@@ -1,8 +1,5 @@
 package danogl.util;
 
-import java.util.function.Function;
-import java.util.function.Supplier;
-
 /**
  * A mutable 2D vector, extending Vector2.
  * All methods are self explanatory, with most corresponding to
@@ -16,74 +13,65 @@ import java.util.function.Supplier;
  * @author Dan Nirel
  */
 public class MutableVector2 extends Vector2 {
-    private static interface FloatToVecFunction {
-        Vector2 apply(float f);
-    }
-
-    private boolean mutateSelf = false;
-
     public MutableVector2() { super(0, 0); }
     public MutableVector2(float x, float y) { super(x, y); }
     public MutableVector2(Vector2 v) { super(v); }
 
     public void setX(float x) { this.x = x; }
     public void setY(float y) { this.y = y; }
-    public void setXY(float x, float y) { setX(x); setY(y); }
-    public void setXY(Vector2 v) { setX(v.x); setY(v.y); }
-
-    public MutableVector2 selfMult(float factor) { return mutableOperator(this::mult, factor); }
-    public MutableVector2 selfMultX(float factor) { return mutableOperator(this::multX, factor); }
-    public MutableVector2 selfMultY(float factor) { return mutableOperator(this::multY, factor); }
-    public MutableVector2 selfAdd(Vector2 v) { return mutableOperator(this::add, v); }
-    public MutableVector2 selfSubtract(Vector2 v) { return mutableOperator(this::subtract, v); }
+    public void setXY(float x, float y) { this.x = x; this.y = y; }
+    public void setXY(Vector2 v) { x = v.x; y = v.y; }
 
-    public MutableVector2 selfZeroAlongNormal(Vector2 normal)
-            { return mutableOperator(this::zeroedAlongNormal, normal); }
-    public MutableVector2 selfFlip(Vector2 normal)
-            { return mutableOperator(this::flipped, normal);}
-    public MutableVector2 selfRotateToNearestAxis()
-            { return mutableOperator(this::rotatedToNearestAxis); }
-    public MutableVector2 selfRotate(float degreesCounterclockwise)
-            { return mutableOperator(this::rotated, degreesCounterclockwise); }
+    public MutableVector2 selfMult(float factor) { x *= factor; y *= factor; return this; }
+    public MutableVector2 selfMultX(float factor) { x *= factor; return this; }
+    public MutableVector2 selfMultY(float factor) { y *= factor; return this; }
+    public MutableVector2 selfAdd(Vector2 v) { x += v.x; y += v.y; return this; }
+    public MutableVector2 selfAdd(float dx, float dy) { x += dx; y += dy; return this; }
+    public MutableVector2 selfSubtract(Vector2 v) { x -= v.x; y -= v.y; return this; }
+    public MutableVector2 selfSubtract(float dx, float dy) { x -= dx; y -= dy; return this; }
 
-    public MutableVector2 selfNormalize() {
-        if(isZero())
-            setXY(ZERO);
-        else
-            selfMult(1f/magnitude());
+    public MutableVector2 selfZeroAlongNormal(Vector2 normal) {
+        float normalMag = normal.magnitude();
+        float proj = dot(normal)/normalMag;
+        x -= normal.x/normalMag*proj;
+        y -= normal.y/normalMag*proj;
         return this;
     }
 
-    @Override
-    public Vector2 getImmutableCopy() { return new Vector2(this); }
-
-    @Override
-    protected Vector2 createVec(float x, float y) {
-        if(!mutateSelf)
-            return new Vector2(x, y);
-        setX(x);
-        setY(y);
+    public MutableVector2 selfFlip(Vector2 normal) {
+        float normalMag = normal.magnitude();
+        float proj = dot(normal)/normalMag;
+        if(proj < 0) {
+            x -= normal.x*2f*proj/normalMag;
+            y -= normal.y*2f*proj/normalMag;
+        }
         return this;
     }
 
-    private MutableVector2 mutableOperator(Function<Vector2, Vector2> method, Vector2 param){
-        mutateSelf = true;
-        method.apply(param);
-        mutateSelf = false;
+    public MutableVector2 selfRotateToNearestAxis() {
+        float magnitude = magnitude();
+        if(Math.abs(x) > Math.abs(y))
+            setXY(Math.signum(x)*magnitude, 0);
+        else
+            setXY(0, Math.signum(y)*magnitude);
         return this;
     }
 
-    private MutableVector2 mutableOperator(FloatToVecFunction method, float param) {
-        mutateSelf = true;
-        method.apply(param);
-        mutateSelf = false;
+    public MutableVector2 selfRotate(float degreesCounterclockwise) {
+        double cos = Math.cos(Math.toRadians(-degreesCounterclockwise));
+        double sin = Math.sin(Math.toRadians(-degreesCounterclockwise));
+        setXY((float)(cos*x-sin*y), (float)(sin*x+cos*y));
         return this;
     }
 
-    private MutableVector2 mutableOperator(Supplier<Vector2> method) {
-        mutateSelf = true;
-        method.get();
-        mutateSelf = false;
+    public MutableVector2 selfNormalize() {
+        if(isZero())
+            setXY(ZERO);
+        else
+            selfMult(1f/magnitude());
         return this;
     }
+
+    @Override
+    public Vector2 getImmutableCopy() { return new Vector2(this); }
 }
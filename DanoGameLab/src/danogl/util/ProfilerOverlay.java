@@ -0,0 +1,59 @@
+package danogl.util;
+
+import danogl.GameObject;
+import danogl.components.CoordinateSpace;
+import danogl.components.ScheduledTask;
+import danogl.gui.rendering.TextRenderable;
+
+import java.awt.*;
+
+/**
+ * A factory for a GameObject that displays the frames-per-second and, under it, the
+ * percentiles of the durations of the phases of the frames, as measured by a
+ * {@link FrameProfiler}. Supersedes {@link FPSCounter}.
+ */
+public class ProfilerOverlay {
+    private static final float TIME_BETWEEN_REFRESHES = 0.5f;
+    private static final int GAP_BETWEEN_LINES = 4;
+    private static final double NANOS_PER_SECOND = 1_000_000_000d;
+
+    /**
+     * Create a GameObject that displays the frames-per-second and the profiler's summary
+     * (see {@link FrameProfiler#getSummary()}). The frames are counted by the profiler,
+     * so they're only counted while it is enabled. Like any GameObject, this object needs
+     * to be added to a GameObjectCollection or otherwise updated and rendered in order to work.
+     * If added to GameObjectCollection, make sure as usual to add it AFTER any other GameObjects
+     * that might occupy the same place on the screen (the last one added to a
+     * GameObjectCollection is rendered on top).
+     * @param profiler the profiler of the game, see {@link danogl.GameManager#frameProfiler()}
+     * @param topLeftCorner The upper-left corner of the overlay.
+     * @param lineHeight Height, in pixels, of a line of the overlay. This determines the font-size.
+     * @param color The color of the text
+     * @return the overlay
+     */
+    public static GameObject create(
+            FrameProfiler profiler, Vector2 topLeftCorner, int lineHeight, Color color) {
+        GameObject overlay = new GameObject(topLeftCorner, Vector2.DOWN.mult(lineHeight), null);
+        //frames are counted by the profiler, whether or not the game was updated in them
+        LogHistogram frames = profiler.histogram(FrameProfiler.Phase.FRAME);
+        long[] lastRefresh = {frames.count(), System.nanoTime()};
+        TextRenderable text = new TextRenderable("", Font.MONOSPACED);
+        text.setColor(color);
+        new ScheduledTask(
+                overlay, TIME_BETWEEN_REFRESHES, true,
+                ()->{
+                    long frameCount = frames.count();
+                    long now = System.nanoTime();
+                    int fps = (int)Math.round(
+                            (frameCount - lastRefresh[0]) * NANOS_PER_SECOND / (now - lastRefresh[1]));
+                    lastRefresh[0] = frameCount;
+                    lastRefresh[1] = now;
+                    text.setString("FPS: " + fps + "\n" + profiler.getSummary(),
+                            TextRenderable.MultilineHandling.HEIGHT_IS_FOR_SINGLE_LINE,
+                            GAP_BETWEEN_LINES);
+                });
+        overlay.renderer().setRenderable(text);
+        overlay.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
+        return overlay;
+    }
+}
@@ -0,0 +1,123 @@
+package danogl.util;
+
+import java.util.Arrays;
+
+/**
+ * A histogram of the last samples of a duration, for example of the intervals between frames.
+ * Samples are counted in buckets of a fixed width, so percentiles are accurate to a bucket;
+ * the mean, standard deviation and maximum are exact. Once the window is full, every new
+ * sample replaces the oldest one.
+ * <p>Recording a sample is constant-time and allocates nothing. The histogram may be
+ * read from other threads than the one recording it.</p>
+ */
+public class RollingHistogram {
+    private final long[] samples;
+    private final int[] bucketCounts;
+    private final long bucketWidthNanos;
+    private int next = 0;
+    private int count = 0;
+    private long sum = 0;
+    private double sumOfSquares = 0;
+
+    /**
+     * @param windowSize the number of samples the histogram describes
+     * @param bucketWidthNanos the width of a bucket, in nanoseconds
+     * @param bucketCount the number of buckets. Longer samples are counted in the last one.
+     */
+    public RollingHistogram(int windowSize, long bucketWidthNanos, int bucketCount) {
+        if(windowSize <= 0 || bucketWidthNanos <= 0 || bucketCount <= 0)
+            throw new IllegalArgumentException("Invalid dimensions for RollingHistogram");
+        samples = new long[windowSize];
+        bucketCounts = new int[bucketCount];
+        this.bucketWidthNanos = bucketWidthNanos;
+    }
+
+    /**
+     * Add a sample, dropping the oldest one if the window is full.
+     * @param nanos the sample, in nanoseconds. Negative samples count as 0.
+     */
+    public synchronized void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        if(count == samples.length) {
+            long oldest = samples[next];
+            bucketCounts[bucketOf(oldest)]--;
+            sum -= oldest;
+            sumOfSquares -= (double)oldest * oldest;
+        }
+        else {
+            count++;
+        }
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        bucketCounts[bucketOf(nanos)]++;
+        sum += nanos;
+        sumOfSquares += (double)nanos * nanos;
+    }
+
+    /**
+     * The number of samples in the window
+     */
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * The mean of the samples, in nanoseconds, or 0 if there are none
+     */
+    public synchronized double mean() {
+        return count == 0 ? 0 : (double)sum / count;
+    }
+
+    /**
+     * The standard deviation of the samples, in nanoseconds: for frame intervals, the jitter
+     */
+    public synchronized double standardDeviation() {
+        if(count == 0)
+            return 0;
+        double mean = (double)sum / count;
+        return Math.sqrt(Math.max(0, sumOfSquares / count - mean * mean));
+    }
+
+    /**
+     * The longest sample, in nanoseconds, or 0 if there are none
+     */
+    public synchronized long max() {
+        long max = 0;
+        for(int i = 0; i < count; i++)
+            max = Math.max(max, samples[i]);
+        return max;
+    }
+
+    /**
+     * The value below which the given percentage of the samples fall, in nanoseconds:
+     * the upper edge of the bucket it falls in, but no more than the maximum.
+     * @param percent between 0 and 100, for example 99 for the 99th percentile
+     */
+    public synchronized long percentile(double percent) {
+        if(count == 0)
+            return 0;
+        long rank = (long)Math.ceil(Math.min(Math.max(percent, 0), 100) / 100 * count);
+        rank = Math.max(1, rank);
+        int seen = 0;
+        for(int i = 0; i < bucketCounts.length - 1; i++) {
+            seen += bucketCounts[i];
+            if(seen >= rank)
+                return Math.min((i + 1) * bucketWidthNanos, max());
+        }
+        return max();
+    }
+
+    /**
+     * Drop all samples
+     */
+    public synchronized void clear() {
+        Arrays.fill(bucketCounts, 0);
+        next = count = 0;
+        sum = 0;
+        sumOfSquares = 0;
+    }
+
+    private int bucketOf(long nanos) {
+        return (int)Math.min(nanos / bucketWidthNanos, bucketCounts.length - 1);
+    }
+}
@@ -0,0 +1,176 @@
+package danogl.util;
+
+/**
+ * Schedules callbacks to run after a delay of game-time, using a hierarchical timing wheel:
+ * timers are kept in buckets by their deadline, at a resolution of one millisecond,
+ * and timers far in the future are kept in coarser buckets that are moved to finer ones
+ * as their deadline approaches. Advancing the time steps through the elapsed ticks (one per
+ * millisecond, or none while no timer is pending), and otherwise costs in proportion to the
+ * timers that fire or move between buckets: it doesn't depend on the number of timers pending.
+ * <p>A GameManager owns one wheel, advances it at the start of every update, and makes it
+ * part of the game's {@link danogl.GameServices#current() current services}. {@link danogl.components.ScheduledTask}
+ * uses it when available.</p>
+ */
+public class TimerWheel {
+    private static final int TICKS_PER_SECOND = 1000;
+    private static final int SLOT_BITS = 6;
+    private static final int SLOTS = 1 << SLOT_BITS;
+    private static final int SLOT_MASK = SLOTS - 1;
+    private static final int LEVELS = 4;
+    //about four and a half hours; later deadlines are re-sorted when they get closer
+    private static final long MAX_DELTA = (1L << (SLOT_BITS * LEVELS)) - 1;
+
+
+    private final Timer[][] buckets = new Timer[LEVELS][SLOTS];
+    private long currentTick = 0;
+    //the tick the running advance() is heading to, or currentTick between advances
+    private long targetTick = 0;
+    private double timeInTicks = 0;
+    private int pendingCount = 0;
+
+    /**
+     * A callback waiting in a wheel. Can be cancelled or rescheduled, including
+     * after it already fired.
+     */
+    public static final class Timer {
+        private final TimerWheel wheel;
+        private final Runnable task;
+        private long deadline;
+        private int level = -1, slot;
+        private Timer previous, next;
+
+        private Timer(TimerWheel wheel, Runnable task) {
+            this.wheel = wheel;
+            this.task = task;
+        }
+
+        /**
+         * Prevent the task from running, if it hasn't yet.
+         * @return true if the timer was pending
+         */
+        public boolean cancel() {
+            if(!isPending())
+                return false;
+            wheel.unlink(this);
+            return true;
+        }
+
+        /**
+         * Run the task after the given delay (in seconds) from now instead of when it
+         * was originally due. Can be called from within the task itself to repeat it.
+         */
+        public void reschedule(float delay) {
+            cancel();
+            wheel.insert(this, wheel.deadlineAfter(delay));
+        }
+
+        /**
+         * Is the timer waiting to fire
+         */
+        public boolean isPending() {
+            return level >= 0;
+        }
+    }
+
+    /**
+     * Run the task once, after the given delay in seconds. The actual delay is rounded up
+     * to the next call to {@link #advance(float)} after it elapses.
+     */
+    public Timer schedule(float delay, Runnable task) {
+        if(task == null)
+            throw new NullPointerException("Invalid task for TimerWheel");
+        var timer = new Timer(this, task);
+        insert(timer, deadlineAfter(delay));
+        return timer;
+    }
+
+    /**
+     * Advance the time, running the tasks whose delay elapsed, in order of their deadlines.
+     * @param deltaTime time since the last call, in seconds
+     */
+    public void advance(float deltaTime) {
+        timeInTicks += deltaTime * (double)TICKS_PER_SECOND;
+        targetTick = (long)timeInTicks;
+        while(currentTick < targetTick) {
+            if(pendingCount == 0) {
+                //nothing can fire; skip ahead
+                currentTick = targetTick;
+                return;
+            }
+            currentTick++;
+            cascade();
+            fireDue();
+        }
+    }
+
+    /**
+     * The number of pending timers
+     */
+    public int size() {
+        return pendingCount;
+    }
+
+    //never within the advance it was scheduled from, like a component added during an update
+    private long deadlineAfter(float delay) {
+        return Math.max(currentTick + (long)Math.ceil(delay * (double)TICKS_PER_SECOND),
+                targetTick + 1);
+    }
+
+    //move timers of the coarser buckets reached by currentTick to finer buckets
+    private void cascade() {
+        for(int level = 1; level < LEVELS; level++) {
+            if(((currentTick >> (SLOT_BITS * (level - 1))) & SLOT_MASK) != 0)
+                return;
+            int slot = (int)((currentTick >> (SLOT_BITS * level)) & SLOT_MASK);
+            Timer timer;
+            while((timer = buckets[level][slot]) != null) {
+                unlink(timer);
+                insert(timer, timer.deadline);
+            }
+        }
+    }
+
+    private void fireDue() {
+        int slot = (int)(currentTick & SLOT_MASK);
+        Timer timer;
+        //tasks may schedule or cancel timers, so take them one at a time.
+        //Timers they schedule are always due later, so never land in this bucket
+        while((timer = buckets[0][slot]) != null) {
+            unlink(timer);
+            if(timer.deadline > currentTick)
+                insert(timer, timer.deadline);
+            else
+                timer.task.run();
+        }
+    }
+
+    private void insert(Timer timer, long deadline) {
+        timer.deadline = deadline;
+        long delta = Math.min(deadline - currentTick, MAX_DELTA);
+        int level = 0;
+        while(level < LEVELS - 1 && delta >= 1L << (SLOT_BITS * (level + 1)))
+            level++;
+        //timers beyond the wheel's range wait in the farthest bucket and are re-sorted from there
+        long bucketTick = currentTick + delta;
+        timer.level = level;
+        timer.slot = (int)((bucketTick >> (SLOT_BITS * level)) & SLOT_MASK);
+        timer.previous = null;
+        timer.next = buckets[level][timer.slot];
+        if(timer.next != null)
+            timer.next.previous = timer;
+        buckets[level][timer.slot] = timer;
+        pendingCount++;
+    }
+
+    private void unlink(Timer timer) {
+        if(timer.previous != null)
+            timer.previous.next = timer.next;
+        else
+            buckets[timer.level][timer.slot] = timer.next;
+        if(timer.next != null)
+            timer.next.previous = timer.previous;
+        timer.previous = timer.next = null;
+        timer.level = -1;
+        pendingCount--;
+    }
+}
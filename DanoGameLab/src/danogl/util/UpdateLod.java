@@ -0,0 +1,185 @@
+package danogl.util;
+
+import danogl.GameObject;
+import danogl.collisions.GameObjectHandles;
+import danogl.components.CoordinateSpace;
+import danogl.gui.rendering.Camera;
+
+/**
+ * Update level-of-detail: decides, once per frame, whether objects far from the camera are
+ * updated. Objects whose visible area (see {@link GameObject#getVisibleTopLeftCorner()}) is
+ * inside the camera's view, expanded by a margin, are always updated.
+ * Outside it, an object is updated according to its {@link Policy}
+ * (see {@link GameObject#setOffscreenUpdatePolicy}): every frame, every few frames
+ * with the time accumulated since its last update, or not at all.
+ * <p>A GameManager owns one, consults it for the objects it updates and for
+ * their components, and makes it part of the game's
+ * {@link danogl.GameServices#current() current services}.</p>
+ * <p>Throttling is approximate: a throttled object is updated once with the time of all
+ * the frames it missed, which is only the same as updating it every frame if its update is
+ * linear in time. The accumulated time is capped (see {@link #setMaxThrottledDeltaTime}),
+ * and the time beyond the cap is lost. Collisions are still detected once per frame, so
+ * objects whose collisions matter while off-screen should stay {@link Policy#ALWAYS}.</p>
+ */
+public class UpdateLod {
+    /** The value {@link #deltaTimeFor} returns for objects that should not be updated this frame */
+    public static final float SKIP = -1;
+    /** The default cap on the time a throttled object is updated with at once, in seconds */
+    public static final float DEFAULT_MAX_THROTTLED_DELTA_TIME = 0.25f;
+
+    /**
+     * How an object is updated when it is outside the camera's view
+     */
+    public enum Policy {
+        /** updated every frame */
+        ALWAYS,
+        /** updated every few frames, with the accumulated time */
+        THROTTLED,
+        /** not updated; no time passes for it until it is back in view */
+        FROZEN
+    }
+
+    /**
+     * The per-object bookkeeping of an object whose policy isn't {@link Policy#ALWAYS}.
+     * Held by the GameObject.
+     */
+    public static final class State {
+        private final Policy policy;
+        private float skippedTime = 0;
+        private long frame = -1;
+        //the time the object is updated with this frame, or SKIP
+        private float deltaTime;
+
+        /**
+         * Create the bookkeeping of a new object with the given policy
+         */
+        public State(Policy policy) {
+            this.policy = policy;
+        }
+
+        /**
+         * The object's policy
+         */
+        public Policy policy() {
+            return policy;
+        }
+
+        /**
+         * Forget the time accumulated while the object wasn't updated, for example
+         * when it is recycled by a pool.
+         */
+        public void reset() {
+            skippedTime = 0;
+            frame = -1;
+        }
+    }
+
+    private float margin;
+    private int throttleInterval;
+    private float maxThrottledDeltaTime = DEFAULT_MAX_THROTTLED_DELTA_TIME;
+    private long frame = 0;
+    private boolean hasView = false;
+    private float minX, minY, maxX, maxY;
+
+    /**
+     * @param margin The distance (in world units) around the camera's view within which
+     *               objects are still updated every frame.
+     * @param throttleInterval Throttled objects are updated once every this many frames.
+     */
+    public UpdateLod(float margin, int throttleInterval) {
+        setMargin(margin);
+        setThrottleInterval(throttleInterval);
+    }
+
+    /**
+     * Set the distance (in world units) around the camera's view within which
+     * objects are still updated every frame.
+     */
+    public void setMargin(float margin) {
+        this.margin = Math.max(0, margin);
+    }
+
+    /**
+     * Set the frequency of updates of throttled objects: once every this many frames.
+     */
+    public void setThrottleInterval(int throttleInterval) {
+        this.throttleInterval = Math.max(1, throttleInterval);
+    }
+
+    /**
+     * Set the most time, in seconds, a throttled object is updated with at once when it
+     * catches up; time it missed beyond that is dropped. Never less than a frame's deltaTime.
+     */
+    public void setMaxThrottledDeltaTime(float maxThrottledDeltaTime) {
+        this.maxThrottledDeltaTime = Math.max(0, maxThrottledDeltaTime);
+    }
+
+    /**
+     * Start a new frame, viewed through the given camera. If the camera is null,
+     * every object is considered in view.
+     */
+    public void beginFrame(Camera camera) {
+        frame++;
+        hasView = camera != null;
+        if(!hasView)
+            return;
+        var topLeftCorner = camera.getTopLeftCorner();
+        var dimensions = camera.getDimensions();
+        minX = topLeftCorner.x() - margin;
+        minY = topLeftCorner.y() - margin;
+        maxX = topLeftCorner.x() + dimensions.x() + margin;
+        maxY = topLeftCorner.y() + dimensions.y() + margin;
+    }
+
+    /**
+     * The time the object should be updated with this frame, or {@link #SKIP} if it
+     * shouldn't be updated. The decision is made on the object's first call in a frame;
+     * later calls in the same frame (for example, for its components) return the same value.
+     */
+    public float deltaTimeFor(GameObject obj, float deltaTime) {
+        var state = obj.getUpdateLodState();
+        if(state == null)
+            return deltaTime;
+        if(state.frame == frame)
+            return state.deltaTime;
+        state.frame = frame;
+        if(state.policy == Policy.FROZEN && !isInView(obj)) {
+            state.deltaTime = SKIP;
+        }
+        else if(state.policy == Policy.THROTTLED
+                && (frame + phaseOf(obj)) % throttleInterval != 0 && !isInView(obj)) {
+            state.skippedTime += deltaTime;
+            state.deltaTime = SKIP;
+        }
+        else {
+            state.deltaTime = Math.max(deltaTime,
+                    Math.min(deltaTime + state.skippedTime, maxThrottledDeltaTime));
+            state.skippedTime = 0;
+        }
+        return state.deltaTime;
+    }
+
+    /**
+     * Is the object frozen in the current frame: its policy is {@link Policy#FROZEN}
+     * and it is outside the camera's view.
+     */
+    public boolean isFrozen(GameObject obj) {
+        var state = obj.getUpdateLodState();
+        return state != null && state.policy == Policy.FROZEN && !isInView(obj);
+    }
+
+    //spreads the updates of throttled objects over the frames. Derived from the object's
+    //slot in its collection rather than from its identity, so it's the same in every run
+    private static int phaseOf(GameObject obj) {
+        return GameObjectHandles.slotOf(obj.getHandle()) & Integer.MAX_VALUE;
+    }
+
+    private boolean isInView(GameObject obj) {
+        if(!hasView || obj.getCoordinateSpace() == CoordinateSpace.CAMERA_COORDINATES)
+            return true;
+        var topLeftCorner = obj.getVisibleTopLeftCorner();
+        var dimensions = obj.getVisibleDimensions();
+        return topLeftCorner.x() <= maxX && topLeftCorner.x() + dimensions.x() >= minX
+                && topLeftCorner.y() <= maxY && topLeftCorner.y() + dimensions.y() >= minY;
+    }
+}
@@ -0,0 +1,126 @@
+package danogl;
+
+import danogl.collisions.Layer;
+import danogl.components.FloatTransition;
+import danogl.components.ScheduledTask;
+import danogl.components.Transition;
+import danogl.gui.HeadlessGameRunner;
+import danogl.gui.ImageReader;
+import danogl.gui.SoundReader;
+import danogl.gui.UserInputListener;
+import danogl.gui.WindowController;
+import danogl.gui.rendering.RectangleRenderable;
+import danogl.gui.rendering.RenderCommandBuffer;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+import java.util.Random;
+
+/**
+ * Checks that a steady-state frame of the engine allocates nothing on the game's thread:
+ * updating objects that move and run transitions and a repeating task, testing pairs of
+ * objects for collisions and following the collisions that go on, then recording the frame's
+ * render commands. Collisions that begin do allocate (their data is kept while they last),
+ * so the objects that collide stay in contact. Allocations are
+ * counted by the JVM per thread (com.sun.management.ThreadMXBean), after a warm-up long
+ * enough for the JIT to compile the frame.
+ * <p>Drawing the recorded commands with Java2D is not checked: its allocations are the
+ * JDK's, not the engine's.</p>
+ * <p>Run with {@code java -Djava.awt.headless=true -cp <classes> danogl.FrameAllocationCheck};
+ * exits with an error if the measured frames allocated anything.</p>
+ */
+public class FrameAllocationCheck {
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(800, 600);
+    private static final int BALLS = 300;
+    private static final int COLLIDING_PAIRS = 40;
+    private static final float SIZE = 10;
+    private static final int WARM_UP_FRAMES = 20_000;
+    private static final int MEASURED_FRAMES = 2_000;
+
+    public static void main(String[] args) {
+        var threads = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        var game = new BouncingBalls();
+        var runner = new HeadlessGameRunner(game, WINDOW_DIMENSIONS);
+        runner.setFrameTime(1 / 60f);
+        var buffer = new RenderCommandBuffer();
+
+        for(int i = 0; i < WARM_UP_FRAMES; i++)
+            runFrame(runner, game, buffer);
+
+        //what reading the counter allocates itself
+        long overhead = -threads.getThreadAllocatedBytes(thread) + threads.getThreadAllocatedBytes(thread);
+        long before = threads.getThreadAllocatedBytes(thread);
+        for(int i = 0; i < MEASURED_FRAMES; i++)
+            runFrame(runner, game, buffer);
+        long allocated = threads.getThreadAllocatedBytes(thread) - before - overhead;
+
+        System.out.println(MEASURED_FRAMES + " frames allocated " + allocated + " bytes");
+        if(allocated > 0)
+            throw new AssertionError("Steady-state frames allocated " + allocated + " bytes, about "
+                    + allocated / MEASURED_FRAMES + " per frame");
+    }
+
+    private static void runFrame(HeadlessGameRunner runner, GameManager game, RenderCommandBuffer buffer) {
+        runner.runFrames(1);
+        buffer.clear();
+        game.record(buffer);
+    }
+
+    private static class BouncingBalls extends GameManager {
+        @Override
+        public void initializeGame(ImageReader imageReader, SoundReader soundReader,
+                                   UserInputListener inputListener, WindowController windowController) {
+            super.initializeGame(imageReader, soundReader, inputListener, windowController);
+            var random = new Random(1);
+            var renderable = new RectangleRenderable(Color.BLUE);
+            for(int i = 0; i < BALLS; i++) {
+                var ball = new Ball(new Vector2(random.nextFloat() * WINDOW_DIMENSIONS.x(),
+                        random.nextFloat() * WINDOW_DIMENSIONS.y()), renderable);
+                ball.transform().setVelocity(random.nextFloat() * 200 - 100, random.nextFloat() * 200 - 100);
+                //moving objects don't collide, so that no collision begins
+                gameObjects().addGameObject(ball, Layer.BACKGROUND);
+                if(i % 10 == 0) {
+                    new FloatTransition(ball, ball.renderer()::setRenderableAngle, 0, 360,
+                            FloatTransition.LINEAR_INTERPOLATOR, 2, Transition.TransitionType.TRANSITION_LOOP, null);
+                }
+            }
+            //pairs of objects that always overlap, by a width that keeps changing
+            for(int i = 0; i < COLLIDING_PAIRS; i++) {
+                var topLeftCorner = new Vector2(i * SIZE * 3, WINDOW_DIMENSIONS.y() / 2);
+                var fixed = new GameObject(topLeftCorner, Vector2.ONES.mult(SIZE), renderable);
+                var growing = new GameObject(topLeftCorner.add(Vector2.RIGHT.mult(SIZE / 2)),
+                        Vector2.ONES.mult(SIZE), renderable);
+                new FloatTransition(growing, growing.transform()::setDimensionsX, SIZE, SIZE * 1.5f,
+                        FloatTransition.LINEAR_INTERPOLATOR, 1, Transition.TransitionType.TRANSITION_BACK_AND_FORTH, null);
+                gameObjects().addGameObject(fixed);
+                gameObjects().addGameObject(growing);
+            }
+            var clock = new GameObject(Vector2.ZERO, Vector2.ZERO, null);
+            new ScheduledTask(clock, 0.1f, true, () -> clock.transform().setTopLeftCornerX(
+                    clock.getTopLeftCorner().x() + 1));
+            gameObjects().addGameObject(clock, Layer.BACKGROUND);
+        }
+    }
+
+    //moves freely, and turns back at the window's edges
+    private static class Ball extends GameObject {
+        Ball(Vector2 topLeftCorner, RectangleRenderable renderable) {
+            super(topLeftCorner, Vector2.ONES.mult(SIZE), renderable);
+        }
+
+        @Override
+        public void update(float deltaTime) {
+            super.update(deltaTime);
+            var topLeftCorner = getTopLeftCorner();
+            var velocity = getVelocity();
+            if((topLeftCorner.x() < 0 && velocity.x() < 0)
+                    || (topLeftCorner.x() > WINDOW_DIMENSIONS.x() - SIZE && velocity.x() > 0))
+                transform().setVelocityX(-velocity.x());
+            if((topLeftCorner.y() < 0 && velocity.y() < 0)
+                    || (topLeftCorner.y() > WINDOW_DIMENSIONS.y() - SIZE && velocity.y() > 0))
+                transform().setVelocityY(-velocity.y());
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package danogl.components;
+
+import danogl.GameObject;
+import danogl.util.Vector2;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks the bookkeeping of a {@link ComponentRegistry}, through the GameObjects whose
+ * components it holds: components added join their groups at the end of an update, as they
+ * joined their object's list at the end of its update, and are updated from the next one on;
+ * a component removed during an update, by itself or by another component, isn't updated
+ * again; and after removals are compacted away, the remaining components can still be removed
+ * one by one. Transitions, which have loops of their own, are checked alongside other classes.
+ * <p>Run with {@code java -cp <classes> danogl.components.ComponentRegistryCheck}; exits with
+ * an error on the first mismatch.</p>
+ */
+public class ComponentRegistryCheck {
+    private static final int COMPONENTS = 100;
+
+    //counts its updates, and runs an action on its first
+    private static class Counter implements Component {
+        int updates = 0;
+        Runnable onFirstUpdate;
+
+        @Override
+        public void update(float deltaTime) {
+            if(updates++ == 0 && onFirstUpdate != null)
+                onFirstUpdate.run();
+        }
+    }
+
+    public static void main(String[] args) {
+        checkDeferredAdditions();
+        checkRemovalDuringUpdate();
+        checkCompaction();
+        checkTransitions();
+        System.out.println("ComponentRegistry kept its components as expected");
+    }
+
+    private static void checkDeferredAdditions() {
+        var registry = new ComponentRegistry();
+        var obj = object(registry);
+        var added = new Counter();
+        var adding = new Counter();
+        adding.onFirstUpdate = () -> obj.addComponent(added);
+        obj.addComponent(adding);
+        check(registry.size() == 1, "the size after an addition");
+        registry.update(1);
+        check(adding.updates == 0, "a component updated in the update it joined in");
+
+        registry.update(1);
+        check(adding.updates == 1, "a component not updated");
+        check(added.updates == 0, "a component added during an update updated in it");
+        check(registry.size() == 2, "the size after an addition during an update");
+        registry.update(1);
+        check(added.updates == 1 && adding.updates == 2, "components after an addition");
+
+        //added and removed between updates: never updated
+        var removedBeforeUpdate = new Counter();
+        obj.addComponent(removedBeforeUpdate);
+        obj.removeComponent(removedBeforeUpdate);
+        registry.update(1);
+        check(removedBeforeUpdate.updates == 0, "a component removed before its first update");
+        check(registry.size() == 2, "the size after removing a pending component");
+    }
+
+    private static void checkRemovalDuringUpdate() {
+        var registry = new ComponentRegistry();
+        var obj = object(registry);
+        var first = new Counter();
+        var selfRemoving = new Counter();
+        var removedByOther = new Counter();
+        selfRemoving.onFirstUpdate = () -> obj.removeComponent(selfRemoving);
+        first.onFirstUpdate = () -> obj.removeComponent(removedByOther);
+        //the same class, so the removed component comes later in the same group
+        obj.addComponent(first);
+        obj.addComponent(selfRemoving);
+        obj.addComponent(removedByOther);
+        registry.update(1);
+        registry.update(1);
+        check(selfRemoving.updates == 1, "a component that removed itself");
+        check(removedByOther.updates == 0, "a component removed earlier in the update");
+        check(registry.size() == 1, "the size after removals during an update");
+        registry.update(1);
+        check(first.updates == 2 && selfRemoving.updates == 1 && removedByOther.updates == 0,
+                "components after removals");
+    }
+
+    //removes every other component, compacting the group, then the rest in a scrambled order
+    private static void checkCompaction() {
+        var registry = new ComponentRegistry();
+        var obj = object(registry);
+        List<Counter> counters = new ArrayList<>();
+        for(int i = 0; i < COMPONENTS; i++) {
+            var counter = new Counter();
+            counters.add(counter);
+            obj.addComponent(counter);
+        }
+        registry.update(1);
+        registry.update(1);
+        for(int i = 0; i < COMPONENTS; i += 2)
+            obj.removeComponent(counters.get(i));
+        registry.update(1);
+        for(int i = 0; i < COMPONENTS; i++) {
+            int expected = i % 2 == 0 ? 1 : 2;
+            check(counters.get(i).updates == expected, "component " + i + " after compaction");
+        }
+        check(registry.size() == COMPONENTS / 2, "the size after compaction");
+
+        for(int step = 0; step < COMPONENTS / 2; step++) {
+            int i = (step * 37 % (COMPONENTS / 2)) * 2 + 1;
+            int before = counters.get(i).updates;
+            obj.removeComponent(counters.get(i));
+            registry.update(1);
+            check(counters.get(i).updates == before, "component " + i + " updated after its removal");
+            check(registry.size() == COMPONENTS / 2 - step - 1, "the size after removing component " + i);
+        }
+        for(int i = 1; i < COMPONENTS; i += 2)
+            check(counters.get(i).updates >= 2, "component " + i + " stopped too early");
+    }
+
+    //transitions that end remove themselves from their own loop, others keep going
+    private static void checkTransitions() {
+        var registry = new ComponentRegistry();
+        var obj = object(registry);
+        float[] values = new float[3];
+        new FloatTransition(obj, value -> values[0] = value, 0, 1,
+                FloatTransition.LINEAR_INTERPOLATOR, 1, Transition.TransitionType.TRANSITION_ONCE, null);
+        new FloatTransition(obj, value -> values[1] = value, 0, 1,
+                FloatTransition.LINEAR_INTERPOLATOR, 2, Transition.TransitionType.TRANSITION_ONCE, null);
+        new Vector2Transition(obj, value -> values[2] = value.x(), Vector2.ZERO, Vector2.ONES,
+                FloatTransition.LINEAR_INTERPOLATOR, 2, Transition.TransitionType.TRANSITION_ONCE, null);
+        var counter = new Counter();
+        obj.addComponent(counter);
+        check(registry.size() == 4, "the size with transitions");
+        registry.update(0);
+        check(registry.groupCount() == 3, "the groups of transitions and other components");
+        registry.update(0.5f);
+        registry.update(0.75f);
+        check(values[0] == 1 && values[1] < 1 && values[2] < 1, "transitions after part of their time");
+        check(registry.size() == 3, "the size after a transition ended");
+        registry.update(1);
+        check(values[1] == 1 && values[2] == 1, "transitions at their end");
+        check(registry.size() == 1 && counter.updates == 3, "the other components after transitions ended");
+    }
+
+    private static GameObject object(ComponentRegistry registry) {
+        var obj = new GameObject(Vector2.ZERO, Vector2.ONES, null);
+        obj.setComponentRegistry(registry);
+        return obj;
+    }
+
+    private static void check(boolean condition, String what) {
+        if(!condition)
+            throw new AssertionError("Unexpected " + what);
+    }
+}
@@ -0,0 +1,162 @@
+package danogl.gui;
+
+import danogl.gui.mouse.MouseButton;
+import danogl.util.Vector2;
+
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.io.File;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Checks that an {@link InputReplay} reads back exactly what an {@link InputRecorder}
+ * recorded. Random input is fed to a window's listener as AWT events over many frames:
+ * keys pressed and released (sometimes within the same frame), the mouse moved, its
+ * buttons pressed, released and clicked and its wheel turned. Every frame is recorded with
+ * a random deltaTime and number of idle slices, then the recording is replayed into a
+ * {@link ScriptedInputListener}, which must see the same input frame by frame.
+ * <p>Run with {@code java -Djava.awt.headless=true -cp <classes> danogl.gui.InputRecordingCheck};
+ * exits with an error on the first mismatch.</p>
+ */
+public class InputRecordingCheck {
+    private static final int FRAMES = 5_000;
+    private static final long SEED = 42;
+    private static final Vector2 WINDOW_DIMENSIONS = new Vector2(800, 600);
+    private static final int[] KEYS = {KeyEvent.VK_LEFT, KeyEvent.VK_RIGHT, KeyEvent.VK_SPACE,
+            KeyEvent.VK_A, KeyEvent.VK_Z, KeyEvent.VK_ENTER, KeyEvent.VK_F3, 0x10000};
+    private static final int[] AWT_BUTTONS = {MouseEvent.BUTTON1, MouseEvent.BUTTON2, MouseEvent.BUTTON3};
+    private static final MouseButton[] BUTTONS = MouseButton.values();
+
+    private static final Component source = new Canvas();
+
+    public static void main(String[] args) throws IOException {
+        var file = File.createTempFile("input", ".dgli");
+        file.deleteOnExit();
+        var random = new Random(1);
+        var listener = new KeyAdapterUserInputListener();
+        var expected = new FrameInput[FRAMES];
+
+        try(var recorder = new InputRecorder(file.getPath(), SEED, WINDOW_DIMENSIONS)) {
+            for(int i = 0; i < FRAMES; i++) {
+                feedRandomInput(listener, random);
+                listener.beginFrame();
+                expected[i] = new FrameInput(listener, random.nextFloat() / 30, random.nextInt(3) * random.nextInt(200));
+                recorder.beginFrame(expected[i].deltaTime, listener);
+                recorder.endFrame(expected[i].idleSlices);
+                listener.update(expected[i].deltaTime);
+            }
+        }
+
+        long bytes = file.length();
+        try(var replay = new InputReplay(file.getPath())) {
+            check(replay.randomSeed() == SEED, "the seed");
+            check(replay.windowDimensions().equals(WINDOW_DIMENSIONS), "the window's dimensions");
+            var input = new ScriptedInputListener();
+            for(int i = 0; i < FRAMES; i++) {
+                check(replay.nextFrame(input), "frame " + i + " is missing");
+                var frame = expected[i];
+                check(replay.deltaTime() == frame.deltaTime, "deltaTime of frame " + i);
+                check(replay.idleSlices() == frame.idleSlices, "idle slices of frame " + i);
+                frame.checkReplayed(input, i);
+                input.update(replay.deltaTime());
+            }
+            check(!replay.nextFrame(input), "frames beyond the recorded ones");
+        }
+        System.out.println("InputReplay matched " + FRAMES + " recorded frames ("
+                + bytes + " bytes)");
+    }
+
+    private static void feedRandomInput(KeyAdapterUserInputListener listener, Random random) {
+        //most frames have no input at all, as in a game
+        if(random.nextInt(4) != 0)
+            return;
+        int events = 1 + random.nextInt(4);
+        for(int i = 0; i < events; i++) {
+            int key = KEYS[random.nextInt(KEYS.length)];
+            int button = AWT_BUTTONS[random.nextInt(AWT_BUTTONS.length)];
+            int x = random.nextInt((int)WINDOW_DIMENSIONS.x());
+            int y = random.nextInt((int)WINDOW_DIMENSIONS.y());
+            switch(random.nextInt(7)) {
+                case 0:
+                    listener.keyPressed(keyEvent(KeyEvent.KEY_PRESSED, key));
+                    break;
+                case 1:
+                    listener.keyReleased(keyEvent(KeyEvent.KEY_RELEASED, key));
+                    break;
+                case 2:
+                    listener.mouseMoved(mouseEvent(MouseEvent.MOUSE_MOVED, x, y, MouseEvent.NOBUTTON));
+                    break;
+                case 3:
+                    listener.mousePressed(mouseEvent(MouseEvent.MOUSE_PRESSED, x, y, button));
+                    break;
+                case 4:
+                    listener.mouseReleased(mouseEvent(MouseEvent.MOUSE_RELEASED, x, y, button));
+                    break;
+                case 5:
+                    listener.mouseClicked(mouseEvent(MouseEvent.MOUSE_CLICKED, x, y, button));
+                    break;
+                default:
+                    listener.mouseWheelMoved(new MouseWheelEvent(source, MouseEvent.MOUSE_WHEEL,
+                            0, 0, x, y, x, y, 0, false, MouseWheelEvent.WHEEL_UNIT_SCROLL,
+                            1, 1, random.nextGaussian()));
+            }
+        }
+    }
+
+    private static KeyEvent keyEvent(int id, int key) {
+        return new KeyEvent(source, id, 0, 0, key, KeyEvent.CHAR_UNDEFINED);
+    }
+
+    private static MouseEvent mouseEvent(int id, int x, int y, int button) {
+        return new MouseEvent(source, id, 0, 0, x, y, 1, false, button);
+    }
+
+    private static void check(boolean condition, String what) {
+        if(!condition)
+            throw new AssertionError("The replay differs in " + what);
+    }
+
+    //the input a listener held in a frame
+    private static final class FrameInput {
+        final float deltaTime;
+        final int idleSlices;
+        final boolean[] pressedKeys = new boolean[KEYS.length];
+        final boolean[] releasedKeys = new boolean[KEYS.length];
+        final boolean[] pressedButtons = new boolean[BUTTONS.length];
+        final boolean[] clickedButtons = new boolean[BUTTONS.length];
+        final Vector2 mousePos;
+        final double mouseWheelClicks;
+
+        FrameInput(UserInputListener input, float deltaTime, int idleSlices) {
+            this.deltaTime = deltaTime;
+            this.idleSlices = idleSlices;
+            for(int i = 0; i < KEYS.length; i++) {
+                pressedKeys[i] = input.isKeyPressed(KEYS[i]);
+                releasedKeys[i] = input.wasKeyReleasedThisFrame(KEYS[i]);
+            }
+            for(int i = 0; i < BUTTONS.length; i++) {
+                pressedButtons[i] = input.isMouseButtonPressed(BUTTONS[i]);
+                clickedButtons[i] = input.wasMouseButtonClickedThisFrame(BUTTONS[i]);
+            }
+            mousePos = new Vector2(input.getMouseScreenPos());
+            mouseWheelClicks = input.mouseWheelClicksThisFrame();
+        }
+
+        void checkReplayed(UserInputListener input, int frame) {
+            var replayed = new FrameInput(input, deltaTime, idleSlices);
+            for(int i = 0; i < KEYS.length; i++) {
+                check(replayed.pressedKeys[i] == pressedKeys[i], "key " + KEYS[i] + " pressed in frame " + frame);
+                check(replayed.releasedKeys[i] == releasedKeys[i], "key " + KEYS[i] + " released in frame " + frame);
+            }
+            for(int i = 0; i < BUTTONS.length; i++) {
+                check(replayed.pressedButtons[i] == pressedButtons[i], BUTTONS[i] + " pressed in frame " + frame);
+                check(replayed.clickedButtons[i] == clickedButtons[i], BUTTONS[i] + " clicked in frame " + frame);
+            }
+            check(replayed.mousePos.equals(mousePos), "the mouse's position in frame " + frame);
+            check(replayed.mouseWheelClicks == mouseWheelClicks, "the mouse wheel in frame " + frame);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package danogl.gui;
+
+import danogl.gui.rendering.RenderCommandBuffer;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Checks the rotation of the three buffers of a {@link RenderPipeline}: the buffer handed
+ * out for writing is never the one being rasterized nor the one waiting to be, a frame
+ * published while another waits replaces it, and the render thread always takes the latest
+ * published frame. The rasterizer is held until the check lets it go, to control which
+ * buffer is in which role.
+ * <p>Run with {@code java -cp <classes> danogl.gui.RenderPipelineCheck}; exits with an
+ * error on the first mismatch.</p>
+ */
+public class RenderPipelineCheck {
+    private static final long TIMEOUT_SECONDS = 5;
+
+    private static final BlockingQueue<RenderCommandBuffer> rasterized = new LinkedBlockingQueue<>();
+    private static final Semaphore mayFinishRasterizing = new Semaphore(0);
+
+    public static void main(String[] args) throws InterruptedException {
+        var pipeline = new RenderPipeline(buffer -> {
+            rasterized.add(buffer);
+            mayFinishRasterizing.acquireUninterruptibly();
+        });
+
+        var first = pipeline.beginWrite();
+        pipeline.publish();
+        expectRasterized(first);
+
+        //the first frame is being rasterized; two more are published meanwhile
+        var second = pipeline.beginWrite();
+        check(second != first, "the buffer being rasterized was handed out for writing");
+        pipeline.publish();
+        var third = pipeline.beginWrite();
+        check(third != first && third != second,
+                "a buffer being rasterized or waiting was handed out for writing");
+        pipeline.publish();
+
+        //the second frame was dropped, so its buffer is free again
+        var fourth = pipeline.beginWrite();
+        check(fourth == second, "the dropped frame's buffer wasn't reused");
+
+        mayFinishRasterizing.release();
+        expectRasterized(third);
+        pipeline.publish();
+        mayFinishRasterizing.release();
+        expectRasterized(fourth);
+
+        mayFinishRasterizing.release();
+        pipeline.stop();
+        check(rasterized.isEmpty(), "a frame was rasterized twice");
+        System.out.println("RenderPipeline rotated its buffers as expected");
+    }
+
+    private static void expectRasterized(RenderCommandBuffer expected) throws InterruptedException {
+        var buffer = rasterized.poll(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        check(buffer != null, "no frame was rasterized");
+        check(buffer == expected, "a frame other than the latest published was rasterized");
+    }
+
+    private static void check(boolean condition, String failure) {
+        if(!condition)
+            throw new AssertionError(failure);
+    }
+}
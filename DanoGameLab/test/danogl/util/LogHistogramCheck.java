@@ -0,0 +1,77 @@
+package danogl.util;
+
+/**
+ * Checks the buckets of a {@link LogHistogram}: values below 128 ns are exact, and above
+ * that every value is reported as the top of a bucket that contains it and is no wider than
+ * 1/64 of it. Then checks the percentiles of a uniform distribution and the clamping of
+ * out-of-range samples.
+ * <p>Run with {@code java -cp <classes> danogl.util.LogHistogramCheck}; exits with an
+ * error on the first mismatch.</p>
+ */
+public class LogHistogramCheck {
+    private static final long EXACT_BELOW = 128;
+    private static final double MAX_RELATIVE_ERROR = 1 / 64d;
+    private static final long LARGEST_CHECKED = 1L << 40;
+
+    public static void main(String[] args) {
+        checkBuckets();
+        checkPercentiles();
+        checkClamping();
+        System.out.println("LogHistogram buckets and percentiles are within bounds");
+    }
+
+    //walks the buckets from 0, each starting right after the previous one's top
+    private static void checkBuckets() {
+        var histogram = new LogHistogram();
+        long value = 0;
+        while(value < LARGEST_CHECKED) {
+            long top = bucketTop(histogram, value);
+            if(top < value)
+                throw new AssertionError(value + " was counted in a bucket ending at " + top);
+            if(value < EXACT_BELOW && top != value)
+                throw new AssertionError(value + " isn't exact: reported as " + top);
+            if(top - value > value * MAX_RELATIVE_ERROR)
+                throw new AssertionError(value + " was reported as " + top + ", off by more than 1/64");
+            //every value between the bucket's bottom and top is in the bucket
+            if(bucketTop(histogram, (value + top) / 2) != top || bucketTop(histogram, top) != top)
+                throw new AssertionError("The bucket from " + value + " to " + top + " is split");
+            value = top + 1;
+        }
+    }
+
+    //the value a sample is reported as: the top of its bucket. A much larger sample is
+    //recorded too, so that the maximum doesn't cap it
+    private static long bucketTop(LogHistogram histogram, long value) {
+        histogram.clear();
+        histogram.record(value);
+        histogram.record(LARGEST_CHECKED * 2);
+        return histogram.percentile(50);
+    }
+
+    private static void checkPercentiles() {
+        var histogram = new LogHistogram();
+        for(long value = 1; value <= 100_000; value++)
+            histogram.record(value * 1000);
+        checkClose(histogram.percentile(50), 50_000_000, "p50");
+        checkClose(histogram.percentile(99), 99_000_000, "p99");
+        if(histogram.percentile(100) != 100_000_000 || histogram.max() != 100_000_000)
+            throw new AssertionError("The maximum is " + histogram.max());
+        if(histogram.count() != 100_000 || histogram.mean() != 50_000_500)
+            throw new AssertionError("Count " + histogram.count() + ", mean " + histogram.mean());
+    }
+
+    private static void checkClose(long actual, long expected, String name) {
+        if(actual < expected || actual - expected > expected * MAX_RELATIVE_ERROR)
+            throw new AssertionError(name + " is " + actual + " instead of about " + expected);
+    }
+
+    private static void checkClamping() {
+        var histogram = new LogHistogram();
+        histogram.record(-5);
+        if(histogram.percentile(100) != 0)
+            throw new AssertionError("A negative sample isn't counted as 0");
+        histogram.record(Long.MAX_VALUE);
+        if(histogram.max() != (1L << 40) - 1)
+            throw new AssertionError("A huge sample is counted as " + histogram.max());
+    }
+}
@@ -0,0 +1,72 @@
+package danogl.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Checks {@link LongHashMap} against a HashMap through a long run of random insertions and
+ * removals. The keys are drawn from a small range and from multiples of large powers of two,
+ * so that the map's clusters are long and removals have to shift entries back across them,
+ * including across the end of the table.
+ * <p>Run with {@code java -cp <classes> danogl.util.LongHashMapCheck}; exits with an
+ * error on the first mismatch.</p>
+ */
+public class LongHashMapCheck {
+    private static final int OPERATIONS = 1_000_000;
+    private static final int KEY_RANGE = 512;
+
+    public static void main(String[] args) {
+        var random = new Random(1);
+        var map = new LongHashMap<Long>();
+        Map<Long, Long> expected = new HashMap<>();
+
+        for(int i = 0; i < OPERATIONS; i++) {
+            long key = randomKey(random);
+            switch(random.nextInt(3)) {
+                case 0:
+                    map.put(key, (long)i);
+                    expected.put(key, (long)i);
+                    break;
+                case 1:
+                    check(map.remove(key), expected.remove(key), "remove", key);
+                    break;
+                default:
+                    check(map.get(key), expected.get(key), "get", key);
+            }
+            if(map.size() != expected.size())
+                throw new AssertionError("Size " + map.size() + " instead of " + expected.size());
+            if(i % 100_000 == 0)
+                checkAll(map, expected);
+        }
+
+        //remove a scattered half of the keys at once
+        map.removeKeysIf(key -> (key & 1) == 0);
+        expected.keySet().removeIf(key -> (key & 1) == 0);
+        checkAll(map, expected);
+
+        map.clear();
+        if(!map.isEmpty() || map.get(randomKey(random)) != null)
+            throw new AssertionError("The map isn't empty after clear");
+        System.out.println("LongHashMap matched a HashMap over " + OPERATIONS + " operations");
+    }
+
+    private static long randomKey(Random random) {
+        int key = random.nextInt(KEY_RANGE);
+        //keys far apart, some of which land in the same cluster
+        return random.nextBoolean() ? key : (long)key << (32 + random.nextInt(24));
+    }
+
+    private static void checkAll(LongHashMap<Long> map, Map<Long, Long> expected) {
+        if(map.size() != expected.size())
+            throw new AssertionError("Size " + map.size() + " instead of " + expected.size());
+        for(var entry : expected.entrySet())
+            check(map.get(entry.getKey()), entry.getValue(), "get", entry.getKey());
+    }
+
+    private static void check(Long actual, Long expected, String operation, long key) {
+        if(actual == null ? expected != null : !actual.equals(expected))
+            throw new AssertionError(operation + "(" + key + ") returned " + actual
+                    + " instead of " + expected);
+    }
+}
@@ -0,0 +1,92 @@
+package danogl.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Checks that a {@link TimerWheel} fires every timer exactly once, in the advance during
+ * which its deadline passes, and in order of deadlines. The delays range from a millisecond
+ * to beyond the wheel's range of about four and a half hours, so that timers cascade
+ * through every level of the wheel, and a tenth of the timers are cancelled.
+ * <p>Run with {@code java -cp <classes> danogl.util.TimerWheelCheck}; exits with an
+ * error on the first mismatch.</p>
+ */
+public class TimerWheelCheck {
+    private static final int TIMERS = 20_000;
+    private static final double TICKS_PER_SECOND = 1000;
+    private static final float MAX_DELAY = 20_000;
+    private static final float MAX_ADVANCE = 30;
+
+    private static int advances = 0;
+    private static long lastFiredDeadline = 0;
+
+    public static void main(String[] args) {
+        var random = new Random(1);
+        var wheel = new TimerWheel();
+        long[] deadlines = new long[TIMERS];
+        int[] firedIn = new int[TIMERS];
+        var timers = new ArrayList<TimerWheel.Timer>(TIMERS);
+
+        for(int i = 0; i < TIMERS; i++) {
+            float delay = randomDelay(random);
+            deadlines[i] = Math.max(1, (long)Math.ceil(delay * TICKS_PER_SECOND));
+            firedIn[i] = -1;
+            int timer = i;
+            timers.add(wheel.schedule(delay, () -> {
+                if(firedIn[timer] != -1)
+                    throw new AssertionError("Timer " + timer + " fired twice");
+                if(deadlines[timer] < lastFiredDeadline)
+                    throw new AssertionError("A timer due at " + deadlines[timer]
+                            + " fired after one due at " + lastFiredDeadline);
+                lastFiredDeadline = deadlines[timer];
+                firedIn[timer] = advances;
+            }));
+        }
+        boolean[] isCancelled = new boolean[TIMERS];
+        for(int i = 0; i < TIMERS; i += 10) {
+            isCancelled[i] = true;
+            if(!timers.get(i).cancel())
+                throw new AssertionError("Timer " + i + " wasn't pending");
+        }
+
+        //the tick every advance reached, computed as the wheel does
+        List<Long> reachedTicks = new ArrayList<>();
+        double timeInTicks = 0;
+        //every timer is due by then; a timer left pending is reported below
+        while(wheel.size() > 0 && timeInTicks <= (MAX_DELAY + MAX_ADVANCE) * TICKS_PER_SECOND) {
+            float deltaTime = random.nextFloat() * MAX_ADVANCE;
+            timeInTicks += deltaTime * TICKS_PER_SECOND;
+            reachedTicks.add((long)timeInTicks);
+            wheel.advance(deltaTime);
+            advances++;
+        }
+
+        for(int i = 0; i < TIMERS; i++) {
+            if(isCancelled[i]) {
+                if(firedIn[i] != -1)
+                    throw new AssertionError("Cancelled timer " + i + " fired");
+                continue;
+            }
+            int expected = firstAdvanceReaching(reachedTicks, deadlines[i]);
+            if(firedIn[i] != expected)
+                throw new AssertionError("Timer " + i + ", due at tick " + deadlines[i]
+                        + ", fired in advance " + firedIn[i] + " instead of " + expected);
+        }
+        System.out.println("TimerWheel fired " + TIMERS + " timers in order over "
+                + advances + " advances");
+    }
+
+    //mostly short delays, as in a game, but some in every level of the wheel and beyond it
+    private static float randomDelay(Random random) {
+        float scale = (float)Math.pow(MAX_DELAY * TICKS_PER_SECOND, random.nextDouble());
+        return scale / (float)TICKS_PER_SECOND;
+    }
+
+    private static int firstAdvanceReaching(List<Long> reachedTicks, long deadline) {
+        for(int i = 0; i < reachedTicks.size(); i++)
+            if(reachedTicks.get(i) >= deadline)
+                return i;
+        return -1;
+    }
+}
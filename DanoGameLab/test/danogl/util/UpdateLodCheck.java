@@ -0,0 +1,179 @@
+package danogl.util;
+
+import danogl.GameObject;
+import danogl.gui.rendering.Camera;
+import danogl.gui.rendering.RectangleRenderable;
+import danogl.gui.rendering.Renderable;
+import danogl.particles.ParticleSystem;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * Checks the decisions of an {@link UpdateLod}: objects in view are updated every frame;
+ * throttled objects out of view are updated once every few frames with the time they missed,
+ * capped, and catch up as soon as they come into view; frozen objects out of view are not
+ * updated and no time passes for them; and a decision holds for the rest of its frame.
+ * Also checks that a particle system whose particles fell into view counts as in view.
+ * <p>Run with {@code java -cp <classes> danogl.util.UpdateLodCheck}; exits with an
+ * error on the first mismatch.</p>
+ */
+public class UpdateLodCheck {
+    private static final int THROTTLE_INTERVAL = 4;
+    private static final float MARGIN = 10;
+    private static final Vector2 VIEW = new Vector2(100, 100);
+    private static final Vector2 IN_VIEW = new Vector2(50, 50);
+    private static final Vector2 OUT_OF_VIEW = new Vector2(1000, 50);
+    private static final int FRAMES = 1000;
+
+    public static void main(String[] args) {
+        checkAlwaysAndInView();
+        checkThrottled();
+        checkCap();
+        checkEnteringView();
+        checkFrozen();
+        checkReset();
+        checkParticleSystem();
+        System.out.println("UpdateLod decided as expected");
+    }
+
+    private static void checkAlwaysAndInView() {
+        var lod = new UpdateLod(MARGIN, THROTTLE_INTERVAL);
+        var always = object(OUT_OF_VIEW, UpdateLod.Policy.ALWAYS);
+        var throttled = object(IN_VIEW, UpdateLod.Policy.THROTTLED);
+        var frozen = object(IN_VIEW, UpdateLod.Policy.FROZEN);
+        var random = new Random(1);
+        for(int frame = 0; frame < FRAMES; frame++) {
+            lod.beginFrame(camera());
+            float deltaTime = random.nextFloat() / 30;
+            for(var obj : new GameObject[]{always, throttled, frozen})
+                check(lod.deltaTimeFor(obj, deltaTime) == deltaTime, "an object updated every frame");
+        }
+        //without a camera, everything is in view
+        lod.beginFrame(null);
+        check(lod.deltaTimeFor(object(OUT_OF_VIEW, UpdateLod.Policy.FROZEN), 1) == 1,
+                "an object without a camera");
+    }
+
+    //updated exactly once every THROTTLE_INTERVAL frames, with the time of the frames since
+    //its last update, and the same decision for the rest of a frame
+    private static void checkThrottled() {
+        var lod = new UpdateLod(MARGIN, THROTTLE_INTERVAL);
+        var throttled = object(OUT_OF_VIEW, UpdateLod.Policy.THROTTLED);
+        var random = new Random(2);
+        float missed = 0;
+        int framesSinceUpdate = 0, updates = 0;
+        for(int frame = 0; frame < FRAMES; frame++) {
+            lod.beginFrame(camera());
+            float deltaTime = random.nextFloat() / 30;
+            float given = lod.deltaTimeFor(throttled, deltaTime);
+            check(lod.deltaTimeFor(throttled, deltaTime) == given, "a second call in the same frame");
+            framesSinceUpdate++;
+            missed += deltaTime;
+            if(given == UpdateLod.SKIP) {
+                check(framesSinceUpdate < THROTTLE_INTERVAL, "a throttled object skipped too many frames");
+                continue;
+            }
+            check(updates == 0 || framesSinceUpdate == THROTTLE_INTERVAL,
+                    "a throttled object updated after " + framesSinceUpdate + " frames");
+            check(Math.abs(given - missed) < 1e-5, "a throttled object given " + given + " instead of " + missed);
+            updates++;
+            missed = 0;
+            framesSinceUpdate = 0;
+        }
+        check(updates == FRAMES / THROTTLE_INTERVAL, "a throttled object updated " + updates + " times");
+    }
+
+    private static void checkCap() {
+        var lod = new UpdateLod(MARGIN, THROTTLE_INTERVAL);
+        lod.setMaxThrottledDeltaTime(0.1f);
+        var throttled = object(OUT_OF_VIEW, UpdateLod.Policy.THROTTLED);
+        for(int frame = 0; frame < 2 * THROTTLE_INTERVAL; frame++) {
+            lod.beginFrame(camera());
+            float given = lod.deltaTimeFor(throttled, 0.05f);
+            check(given == UpdateLod.SKIP || given == 0.1f || (frame == 0 && given == 0.05f),
+                    "a throttled object given " + given + " over the cap");
+        }
+        //the cap never shortens a single frame
+        lod.beginFrame(null);
+        check(lod.deltaTimeFor(throttled, 0.5f) == 0.5f, "a long frame cut by the cap");
+    }
+
+    private static void checkEnteringView() {
+        var lod = new UpdateLod(MARGIN, THROTTLE_INTERVAL);
+        var throttled = object(OUT_OF_VIEW, UpdateLod.Policy.THROTTLED);
+        float missed = 0;
+        //ends between updates
+        for(int frame = 0; frame < 2 * THROTTLE_INTERVAL - 1; frame++) {
+            lod.beginFrame(camera());
+            float given = lod.deltaTimeFor(throttled, 0.01f);
+            missed = given == UpdateLod.SKIP ? missed + 0.01f : 0;
+        }
+        check(missed > 0, "the throttled object to have missed frames");
+        //brought within the margin of the view
+        throttled.setTopLeftCorner(new Vector2(VIEW.x() + MARGIN / 2, 50));
+        lod.beginFrame(camera());
+        float given = lod.deltaTimeFor(throttled, 0.01f);
+        check(Math.abs(given - (missed + 0.01f)) < 1e-5, "an object entering the view given " + given);
+    }
+
+    private static void checkFrozen() {
+        var lod = new UpdateLod(MARGIN, THROTTLE_INTERVAL);
+        var frozen = object(OUT_OF_VIEW, UpdateLod.Policy.FROZEN);
+        for(int frame = 0; frame < FRAMES; frame++) {
+            lod.beginFrame(camera());
+            check(lod.deltaTimeFor(frozen, 0.01f) == UpdateLod.SKIP, "a frozen object updated");
+            check(lod.isFrozen(frozen), "a frozen object out of view not reported frozen");
+        }
+        frozen.setTopLeftCorner(IN_VIEW);
+        lod.beginFrame(camera());
+        check(!lod.isFrozen(frozen), "a frozen object in view reported frozen");
+        check(lod.deltaTimeFor(frozen, 0.01f) == 0.01f, "time passed for a frozen object");
+    }
+
+    private static void checkReset() {
+        var lod = new UpdateLod(MARGIN, THROTTLE_INTERVAL);
+        var throttled = object(OUT_OF_VIEW, UpdateLod.Policy.THROTTLED);
+        for(int frame = 0; frame < THROTTLE_INTERVAL - 1; frame++) {
+            lod.beginFrame(camera());
+            check(lod.deltaTimeFor(throttled, 0.01f) == UpdateLod.SKIP, "a throttled object out of view");
+        }
+        throttled.getUpdateLodState().reset();
+        lod.beginFrame(null);
+        check(lod.deltaTimeFor(throttled, 0.01f) == 0.01f, "time kept after a reset");
+    }
+
+    //its own rectangle is out of view, but its particles fall into it
+    private static void checkParticleSystem() {
+        var renderables = new Renderable[]{new RectangleRenderable(Color.GREEN)};
+        var system = new ParticleSystem(new Vector2(50, -1000), Vector2.ONES, Vector2.ONES,
+                renderables, new GameClock());
+        system.setOffscreenUpdatePolicy(UpdateLod.Policy.FROZEN);
+        system.setLifetimes(0, 0, 100, 100);
+        system.setFall(1000, 0, 1, 0);
+        system.addParticle(50, -1000, 0);
+        var lod = new UpdateLod(MARGIN, THROTTLE_INTERVAL);
+        lod.beginFrame(camera());
+        check(lod.deltaTimeFor(system, 0.01f) == UpdateLod.SKIP, "a particle system out of view updated");
+        //detaches, then falls to about y=50
+        system.update(0.01f);
+        system.update(1.05f);
+        lod.beginFrame(camera());
+        check(lod.deltaTimeFor(system, 0.01f) == 0.01f, "a particle system whose particles are in view");
+    }
+
+    private static Camera camera() {
+        return new Camera(Vector2.ZERO, VIEW, VIEW);
+    }
+
+    private static GameObject object(Vector2 topLeftCorner, UpdateLod.Policy policy) {
+        var obj = new GameObject(topLeftCorner, Vector2.ONES, null);
+        obj.setOffscreenUpdatePolicy(policy);
+        return obj;
+    }
+
+    private static void check(boolean condition, String what) {
+        if(!condition)
+            throw new AssertionError("Unexpected decision for " + what);
+    }
+}
@@ -5,17 +5,28 @@ import danogl.GameObject;
 import danogl.collisions.Layer;
 import danogl.gui.*;
 import danogl.gui.rendering.Camera;
+import danogl.gui.rendering.Renderable;
+import danogl.util.FrameBudgetExecutor;
+import danogl.util.GameObjectPool;
+import danogl.util.MutableVector2;
+import danogl.util.ProfilerOverlay;
 import danogl.util.Vector2;
 import pepse.util.NumericEnergyCounter;
 import pepse.world.*;
+import pepse.world.Monsters.Monster;
 import pepse.world.Monsters.MonsterFactory;
 import pepse.world.daynight.Cloud;
 import pepse.world.daynight.Night;
 import pepse.world.daynight.Sun;
 import pepse.world.daynight.SunHalo;
+import pepse.world.trees.LeafCluster;
 import pepse.world.trees.Tree;
 
 import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
 import java.util.function.Consumer;
 
 public class PepseGameManager extends GameManager {
@@ -64,17 +75,40 @@ public class PepseGameManager extends GameManager {
     public static final int NUMERIC_ENERGY_LAYER = Layer.UI;
     private static final int PADDING = 30;
     private static final int EPSILON = 3;
+    // the world is simulated at 60 steps per second, whatever the framerate
+    private static final float SIMULATION_STEP = 1 / 60f;
+    // the lowest resolution frames are drawn at when drawing is too slow
+    private static final float MIN_RESOLUTION_SCALE = 0.5f;
+    // the width of the strip of a new world that is built in one slice of idle time
+    private static final int WORLD_SLICE_WIDTH = Block.SIZE * 4;
     private static final float TEXT_PADDING = 0.1f;
     private static final Vector2 ENERGY_TEXT_SIZE = new Vector2(30f, 30f);
 
+    /************** profiler overlay properties ***************/
+    public static final int PROFILER_OVERLAY_LAYER = Layer.UI;
+    private static final int PROFILER_OVERLAY_KEY = KeyEvent.VK_F3;
+    private static final Vector2 PROFILER_OVERLAY_POSITION = new Vector2(PADDING, PADDING * 3);
+    private static final int PROFILER_OVERLAY_LINE_HEIGHT = 14;
+
     /************ Class attributes ***********/
     private int worldLeftEnd, worldRightEnd;
     private Vector2 windowDimensions;
     private Terrain terrain;
     private Avatar avatar;
     private NumericEnergyCounter energyCounter;
+    private UserInputListener inputListener;
+    // shown while toggled on with PROFILER_OVERLAY_KEY, otherwise null
+    private GameObject profilerOverlay;
+    private boolean wasProfilerOverlayKeyPressed;
     private MonsterFactory monsterFactory;
     private Tree tree;
+    private final List<WorldBuild> pendingWorldBuilds = new ArrayList<>();
+    // the center of the sun's orbit, which follows the camera
+    private final MutableVector2 sunCircleCenter = new MutableVector2();
+    // the world's source of randomness
+    private Random random;
+    // the file the session is recorded into, or null
+    private String inputRecordingPath;
 
     /**
      * The constructor of Pepse Game Manager
@@ -100,20 +134,37 @@ public class PepseGameManager extends GameManager {
                                UserInputListener inputListener, WindowController windowController) {
 
         super.initializeGame(imageReader, soundReader, inputListener, windowController);
+        this.inputListener = inputListener;
+        profilerOverlay = null;
         Sound backgroundSound = soundReader.readSound(BACKGROUND_MUSIC_PATH);
         backgroundSound.playLooped();
         this.windowDimensions = windowController.getWindowDimensions();
+        windowController.setFixedTimestep(SIMULATION_STEP);
+        windowController.setPipelinedRendering(true);
+        windowController.setPowerSaving(true);
+        windowController.setDynamicResolution(MIN_RESOLUTION_SCALE, 1);
+        if (inputRecordingPath != null)
+            windowController.recordInput(inputRecordingPath);
+
+        random = gameRandom();
 
         worldLeftEnd = (int) (-windowDimensions.x());
         worldRightEnd = (int) (windowDimensions.x() * 2f);
 
+        GameObjectPool<Block> blockPool =
+                gameObjectPools().register(Block.class, () -> new Block(Vector2.ZERO, null));
+        Renderable[] leafPalette = LeafCluster.createPalette(random);
+        GameObjectPool<LeafCluster> leafClusterPool = gameObjectPools().register(LeafCluster.class,
+                () -> new LeafCluster(gameClock(), terrain::groundHeightAt, leafPalette));
+
         skyCreator(imageReader);
-        terrainCreator(worldLeftEnd, worldRightEnd);
-        tree = new Tree(gameObjects(), RANDOM_SEED, terrain, LEAVES_LAYER, TRUNK_LAYER);
+        terrainCreator(worldLeftEnd, worldRightEnd, blockPool);
+        tree = new Tree(gameObjects(), RANDOM_SEED, terrain, LEAVES_LAYER, TRUNK_LAYER, blockPool,
+                leafClusterPool, random);
         tree.createInRange(worldLeftEnd + EPSILON * Block.SIZE, worldRightEnd - EPSILON * Block.SIZE);
         createAvatar(inputListener, imageReader);
         numericEnergyCreator();
-        monsterFactory = new MonsterFactory(imageReader, RANDOM_SEED);
+        monsterFactory = new MonsterFactory(imageReader, RANDOM_SEED, gameClock(), random);
         initialMonstersCreator(worldLeftEnd, worldRightEnd, (int) windowDimensions.x());
         applyLayersCollisions();
     }
@@ -144,7 +195,6 @@ public class PepseGameManager extends GameManager {
      * Sets the collision behaviour for all the layers that should collide
      */
     private void applyLayersCollisions() {
-        gameObjects().layers().shouldLayersCollide(LEAVES_LAYER, TOP_TERRAIN_LAYER, true);
         gameObjects().layers().shouldLayersCollide(AVATAR_LAYER, TRUNK_LAYER, true);
         gameObjects().layers().shouldLayersCollide(AVATAR_LAYER, CLOUD_LAYER, true);
         gameObjects().layers().shouldLayersCollide(AVATAR_LAYER, MONSTERS_LAYER, true);
@@ -180,19 +230,24 @@ public class PepseGameManager extends GameManager {
     @Override
     public void update(float deltaTime) {
         super.update(deltaTime);
-        Vector2 curPosition = avatar.getCenter();
-        Sun.circleCenter = new Vector2(camera().getCenter().x(), windowDimensions.y());
-        energyCounter.setTopLeftCorner(new Vector2(camera().getTopLeftCorner().x() + PADDING,
-                camera().getTopLeftCorner().y() + PADDING));
-
-        if (curPosition.x() > worldRightEnd - windowDimensions.x()) {
+        float avatarCenterX = avatar.transform().getCenterX();
+        sunCircleCenter.setXY(camera().transform().getCenterX(), windowDimensions.y());
+        energyCounter.transform().setTopLeftCorner(camera().getTopLeftCorner().x() + PADDING,
+                camera().getTopLeftCorner().y() + PADDING);
+        // toggled on the key's press, which holds across the steps of a frame
+        boolean isProfilerOverlayKeyPressed = inputListener.isKeyPressed(PROFILER_OVERLAY_KEY);
+        if (isProfilerOverlayKeyPressed && !wasProfilerOverlayKeyPressed)
+            toggleProfilerOverlay();
+        wasProfilerOverlayKeyPressed = isProfilerOverlayKeyPressed;
+
+        if (avatarCenterX > worldRightEnd - windowDimensions.x()) {
             createWorld(Direction.right);
             deleteWorld(Direction.left);
             worldRightEnd += windowDimensions.x();
             worldLeftEnd += windowDimensions.x();
         }
 
-        if (curPosition.x() < worldLeftEnd + windowDimensions.x()) {
+        if (avatarCenterX < worldLeftEnd + windowDimensions.x()) {
             createWorld(Direction.left);
             deleteWorld(Direction.right);
             worldRightEnd -= windowDimensions.x();
@@ -201,7 +256,8 @@ public class PepseGameManager extends GameManager {
     }
 
     /**
-     * Creates a new world in the game
+     * Creates a new world in the game. The world is built strip by strip in the spare time
+     * at the end of the next frames, rather than all at once within this update.
      *
      * @param world The world side to create the new world
      */
@@ -216,34 +272,81 @@ public class PepseGameManager extends GameManager {
             start = (int) (end - windowDimensions.x());
         }
 
-        this.terrain.createInRange(start, end);
-        tree.createInRange(start + EPSILON * Block.SIZE, end - EPSILON * Block.SIZE);
-        createSingleMonster(start, end);
+        WorldBuild build = new WorldBuild(world, start, end);
+        pendingWorldBuilds.add(build);
+        idleExecutor().submit(build);
     }
 
     /**
-     * Deletes all the object in a given layer and world
+     * Deletes all the object in a given layer and world, and returns them to their pools
      */
-    private void deleteObjectsInLayer(Direction world, int layer) {
+    private int deleteObjectsInLayer(Direction world, int layer) {
+        int[] deleted = {0};
         Consumer<GameObject> deleteTerrain = (object) -> {
-            if (world == Direction.left) {
-                if (object.getTopLeftCorner().x() < worldLeftEnd + windowDimensions.x())
-                    gameObjects().removeGameObject(object, layer);
-            } else if (object.getTopLeftCorner().x() > worldRightEnd - windowDimensions.x())
-                gameObjects().removeGameObject(object, layer);
+            boolean isOutOfWorld = world == Direction.left ?
+                    object.getTopLeftCorner().x() < worldLeftEnd + windowDimensions.x() :
+                    object.getTopLeftCorner().x() > worldRightEnd - windowDimensions.x();
+            if (isOutOfWorld && gameObjects().removeGameObject(object, layer)) {
+                releaseToPool(object);
+                deleted[0]++;
+            }
         };
         gameObjects().objectsInLayer(layer).forEach(deleteTerrain);
+        return deleted[0];
+    }
+
+    /**
+     * Returns a removed object to the pool it was taken from, if any
+     */
+    private void releaseToPool(GameObject object) {
+        if (object instanceof Monster)
+            monsterFactory.release((Monster) object);
+        else
+            gameObjectPools().release(object);
     }
 
     /**
      * Deletes all the object in a given world
      */
     private void deleteWorld(Direction world) {
-        deleteObjectsInLayer(world, TOP_TERRAIN_LAYER);
-        deleteObjectsInLayer(world, BOTTOM_TERRAIN_LAYER);
-        deleteObjectsInLayer(world, TRUNK_LAYER);
-        deleteObjectsInLayer(world, LEAVES_LAYER);
-        deleteObjectsInLayer(world, MONSTERS_LAYER);
+        WorldStreamingEvent event = new WorldStreamingEvent();
+        event.begin();
+        for (WorldBuild build : pendingWorldBuilds) {
+            boolean isOutOfWorld = world == Direction.left ?
+                    build.start < worldLeftEnd + windowDimensions.x() :
+                    build.start >= worldRightEnd - windowDimensions.x();
+            if (isOutOfWorld)
+                build.cancel();
+        }
+        int deleted = deleteObjectsInLayer(world, TOP_TERRAIN_LAYER)
+                + deleteObjectsInLayer(world, BOTTOM_TERRAIN_LAYER)
+                + deleteObjectsInLayer(world, TRUNK_LAYER)
+                + deleteObjectsInLayer(world, LEAVES_LAYER)
+                + deleteObjectsInLayer(world, MONSTERS_LAYER);
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = WorldStreamingEvent.DELETE;
+            event.side = world.name();
+            event.startX = world == Direction.left ? worldLeftEnd : worldRightEnd - (int) windowDimensions.x();
+            event.endX = world == Direction.left ? worldLeftEnd + (int) windowDimensions.x() : worldRightEnd;
+            event.objects = deleted;
+            event.commit();
+        }
+    }
+
+    /**
+     * Shows or hides the frame profiler's overlay
+     */
+    private void toggleProfilerOverlay() {
+        if (profilerOverlay == null) {
+            profilerOverlay = ProfilerOverlay.create(frameProfiler(), PROFILER_OVERLAY_POSITION,
+                    PROFILER_OVERLAY_LINE_HEIGHT, Color.BLACK);
+            gameObjects().addGameObject(profilerOverlay, PROFILER_OVERLAY_LAYER);
+        }
+        else {
+            gameObjects().removeGameObject(profilerOverlay, PROFILER_OVERLAY_LAYER);
+            profilerOverlay = null;
+        }
     }
 
     /**
@@ -253,7 +356,8 @@ public class PepseGameManager extends GameManager {
         float initialX = windowDimensions.x() / 2f;
         Vector2 initialPosition = new Vector2(
                 initialX, terrain.groundHeightAt(initialX) - Block.SIZE * EPSILON);
-        avatar = Avatar.create(gameObjects(), Layer.DEFAULT, initialPosition, inputListener, imageReader);
+        avatar = Avatar.create(gameObjects(), Layer.DEFAULT, initialPosition, inputListener, imageReader,
+                gameClock());
         Vector2 distance = windowDimensions.mult(0.5f).subtract(avatar.getTopLeftCorner());
         setCamera(new Camera(avatar, distance, windowDimensions, windowDimensions));
     }
@@ -261,8 +365,9 @@ public class PepseGameManager extends GameManager {
     /**
      * Creates a new terrain and adds it to the list of game objects.
      */
-    private void terrainCreator(int start, int end) {
-        this.terrain = new Terrain(this.gameObjects(), TOP_TERRAIN_LAYER, windowDimensions, RANDOM_SEED);
+    private void terrainCreator(int start, int end, GameObjectPool<Block> blockPool) {
+        this.terrain = new Terrain(this.gameObjects(), TOP_TERRAIN_LAYER, windowDimensions, RANDOM_SEED,
+                blockPool, random);
         terrain.createInRange(start, end);
     }
 
@@ -272,7 +377,7 @@ public class PepseGameManager extends GameManager {
     private void skyCreator(ImageReader imageReader) {
         Sky.create(gameObjects(), windowDimensions, SKY_LAYER);
         Night.create(gameObjects(), NIGHT_LAYER, windowDimensions, NIGHT_CYCLE_LEN);
-        GameObject sun = Sun.create(gameObjects(), SUN_LAYER, windowDimensions, SUNSET_CYCLE);
+        GameObject sun = Sun.create(gameObjects(), SUN_LAYER, windowDimensions, SUNSET_CYCLE, sunCircleCenter);
         SunHalo.create(gameObjects(), SUN_LAYER, sun, HALO_COLOR);
         cloudsCreator(imageReader);
     }
@@ -280,14 +385,111 @@ public class PepseGameManager extends GameManager {
     /**
      * The main game loop
      *
-     * @param args The user arguments
+     * @param args The user arguments: optionally, a file to record the session into, to be
+     *             replayed later by a HeadlessGameRunner
      */
     public static void main(String[] args) {
-        new PepseGameManager(WINDOWS_NAME, new Vector2(BOARD_WIDTH, BOARD_HEIGHT)).run();
+        PepseGameManager game = new PepseGameManager(WINDOWS_NAME, new Vector2(BOARD_WIDTH, BOARD_HEIGHT));
+        if (args.length > 0)
+            game.inputRecordingPath = args[0];
+        game.run();
     }
 
     /**
      * This enum represent a direction - in this context it represents the side of a world
      */
     private enum Direction {right, left}
+
+    /**
+     * Builds a new world in the range [start, end) a strip at a time: first the terrain,
+     * then the trees and finally the monster.
+     */
+    private class WorldBuild implements FrameBudgetExecutor.Task {
+        private final Direction side;
+        private final int start, end;
+        private final int treesStart, treesEnd;
+        private int terrainX, treesX;
+        private boolean isCancelled = false;
+        // spans the whole build, from its request to its last slice
+        private final WorldStreamingEvent event = new WorldStreamingEvent();
+        private int objectsAdded, slices;
+        private long buildTime;
+
+        WorldBuild(Direction side, int start, int end) {
+            event.begin();
+            this.side = side;
+            this.start = start;
+            this.end = end;
+            this.treesStart = start + EPSILON * Block.SIZE;
+            this.treesEnd = end - EPSILON * Block.SIZE;
+            this.terrainX = start;
+            this.treesX = treesStart;
+        }
+
+        /**
+         * Stops the build, for example when its world is deleted before it was completed
+         */
+        void cancel() {
+            isCancelled = true;
+        }
+
+        @Override
+        public boolean runSlice() {
+            if (isCancelled) {
+                pendingWorldBuilds.remove(this);
+                finished();
+                return true;
+            }
+            long sliceStart = System.nanoTime();
+            int objectsBefore = gameObjects().handles().size();
+            boolean isDone = buildSlice();
+            objectsAdded += gameObjects().handles().size() - objectsBefore;
+            buildTime += System.nanoTime() - sliceStart;
+            slices++;
+            if (isDone) {
+                pendingWorldBuilds.remove(this);
+                finished();
+            }
+            return isDone;
+        }
+
+        /**
+         * Builds the next strip of the world
+         *
+         * @return true if the world is complete
+         */
+        private boolean buildSlice() {
+            if (terrainX < end) {
+                terrain.createInRange(terrainX, Math.min(terrainX + WORLD_SLICE_WIDTH, end));
+                terrainX += WORLD_SLICE_WIDTH;
+                return false;
+            }
+            if (treesX <= treesEnd) {
+                // the trees' range is inclusive
+                tree.createInRange(treesX, Math.min(treesX + WORLD_SLICE_WIDTH - 1, treesEnd));
+                treesX += WORLD_SLICE_WIDTH;
+                return false;
+            }
+            createSingleMonster(start, end);
+            return true;
+        }
+
+        /**
+         * Reports the build to the flight recorder
+         */
+        private void finished() {
+            event.end();
+            if (!event.shouldCommit())
+                return;
+            event.operation = WorldStreamingEvent.CREATE;
+            event.side = side.name();
+            event.startX = start;
+            event.endX = end;
+            event.objects = objectsAdded;
+            event.slices = slices;
+            event.buildTime = buildTime;
+            event.cancelled = isCancelled;
+            event.commit();
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,42 @@
+package pepse;
+
+import jdk.jfr.*;
+
+/**
+ * A JDK Flight Recorder event for a world streamed in or out as the avatar walks:
+ * a world created (from the request until its last slice was built in the frames' idle
+ * time) or a world deleted, with the number of objects added or removed.
+ */
+@Name("pepse.WorldStreaming")
+@Label("World Streaming")
+@Category({"Pepse", "World"})
+@Description("A world created or deleted as the avatar walks")
+@StackTrace(false)
+@Threshold("0 ms")
+class WorldStreamingEvent extends Event {
+    static final String CREATE = "create";
+    static final String DELETE = "delete";
+
+    @Label("Operation")
+    @Description("Create or delete")
+    String operation;
+    @Label("Side")
+    @Description("The side of the current world the world is on")
+    String side;
+    @Label("Start X")
+    int startX;
+    @Label("End X")
+    int endX;
+    @Label("Objects")
+    @Description("The number of objects added or removed")
+    int objects;
+    @Label("Slices")
+    @Description("The number of slices of idle time the world was built in")
+    int slices;
+    @Label("Build Time") @Timespan
+    @Description("The time spent building the world, excluding the frames in between")
+    long buildTime;
+    @Label("Cancelled")
+    @Description("Was the world deleted before it was completely built")
+    boolean cancelled;
+}
@@ -9,16 +9,16 @@ import java.util.Random;
  */
 public final class ColorSupplier {
     private static final int DEFAULT_COLOR_DELTA = 10;
-    private final static Random random = new Random();
 
     /**
      * Returns a color similar to baseColor, with a default delta.
      *
      * @param baseColor A color that we wish to approximate.
+     * @param random The source of randomness, such as the world's.
      * @return A color similar to baseColor.
      */
-    public static Color approximateColor(Color baseColor) {
-        return approximateColor(baseColor, DEFAULT_COLOR_DELTA);
+    public static Color approximateColor(Color baseColor, Random random) {
+        return approximateColor(baseColor, DEFAULT_COLOR_DELTA, random);
     }
 
     /**
@@ -26,14 +26,15 @@ public final class ColorSupplier {
      *
      * @param baseColor A color that we wish to approximate.
      * @param colorDelta The maximal difference (per channel) between the sampled color and the base color.
+     * @param random The source of randomness, such as the world's.
      * @return A color similar to baseColor.
      */
-    public static Color approximateColor(Color baseColor, int colorDelta) {
+    public static Color approximateColor(Color baseColor, int colorDelta, Random random) {
 
         return new Color(
-                randomChannelInRange(baseColor.getRed()-colorDelta, baseColor.getRed()+colorDelta),
-                randomChannelInRange(baseColor.getGreen()-colorDelta, baseColor.getGreen()+colorDelta),
-                randomChannelInRange(baseColor.getBlue()-colorDelta, baseColor.getBlue()+colorDelta));
+                randomChannelInRange(baseColor.getRed()-colorDelta, baseColor.getRed()+colorDelta, random),
+                randomChannelInRange(baseColor.getGreen()-colorDelta, baseColor.getGreen()+colorDelta, random),
+                randomChannelInRange(baseColor.getBlue()-colorDelta, baseColor.getBlue()+colorDelta, random));
     }
 
     /**
@@ -41,9 +42,10 @@ public final class ColorSupplier {
      *
      * @param min The lower bound of the given range.
      * @param max The upper bound of the given range.
+     * @param random The source of randomness.
      * @return A random number in the range [min, max], clipped to [0,255].
      */
-    private static int randomChannelInRange(int min, int max) {
+    private static int randomChannelInRange(int min, int max, Random random) {
         int channel = random.nextInt(max-min+1) + min;
         return Math.min(255, Math.max(channel, 0));
     }
@@ -30,9 +30,11 @@ public class NoiseGenerator {
 
     /**
      * Constructs a new noise generator with a random seed value generated using a Gaussian distribution.
+     *
+     * @param random the source the seed value is drawn from
      */
-    public NoiseGenerator() {
-        this.seed = new Random().nextGaussian() * 255;
+    public NoiseGenerator(Random random) {
+        this.seed = random.nextGaussian() * 255;
         init();
     }
     /**
@@ -4,6 +4,7 @@ import danogl.collisions.Collision;
 
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
+import danogl.components.FloatTransition;
 import danogl.components.ScheduledTask;
 import danogl.components.Transition;
 import danogl.gui.ImageReader;
@@ -11,9 +12,10 @@ import danogl.gui.UserInputListener;
 import danogl.gui.rendering.AnimationRenderable;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Counter;
+import danogl.util.GameClock;
 import danogl.util.Vector2;
 import pepse.PepseGameManager;
-import pepse.world.trees.Leaf;
+import pepse.world.trees.LeafCluster;
 
 import java.awt.event.KeyEvent;
 
@@ -59,7 +61,7 @@ public class Avatar extends GameObject {
     private final UserInputListener inputListener;
     private final ImageReader imageReader;
     private boolean decreaseEnergy = true;
-    private Transition<Float> horizontalTransition = null;
+    private FloatTransition horizontalTransition = null;
     private State state = State.moveRight;
     private AnimationRenderable walkLeft;
     private AnimationRenderable walkRight;
@@ -85,6 +87,7 @@ public class Avatar extends GameObject {
         this.imageReader = imageReader;
         this.energy = new Counter(MAX_ENERGY);
         this.parachute = createParachute();
+        parachute.transform().setParent(transform(), 0, -parachute.getDimensions().y());
     }
 
     /**
@@ -95,19 +98,20 @@ public class Avatar extends GameObject {
      * @param topLeftCorner the position of the avatar in window coordinates (pixels)
      * @param inputListener the user input listener to use for the avatar
      * @param imageReader   the image reader to use for creating the avatar's animations
+     * @param gameClock     the clock the avatar's animations follow
      * @return the newly created Avatar instance
      */
     public static Avatar create(GameObjectCollection gameObjects,
                                 int layer, Vector2 topLeftCorner,
                                 UserInputListener inputListener,
-                                ImageReader imageReader) {
+                                ImageReader imageReader, GameClock gameClock) {
 
         Avatar avatar = new Avatar(gameObjects, topLeftCorner, AVATAR_SIZE, inputListener, imageReader);
-        avatar.walkLeft = createWalkAnimation(imageReader, State.moveLeft);
-        avatar.walkRight = createWalkAnimation(imageReader, State.moveRight);
-        avatar.flyLeft = createWalkAnimation(imageReader, State.flyLeft);
-        avatar.flyRight = createWalkAnimation(imageReader, State.flyRight);
-        avatar.flyNormal = createWalkAnimation(imageReader, State.flyNormal);
+        avatar.walkLeft = createWalkAnimation(imageReader, State.moveLeft, gameClock);
+        avatar.walkRight = createWalkAnimation(imageReader, State.moveRight, gameClock);
+        avatar.flyLeft = createWalkAnimation(imageReader, State.flyLeft, gameClock);
+        avatar.flyRight = createWalkAnimation(imageReader, State.flyRight, gameClock);
+        avatar.flyNormal = createWalkAnimation(imageReader, State.flyNormal, gameClock);
 
         gameObjects.addGameObject(avatar, layer);
         return avatar;
@@ -158,13 +162,12 @@ public class Avatar extends GameObject {
      * function that manage what's happen when the avatar falls.
      */
     private void manageFreeFall() {
-        parachute.setCenter(this.getCenter().subtract(new Vector2(0, parachute.getDimensions().y())));
         if (getVelocity().y() > VELOCITY_TO_START_PARACHUTE) {
             if (horizontalTransition == null) {
                 applyWind();
                 gameObjects.addGameObject(parachute, PepseGameManager.PARACHUTE_LAYER);
             }
-            this.setVelocity(new Vector2(getVelocity().x(), MAX_FALLING_SPEED));
+            transform().setVelocityY(MAX_FALLING_SPEED);
         }
     }
 
@@ -242,7 +245,7 @@ public class Avatar extends GameObject {
     @Override
     public void onCollisionEnter(GameObject other, Collision collision) {
         super.onCollisionEnter(other, collision);
-        if (!other.getTag().equals(Leaf.LEAF_TAG)) {
+        if (!other.getTag().equals(LeafCluster.LEAF_TAG)) {
             gameObjects.removeGameObject(parachute, PepseGameManager.PARACHUTE_LAYER);
             new ScheduledTask(this, EPSILON_WAIT_TIME, false, this::stopRotating);
         }
@@ -269,9 +272,11 @@ public class Avatar extends GameObject {
      *
      * @param imageReader The imageReader object
      * @param state       The state to return
+     * @param gameClock   The clock the animation follows
      * @return Renderable of the state
      */
-    private static AnimationRenderable createWalkAnimation(ImageReader imageReader, State state) {
+    private static AnimationRenderable createWalkAnimation(ImageReader imageReader, State state,
+                                                           GameClock gameClock) {
         if (state == State.moveRight) {
             Renderable renderable1 = imageReader.readImage(NORMAL_RIGHT_1_PATH, true);
             Renderable renderable2 = imageReader.readImage(NORMAL_RIGHT_2_PATH, true);
@@ -280,7 +285,7 @@ public class Avatar extends GameObject {
             Renderable renderable5 = imageReader.readImage(NORMAL_RIGHT_5_PATH, true);
             Renderable[] renderables = {renderable1, renderable2, renderable3, renderable4, renderable5,
                     renderable1};
-            return new AnimationRenderable(renderables, GIF_FRAME_RATE);
+            return new AnimationRenderable(renderables, GIF_FRAME_RATE, gameClock, 0);
         } else if (state == State.moveLeft) {
             Renderable renderable1 = imageReader.readImage(NORMAL_LEFT_1_PATH, true);
             Renderable renderable2 = imageReader.readImage(NORMAL_LEFT_2_PATH, true);
@@ -289,22 +294,22 @@ public class Avatar extends GameObject {
             Renderable renderable5 = imageReader.readImage(NORMAL_LEFT_5_PATH, true);
             Renderable[] renderables = {renderable1, renderable2, renderable3, renderable4, renderable5,
                     renderable1};
-            return new AnimationRenderable(renderables, GIF_FRAME_RATE);
+            return new AnimationRenderable(renderables, GIF_FRAME_RATE, gameClock, 0);
         } else if (state == State.flyRight) {
             Renderable renderable1 = imageReader.readImage(FLY_RIGHT_1_PATH, true);
             Renderable renderable2 = imageReader.readImage(FLY_RIGHT_2_PATH, true);
             Renderable[] renderables = {renderable1, renderable2};
-            return new AnimationRenderable(renderables, GIF_FRAME_RATE);
+            return new AnimationRenderable(renderables, GIF_FRAME_RATE, gameClock, 0);
         } else if (state == State.flyLeft) {
             Renderable renderable1 = imageReader.readImage(FLY_LEFT_1_PATH, true);
             Renderable renderable2 = imageReader.readImage(FLY_LEFT_2_PATH, true);
             Renderable[] renderables = {renderable1, renderable2};
-            return new AnimationRenderable(renderables, GIF_FRAME_RATE);
+            return new AnimationRenderable(renderables, GIF_FRAME_RATE, gameClock, 0);
         } else if (state == State.flyNormal) {
             Renderable renderable1 = imageReader.readImage(FLY_NORMAL_1_PATH, true);
             Renderable renderable2 = imageReader.readImage(FLY_NORMAL_2_PATH, true);
             Renderable[] renderables = {renderable1, renderable2};
-            return new AnimationRenderable(renderables, GIF_FRAME_RATE);
+            return new AnimationRenderable(renderables, GIF_FRAME_RATE, gameClock, 0);
         }
         return null;
     }
@@ -325,10 +330,10 @@ public class Avatar extends GameObject {
      * makes the avatar rotate when the parachute opens
      */
     private void applyWind() {
-        this.horizontalTransition = new Transition<>(this, this.renderer()::setRenderableAngle,
+        this.horizontalTransition = new FloatTransition(this, this.renderer()::setRenderableAngle,
                 -START_ROTATION_ANGLE,
                 START_ROTATION_ANGLE,
-                Transition.LINEAR_INTERPOLATOR_FLOAT,
+                FloatTransition.LINEAR_INTERPOLATOR,
                 WIND_TRANSITION_TIME,
                 Transition.TransitionType.TRANSITION_BACK_AND_FORTH, null);
     }
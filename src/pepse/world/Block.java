@@ -28,4 +28,12 @@ public class Block extends GameObject {
         setTag(BLOCK_TAG);
     }
 
+    /**
+     * Restores the block's tag when it's handed out again by a pool
+     */
+    @Override
+    public void onAcquire() {
+        super.onAcquire();
+        setTag(BLOCK_TAG);
+    }
 }
@@ -1,6 +1,7 @@
 package pepse.world.Monsters;
 
 import danogl.GameObject;
+import danogl.ParallelUpdatable;
 import danogl.collisions.Collision;
 import danogl.components.ScheduledTask;
 import danogl.gui.rendering.Renderable;
@@ -10,24 +11,41 @@ import pepse.world.trees.Tree;
 
 import java.util.Random;
 
-public class Monster extends GameObject {
+public class Monster extends GameObject implements ParallelUpdatable {
     private static final int GRAVITY = 500;
     private static final int MAX_TIME_UNTIL_JUMP = 8;
     private static final int JUMP_SPEED = 300;
     private static final int MOVEMENT_SPEED = 200;
-    private static final Random random = new Random();
     public static final float WAIT_TIME = 0.3f;
     public final Renderable rightImg;
     public final Renderable leftImg;
+    private final Random random;
     private int direction;
     private boolean isOnAir = true;
+    Monsters kind;
 
-    public Monster(Vector2 topLeftCorner, Vector2 dimensions, Renderable lefImg, Renderable rightImg) {
+    public Monster(Vector2 topLeftCorner, Vector2 dimensions, Renderable lefImg, Renderable rightImg,
+                   Random random) {
         super(topLeftCorner, dimensions, null);
-        transform().setAccelerationY(GRAVITY);
+        this.random = random;
         physics().preventIntersectionsFromDirection(Vector2.ZERO);
         this.leftImg = lefImg;
         this.rightImg = rightImg;
+        spawn();
+    }
+
+    /**
+     * Starts the monster's life again when it's handed out again by a pool
+     */
+    @Override
+    public void onAcquire() {
+        super.onAcquire();
+        spawn();
+    }
+
+    private void spawn() {
+        transform().setAccelerationY(GRAVITY);
+        this.isOnAir = true;
         this.direction = random.nextBoolean() ? MOVEMENT_SPEED : -MOVEMENT_SPEED;
         updateRenderable();
         applyMovement();
@@ -3,8 +3,11 @@ package pepse.world.Monsters;
 import danogl.gui.ImageReader;
 import danogl.gui.rendering.AnimationRenderable;
 import danogl.gui.rendering.Renderable;
+import danogl.util.GameClock;
+import danogl.util.GameObjectPool;
 import danogl.util.Vector2;
 
+import java.util.EnumMap;
 import java.util.Objects;
 import java.util.Random;
 
@@ -31,80 +34,106 @@ public class MonsterFactory {
     /**************  Attributes  **************/
     private final ImageReader imageReader;
     private final int seed;
+    private final Random random;
+    private final GameClock gameClock;
+    private final EnumMap<Monsters, GameObjectPool<Monster>> pools = new EnumMap<>(Monsters.class);
+    // read once and shared by all the monsters of a kind
+    private Renderable[] pigLeftClips, pigRightClips, snailLeftClips, snailRightClips;
 
     /**
      * Creates a new MonsterFactory factory
      *
      * @param imageReader The imageReader object
      * @param seed        The random seed
+     * @param gameClock   The clock the monsters' animations follow
+     * @param random      The source of the monsters' random behaviour
      */
-    public MonsterFactory(ImageReader imageReader, int seed) {
+    public MonsterFactory(ImageReader imageReader, int seed, GameClock gameClock, Random random) {
         this.imageReader = imageReader;
         this.seed = seed;
+        this.random = random;
+        this.gameClock = gameClock;
+        pools.put(Monsters.pig, new GameObjectPool<>(this::createPig));
+        pools.put(Monsters.snail, new GameObjectPool<>(this::createSnail));
     }
 
     /**
-     * Creates and returns a new Monster object
+     * Returns a Monster object, reusing a released monster of the same type if there is one
      *
      * @param monster       The type of monster to return
      * @param topLeftCorner The top left corner to draw the monster
      * @return Monster object
      */
     public Monster create(Monsters monster, Vector2 topLeftCorner) {
-        switch (monster) {
-            case pig:
-                return createPig(topLeftCorner);
-            case snail:
-                return createSnail(topLeftCorner);
-            default:
-                return null;
-        }
+        Monster created = pools.get(monster).acquire();
+        created.kind = monster;
+        created.transform().setTopLeftCorner(topLeftCorner.x(),
+                topLeftCorner.y() - created.getDimensions().y() - EPSILON);
+        return created;
     }
 
     /**
-     * Creates a new pig monster
+     * Returns a monster that was removed from the game to the pool of its type
      *
-     * @param topLeftCorner The top left corner to draw the monster
-     * @return pig Monster object
+     * @param monster A monster created by this factory
      */
-    private Monster createPig(Vector2 topLeftCorner) {
-        Renderable leftImg1 = imageReader.readImage(ASSETS_PIG_PIG_LEFT_1, true);
-        Renderable leftImg2 = imageReader.readImage(ASSETS_PIG_PIG_LEFT_2, true);
-        Renderable leftImg3 = imageReader.readImage(ASSETS_PIG_PIG_LEFT_3, true);
-        AnimationRenderable leftImg = new AnimationRenderable(new Renderable[]{leftImg1, leftImg2, leftImg3},
-                TIME_BETWEEN_CLIPS);
-
-        Renderable rightImg1 = imageReader.readImage(ASSETS_PIG_PIG_RIGHT_1, true);
-        Renderable rightImg2 = imageReader.readImage(ASSETS_PIG_PIG_RIGHT_2, true);
-        Renderable rightImg3 = imageReader.readImage(ASSETS_PIG_PIG_RIGHT_3, true);
-        AnimationRenderable rightImg = new AnimationRenderable(new Renderable[]{rightImg1, rightImg2,
-                rightImg3}, TIME_BETWEEN_CLIPS);
+    public void release(Monster monster) {
+        pools.get(monster.kind).release(monster);
+    }
 
-        Vector2 pigPosition = new Vector2(topLeftCorner.x(), topLeftCorner.y() - PIG_SIZE.y() - EPSILON);
-        return new Monster(pigPosition, PIG_SIZE, leftImg, rightImg);
+    /**
+     * Creates a new pig monster. The images are read only once per factory.
+     *
+     * @return pig Monster object
+     */
+    private Monster createPig() {
+        if (pigLeftClips == null) {
+            pigLeftClips = new Renderable[]{
+                    imageReader.readImage(ASSETS_PIG_PIG_LEFT_1, true),
+                    imageReader.readImage(ASSETS_PIG_PIG_LEFT_2, true),
+                    imageReader.readImage(ASSETS_PIG_PIG_LEFT_3, true)};
+            pigRightClips = new Renderable[]{
+                    imageReader.readImage(ASSETS_PIG_PIG_RIGHT_1, true),
+                    imageReader.readImage(ASSETS_PIG_PIG_RIGHT_2, true),
+                    imageReader.readImage(ASSETS_PIG_PIG_RIGHT_3, true)};
+        }
+        return createMonster(PIG_SIZE, pigLeftClips, pigRightClips);
     }
 
     /**
-     * Creates a new snail monster
+     * Creates a new snail monster. The images are read only once per factory.
      *
-     * @param topLeftCorner The top left corner to draw the monster
      * @return snail Monster object
      */
-    private Monster createSnail(Vector2 topLeftCorner) {
-        Renderable leftImg1 = imageReader.readImage(ASSETS_SNAIL_SNAIL_LEFT_1, true);
-        Renderable leftImg2 = imageReader.readImage(ASSETS_SNAIL_SNAIL_LEFT_2, true);
-        Renderable leftImg3 = imageReader.readImage(ASSETS_SNAIL_SNAIL_LEFT_3, true);
-        AnimationRenderable leftImg = new AnimationRenderable(new Renderable[]{leftImg1, leftImg2, leftImg3},
-                TIME_BETWEEN_CLIPS);
-
-        Renderable rightImg1 = imageReader.readImage(ASSETS_SNAIL_SNAIL_RIGHT_1, true);
-        Renderable rightImg2 = imageReader.readImage(MonsterFactory.ASSETS_SNAIL_SNAIL_RIGHT_1, true);
-        Renderable rightImg3 = imageReader.readImage(MonsterFactory.ASSETS_SNAIL_SNAIL_RIGHT_1, true);
-        AnimationRenderable rightImg = new AnimationRenderable(new Renderable[]{rightImg1, rightImg2,
-                rightImg3}, TIME_BETWEEN_CLIPS);
+    private Monster createSnail() {
+        if (snailLeftClips == null) {
+            snailLeftClips = new Renderable[]{
+                    imageReader.readImage(ASSETS_SNAIL_SNAIL_LEFT_1, true),
+                    imageReader.readImage(ASSETS_SNAIL_SNAIL_LEFT_2, true),
+                    imageReader.readImage(ASSETS_SNAIL_SNAIL_LEFT_3, true)};
+            Renderable rightImg1 = imageReader.readImage(ASSETS_SNAIL_SNAIL_RIGHT_1, true);
+            snailRightClips = new Renderable[]{rightImg1, rightImg1, rightImg1};
+        }
+        return createMonster(SNAIL_SIZE, snailLeftClips, snailRightClips);
+    }
 
-        Vector2 snailPosition = new Vector2(topLeftCorner.x(), topLeftCorner.y() - SNAIL_SIZE.y() - EPSILON);
-        return new Monster(snailPosition, SNAIL_SIZE, leftImg, rightImg);
+    /**
+     * Creates a monster with animations of its own over the shared clips, so resetting
+     * them (see {@link AnimationRenderable#resetAnimation()}) only affects this monster.
+     * The animations follow the game clock, so need no updates, and start at a random phase
+     * shared by both directions, so that monsters don't move in unison.
+     *
+     * @param size       The size of the monster
+     * @param leftClips  The clips of the monster walking left
+     * @param rightClips The clips of the monster walking right
+     * @return The monster
+     */
+    private Monster createMonster(Vector2 size, Renderable[] leftClips, Renderable[] rightClips) {
+        double phase = random.nextDouble() * TIME_BETWEEN_CLIPS * leftClips.length;
+        return new Monster(Vector2.ZERO, size,
+                new AnimationRenderable(leftClips, TIME_BETWEEN_CLIPS, gameClock, phase),
+                new AnimationRenderable(rightClips, TIME_BETWEEN_CLIPS, gameClock, phase),
+                random);
     }
 
     /**
@@ -4,12 +4,14 @@ import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
 import danogl.gui.rendering.RectangleRenderable;
 import danogl.gui.rendering.Renderable;
+import danogl.util.GameObjectPool;
 import danogl.util.Vector2;
 import pepse.PepseGameManager;
 import pepse.util.ColorSupplier;
 import pepse.util.NoiseGenerator;
 
 import java.awt.*;
+import java.util.Random;
 
 /**
  * The Terrain class represents the terrain in the game.
@@ -24,6 +26,7 @@ public class Terrain {
     private static final Color BASE_GROUND_COLOR = new Color(212, 123, 74);
 
     private static final int TERRAIN_DEPTH = 20;
+    private static final int COLOR_PALETTE_SIZE = 32;
 
 
     /*************** Variables *****************/
@@ -32,6 +35,9 @@ public class Terrain {
     private int groundHeightAtX0;
     private final NoiseGenerator noiseGenerator;
     private final Vector2 windowsDimensions;
+    private final GameObjectPool<Block> blockPool;
+    private final Renderable[] groundPalette = new Renderable[COLOR_PALETTE_SIZE];
+    private final Random random;
 
     /**
      * Constructs a new Terrain instance.
@@ -39,14 +45,21 @@ public class Terrain {
      * @param groundLayer The layer at which the terrain blocks should be added in the game object collection.
      * @param windowDimensions The dimensions of the game window.
      * @param seed The seed for randomization
+     * @param blockPool The pool from which the terrain blocks are taken
+     * @param random The source of the blocks' colors
      */
-    public Terrain(GameObjectCollection gameObjects, int groundLayer, Vector2 windowDimensions, int seed) {
+    public Terrain(GameObjectCollection gameObjects, int groundLayer, Vector2 windowDimensions, int seed,
+                   GameObjectPool<Block> blockPool, Random random) {
         this.gameObjects = gameObjects;
         this.groundLayer = groundLayer;
         this.groundHeightAtX0 = 0;
         this.windowsDimensions = windowDimensions;
         this.groundHeightAtX0 = (int) ((int) windowDimensions.y() * TERRAIN_HEIGHT_RATIO);
         this.noiseGenerator = new NoiseGenerator(seed);
+        this.blockPool = blockPool;
+        this.random = random;
+        for (int i = 0; i < groundPalette.length; i++)
+            groundPalette[i] = new RectangleRenderable(ColorSupplier.approximateColor(BASE_GROUND_COLOR, random));
     }
 
     /**
@@ -67,7 +80,9 @@ public class Terrain {
     }
 
     /**
-     * Creates the terrain blocks in the given x-coordinate range.
+     * Creates the terrain blocks in the given x-coordinate range. The blocks are taken from the
+     * block pool and colored from a fixed palette of ground colors, so no new objects are
+     * needed once the pool holds enough released blocks.
      * @param minX The minimum x-coordinate for the terrain blocks.
      * @param maxX The maximum x-coordinate for the terrain blocks.
      */
@@ -76,9 +91,10 @@ public class Terrain {
             float curY = groundHeightAt(curX);
             int layer = groundLayer;
             for (int i = 0; i < TERRAIN_DEPTH; ++i) {
-                Renderable renderable = new RectangleRenderable(ColorSupplier.approximateColor(BASE_GROUND_COLOR));
                 if (i > 1) layer = PepseGameManager.BOTTOM_TERRAIN_LAYER;
-                Block block = new Block(new Vector2(curX, curY), renderable);
+                Block block = blockPool.acquire();
+                block.transform().setTopLeftCorner(curX, curY);
+                block.renderer().setRenderable(groundPalette[random.nextInt(groundPalette.length)]);
                 block.setTag(TERRAIN_TAG);
                 this.gameObjects.addGameObject(block, layer);
                 curY += Block.SIZE;
@@ -3,15 +3,16 @@ package pepse.world.daynight;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
 import danogl.collisions.Layer;
+import danogl.components.FloatTransition;
 import danogl.components.GameObjectPhysics;
 import danogl.components.Transition;
 import danogl.gui.ImageReader;
 import danogl.gui.rendering.ImageRenderable;
 import danogl.gui.rendering.Renderable;
+import danogl.util.FloatConsumer;
+import danogl.util.UpdateLod;
 import danogl.util.Vector2;
 
-import java.util.function.Consumer;
-
 public class Cloud {
 
     private static final float CLOUD_HEIGHT = 120f;
@@ -35,16 +36,17 @@ public class Cloud {
 
         gameObjects.addGameObject(cloud, layer);
         cloud.setTag(CLOUD_TAG);
+        cloud.setOffscreenUpdatePolicy(UpdateLod.Policy.THROTTLED);
 
         cloud.physics().preventIntersectionsFromDirection(Vector2.ZERO);
         cloud.physics().setMass(GameObjectPhysics.IMMOVABLE_MASS);
 
-        Consumer<Float> mover = movement -> {
-            cloud.setCenter(new Vector2(movement, cloud.getCenter().y()));
+        FloatConsumer mover = movement -> {
+            cloud.transform().setCenterX(movement);
         };
 
-        new Transition<>(cloud, mover,
-                startX, startX + XTRAVEL_RATIO * windowDimensions.x(), Transition.LINEAR_INTERPOLATOR_FLOAT,
+        new FloatTransition(cloud, mover,
+                startX, startX + XTRAVEL_RATIO * windowDimensions.x(), FloatTransition.LINEAR_INTERPOLATOR,
                 cycleLength, Transition.TransitionType.TRANSITION_BACK_AND_FORTH, null);
 
         return cloud;
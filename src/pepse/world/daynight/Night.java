@@ -3,6 +3,7 @@ package pepse.world.daynight;
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
 import danogl.components.CoordinateSpace;
+import danogl.components.FloatTransition;
 import danogl.components.Transition;
 import danogl.gui.rendering.RectangleRenderable;
 import danogl.gui.rendering.Renderable;
@@ -43,10 +44,10 @@ public class Night {
         night.setCoordinateSpace(CoordinateSpace.CAMERA_COORDINATES);
         gameObjects.addGameObject(night, layer);
 
-        new Transition<>(night, night.renderer()::setOpaqueness,
+        new FloatTransition(night, night.renderer()::setOpaqueness,
                 DAY_OPACITY,
                 MIDNIGHT_OPACITY,
-                Transition.CUBIC_INTERPOLATOR_FLOAT,
+                FloatTransition.CUBIC_INTERPOLATOR,
                 cycleLength,
                 Transition.TransitionType.TRANSITION_BACK_AND_FORTH, null);
 
@@ -2,10 +2,12 @@ package pepse.world.daynight;
 
 import danogl.GameObject;
 import danogl.collisions.GameObjectCollection;
+import danogl.components.FloatTransition;
 import danogl.components.Transition;
 import danogl.gui.rendering.Camera;
 import danogl.gui.rendering.OvalRenderable;
 import danogl.gui.rendering.Renderable;
+import danogl.util.MutableVector2;
 import danogl.util.Vector2;
 
 import java.awt.*;
@@ -22,7 +24,6 @@ public class Sun {
     private static final float SUN_LARGE_ROTATION_RADIUS = 650;
     private static final float INIT_SUN_ANGLE = 630;
     private static final float END_SUN_ANGLE = 270;
-    public static Vector2 circleCenter;
 
     /**
      * A private constructor to prevent creating a Sun instance
@@ -37,25 +38,27 @@ public class Sun {
      * @param layer            the layer to add the sun object to in the game object collection
      * @param windowDimensions the dimensions of the game window
      * @param cycleLength      the length of the day-night cycle in seconds
+     * @param circleCenter     the center of the sun's orbit; the game may move it, for example
+     *                         to follow the camera
      * @return the newly created sun object
      */
     public static GameObject create(GameObjectCollection gameObjects, int layer, Vector2 windowDimensions,
-                                    float cycleLength) {
+                                    float cycleLength, MutableVector2 circleCenter) {
         Renderable sunRenderable = new OvalRenderable(SUN_COLOR);
         GameObject sun = new GameObject(Vector2.ZERO, new Vector2(SUN_SIZE, SUN_SIZE), sunRenderable);
         sun.setTag(SUN_TAG);
         gameObjects.addGameObject(sun, layer);
-        circleCenter = new Vector2(windowDimensions.x() / 2, windowDimensions.y());
+        circleCenter.setXY(windowDimensions.x() / 2, windowDimensions.y());
         SunMover mover = angle -> {
             float x = (float) (circleCenter.x() + SUN_LARGE_ROTATION_RADIUS * Math.cos(Math.toRadians(angle)));
             float y = (float) (circleCenter.y() + SUN_SMALL_ROTATION_RADIUS * Math.sin(Math.toRadians(angle)));
-            sun.setCenter(new Vector2(x, y));
+            sun.transform().setCenter(x, y);
         };
 
-        new Transition<>(sun, mover::rotate,
+        new FloatTransition(sun, mover::rotate,
                 INIT_SUN_ANGLE,
                 END_SUN_ANGLE,
-                Transition.LINEAR_INTERPOLATOR_FLOAT,
+                FloatTransition.LINEAR_INTERPOLATOR,
                 cycleLength,
                 Transition.TransitionType.TRANSITION_LOOP, null);
         return sun;
@@ -5,7 +5,6 @@ import danogl.collisions.GameObjectCollection;
 import danogl.gui.rendering.OvalRenderable;
 import danogl.gui.rendering.Renderable;
 import danogl.util.Vector2;
-import danogl.components.Component;
 
 import java.awt.*;
 
@@ -39,8 +38,7 @@ public class SunHalo {
         GameObject sunHalo = new GameObject(Vector2.ZERO, haloRadius, haloRenderable);
         sunHalo.setTag(SUN_HALO_TAG);
 
-        Component haloMover = (deltaTime) -> sunHalo.setCenter(sun.getCenter());
-        sunHalo.addComponent(haloMover);
+        sunHalo.transform().setParent(sun.transform(), Vector2.ZERO);
         gameObjects.addGameObject(sunHalo, layer);
         return sunHalo;
     }
@@ -0,0 +1,86 @@
+package pepse.world.trees;
+
+import danogl.ParallelUpdatable;
+import danogl.gui.rendering.RectangleRenderable;
+import danogl.gui.rendering.Renderable;
+import danogl.particles.ParticleSystem;
+import danogl.util.GameClock;
+import danogl.util.UpdateLod;
+import danogl.util.Vector2;
+import pepse.util.ColorSupplier;
+import pepse.world.Block;
+
+import java.awt.*;
+import java.util.Random;
+
+/**
+ * The leaves of a single tree. Each leaf is a particle that sways in the wind, falls from
+ * the tree after a while, drifts with the wind and fades out as it falls, lands on the
+ * ground and eventually grows back in its original place.
+ */
+public class LeafCluster extends ParticleSystem implements ParallelUpdatable {
+    public static final String LEAF_TAG = "leaf";
+    public static final Color BASE_LEAF_COLOR = new Color(50, 200, 30);
+    private static final int COLOR_PALETTE_SIZE = 32;
+
+    /*********** Falling ***********/
+    private static final int FADEOUT_TIME = 4;
+    private static final float LEAF_FALLING_SPEED = 70;
+    private static final float LEAF_WIND_SPEED = 25f;
+    private static final float WIND_TRANSITION_TIME = 1f;
+    private static final int MIN_DROP_LIFETIME = 5;
+    private static final int LEAF_DROP_BOUND = 60;
+    private static final int MIN_DIE_TIME = 5;
+    private static final int DIE_TIME_BOUND = 15;
+
+    /*********** Wind ***********/
+    private static final int WIND_CYCLE_LENGTH = 2;
+    private static final float WIND_ANGLE = 7f;
+    // the sway's scale, relative to the leaf's size of Block.SIZE
+    private static final Vector2 LEAF_START_SCALE = new Vector2(1.2f, 0.9f);
+    private static final Vector2 LEAF_END_SCALE = new Vector2(1, 1 + 1.1f / Block.SIZE);
+    private static final int MAX_TIME_TO_WAIT_TO_START = 2;
+
+    /**
+     * Constructs a new, empty leaf cluster. Leaves are added with {@link #addParticle}.
+     *
+     * @param clock        the clock the leaves sway by
+     * @param groundHeight the height of the ground the falling leaves land on
+     * @param palette      the renderables of the leaves, see {@link #createPalette(Random)}
+     */
+    public LeafCluster(GameClock clock, GroundHeight groundHeight, Renderable[] palette) {
+        super(Vector2.ZERO, Vector2.ONES, Vector2.ONES.mult(Block.SIZE), palette, clock);
+        setGroundHeight(groundHeight);
+        setLifetimes(MIN_DROP_LIFETIME, MIN_DROP_LIFETIME + LEAF_DROP_BOUND,
+                MIN_DIE_TIME, MIN_DIE_TIME + DIE_TIME_BOUND);
+        setFall(LEAF_FALLING_SPEED, LEAF_WIND_SPEED, WIND_TRANSITION_TIME, FADEOUT_TIME);
+        setSway(WIND_CYCLE_LENGTH, MAX_TIME_TO_WAIT_TO_START, -WIND_ANGLE, WIND_ANGLE,
+                LEAF_START_SCALE, LEAF_END_SCALE);
+        setTag(LEAF_TAG);
+        // leaves that fall out of sight can be updated a few frames at a time
+        setOffscreenUpdatePolicy(UpdateLod.Policy.THROTTLED);
+    }
+
+    /**
+     * Creates the renderables leaves are drawn with, approximations of BASE_LEAF_COLOR.
+     * A single palette can be shared by all clusters.
+     *
+     * @param random the source of the colors' randomness
+     */
+    public static Renderable[] createPalette(Random random) {
+        Renderable[] palette = new Renderable[COLOR_PALETTE_SIZE];
+        for (int i = 0; i < palette.length; i++)
+            palette[i] = new RectangleRenderable(ColorSupplier.approximateColor(BASE_LEAF_COLOR, random));
+        return palette;
+    }
+
+    /**
+     * Restores the cluster's tag when it's handed out again by a pool.
+     * The cluster is empty at that point; its leaves should be added again.
+     */
+    @Override
+    public void onAcquire() {
+        super.onAcquire();
+        setTag(LEAF_TAG);
+    }
+}
@@ -3,6 +3,7 @@ package pepse.world.trees;
 import danogl.collisions.GameObjectCollection;
 import danogl.gui.rendering.RectangleRenderable;
 import danogl.gui.rendering.Renderable;
+import danogl.util.GameObjectPool;
 import danogl.util.Vector2;
 import pepse.util.ColorSupplier;
 import pepse.world.Block;
@@ -28,22 +29,44 @@ public class Tree {
     private static final int MAXIMUM_TRUNK_HEIGHT = Block.SIZE * 12;
     public static final Color BASE_TRUNK_COLOR = new Color(100, 50, 20);
 
-    /*********** Leaves ***********/
-    public static final Color BASE_LEAF_COLOR = new Color(50, 200, 30);
+    /*********** Colors ***********/
+    private static final int COLOR_PALETTE_SIZE = 32;
 
     private final GameObjectCollection gameObjects;
     private static final int LEAVES_SQUARE_SIZE = Block.SIZE * 5;
     private final int random_seed, leavesLayer, trunkLayer;
     private final Terrain terrain;
+    private final GameObjectPool<Block> trunkPool;
+    private final GameObjectPool<LeafCluster> leafClusterPool;
+    private final Renderable[] trunkPalette = new Renderable[COLOR_PALETTE_SIZE];
+    private final Random random;
 
 
+    /**
+     * Constructs a new Tree generator
+     *
+     * @param gameObjects the game object collection to which the trees will be added
+     * @param random_seed the seed for randomization
+     * @param terrain     the terrain the trees grow on
+     * @param leavesLayer the layer to put the leaves in
+     * @param trunkLayer  the layer to put the trunks in
+     * @param trunkPool   the pool from which the trunk blocks are taken
+     * @param leafClusterPool the pool from which the leaves of every tree are taken
+     * @param random      the source of the trees' colors
+     */
     public Tree(GameObjectCollection gameObjects, int random_seed, Terrain terrain, int leavesLayer,
-                int trunkLayer) {
+                int trunkLayer, GameObjectPool<Block> trunkPool,
+                GameObjectPool<LeafCluster> leafClusterPool, Random random) {
         this.gameObjects = gameObjects;
         this.random_seed = random_seed;
         this.leavesLayer = leavesLayer;
         this.trunkLayer = trunkLayer;
         this.terrain = terrain;
+        this.trunkPool = trunkPool;
+        this.leafClusterPool = leafClusterPool;
+        this.random = random;
+        for (int i = 0; i < COLOR_PALETTE_SIZE; i++)
+            trunkPalette[i] = new RectangleRenderable(ColorSupplier.approximateColor(BASE_TRUNK_COLOR, random));
     }
 
     public void createInRange(int minX, int maxX) {
@@ -70,15 +93,16 @@ public class Tree {
      */
     private void generateTrunk(Vector2 groundPos, int trunkLayer, float trunkHeight) {
         for (float curY = groundPos.y(); curY >= groundPos.y() - trunkHeight; curY -= Block.SIZE) {
-            Renderable img = new RectangleRenderable(ColorSupplier.approximateColor(BASE_TRUNK_COLOR));
-            Block trunk = new Block(new Vector2(groundPos.x(), curY), img);
+            Block trunk = trunkPool.acquire();
+            trunk.transform().setTopLeftCorner(groundPos.x(), curY);
+            trunk.renderer().setRenderable(trunkPalette[random.nextInt(trunkPalette.length)]);
             trunk.setTag(TRUNK_TAG);
             gameObjects.addGameObject(trunk, trunkLayer);
         }
     }
 
     /**
-     * Generate the leaves around the top of the trunk of the tree
+     * Generate the leaves around the top of the trunk of the tree, as a single cluster
      *
      * @param groundPos   the ground position to make the trunk
      * @param leavesLayer the layer to put the leaves in
@@ -88,13 +112,15 @@ public class Tree {
         Vector2 center = groundPos.subtract(new Vector2(-Block.SIZE / 2f, trunkHeight));
         float startX = center.x() - LEAVES_SQUARE_SIZE / 2f, endX = center.x() + LEAVES_SQUARE_SIZE / 2f;
         float startY = center.y() - LEAVES_SQUARE_SIZE / 2f, endY = center.y() + LEAVES_SQUARE_SIZE / 2f;
+        LeafCluster leaves = leafClusterPool.acquire();
+        leaves.clearParticles();
+        leaves.transform().setTopLeftCorner(startX, startY);
+        leaves.transform().setDimensions(endX - startX, endY - startY);
         for (float x = startX; x < endX; x += Block.SIZE) {
-            for (float y = startY; y < endY; y += Block.SIZE) {
-                Renderable img = new RectangleRenderable(ColorSupplier.approximateColor(BASE_LEAF_COLOR));
-                Leaf leaf = new Leaf(new Vector2(x, y), img);
-                gameObjects.addGameObject(leaf, leavesLayer);
-            }
+            for (float y = startY; y < endY; y += Block.SIZE)
+                leaves.addParticle(x, y, random.nextInt(COLOR_PALETTE_SIZE));
         }
+        gameObjects.addGameObject(leaves, leavesLayer);
     }
 
 
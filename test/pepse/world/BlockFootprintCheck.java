@@ -0,0 +1,73 @@
+package pepse.world;
+
+import danogl.gui.rendering.RectangleRenderable;
+import danogl.util.Vector2;
+
+import com.sun.management.HotSpotDiagnosticMXBean;
+
+import java.awt.*;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Checks the heap retained by a {@link Block}, which a loaded world holds tens of thousands of.
+ * The blocks share a renderable, as the terrain's blocks do, so only the blocks themselves
+ * are measured. The size is the growth of the used heap over many blocks, which is exact
+ * enough to catch a field or an eagerly allocated vector added to every block. The smallest
+ * of a few rounds is taken, which varied by a few bytes between runs and collectors.
+ * <p>The budget holds for a 64-bit JVM with compressed references, which the check requires:
+ * without them (e.g. with ZGC or a heap of 32GB or more) every reference doubles in size.</p>
+ * <p>Run with {@code java -XX:+UseSerialGC -cp <classes> pepse.world.BlockFootprintCheck};
+ * exits with an error if the budget is exceeded.</p>
+ */
+public class BlockFootprintCheck {
+    //a block measured 260 to 264 bytes with G1, Serial and Parallel GC
+    //(327 before its defaults were shared and its rarely used parts made lazy).
+    //an eagerly allocated vector would add 24
+    private static final long BUDGET_BYTES_PER_BLOCK = 280;
+    private static final int BLOCKS = 100_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        var diagnostics = ManagementFactory.getPlatformMXBean(HotSpotDiagnosticMXBean.class);
+        if(!Boolean.parseBoolean(diagnostics.getVMOption("UseCompressedOops").getValue()))
+            throw new AssertionError("The budget assumes compressed references, which this JVM doesn't use");
+
+        var renderable = new RectangleRenderable(Color.GRAY);
+        //warm up, so that the classes and their statics are not measured
+        new Block(Vector2.ZERO, renderable);
+
+        long bytesPerBlock = Long.MAX_VALUE;
+        for(int i = 0; i < ROUNDS; i++)
+            bytesPerBlock = Math.min(bytesPerBlock, measureBytesPerBlock(renderable));
+        System.out.println("Retained bytes per block: " + bytesPerBlock);
+        if(bytesPerBlock > BUDGET_BYTES_PER_BLOCK)
+            throw new AssertionError("A block retains " + bytesPerBlock
+                    + " bytes, over the budget of " + BUDGET_BYTES_PER_BLOCK);
+    }
+
+    private static long measureBytesPerBlock(RectangleRenderable renderable) {
+        var blocks = new Block[BLOCKS];
+        long before = usedHeap();
+        for(int i = 0; i < BLOCKS; i++)
+            blocks[i] = new Block(new Vector2(i * Block.SIZE, 0), renderable);
+        long after = usedHeap();
+        //keep the blocks reachable up to the measurement
+        if(blocks[BLOCKS - 1] == null)
+            throw new AssertionError();
+        return (after - before) / BLOCKS;
+    }
+
+    private static long usedHeap() {
+        var runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        //collect until the used heap stops shrinking
+        for(int i = 0; i < 10; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if(now >= used)
+                break;
+            used = now;
+        }
+        return used;
+    }
+}